@@ -0,0 +1,83 @@
+package com.aiivar.sjorm.benchmarks;
+
+import com.aiivar.sjorm.config.Configuration;
+import com.aiivar.sjorm.session.Session;
+import com.aiivar.sjorm.session.SessionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-memory H2 database shared by all benchmark threads, seeded with {@link #ROW_COUNT} rows.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkDatabase {
+
+    public static final int ROW_COUNT = 10_000;
+
+    private JdbcDataSource dataSource;
+    private SessionFactory sessionFactory;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        dataSource.setPassword("sa");
+
+        Configuration configuration = new Configuration();
+        configuration.setPoolMaxSize(16);
+        sessionFactory = new SessionFactory(dataSource, configuration);
+
+        try (Session session = sessionFactory.openSession()) {
+            session.createTable(BenchmarkEntity.class);
+            List<BenchmarkEntity> entities = new ArrayList<>(ROW_COUNT);
+            for (int i = 0; i < ROW_COUNT; i++) {
+                entities.add(newEntity(i));
+            }
+            session.saveAll(entities);
+
+            ids = new long[ROW_COUNT];
+            for (int i = 0; i < ROW_COUNT; i++) {
+                ids[i] = entities.get(i).getId();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Session session = sessionFactory.openSession()) {
+            session.getStatementCache().getConnection().createStatement().execute("DROP TABLE BENCHMARK_ENTITY");
+        }
+        sessionFactory.close();
+    }
+
+    public JdbcDataSource getDataSource() {
+        return dataSource;
+    }
+
+    public SessionFactory getSessionFactory() {
+        return sessionFactory;
+    }
+
+    public long id(int index) {
+        return ids[Math.floorMod(index, ids.length)];
+    }
+
+    public static BenchmarkEntity newEntity(int index) {
+        BenchmarkEntity entity = new BenchmarkEntity();
+        entity.setName("Entity " + index);
+        entity.setAmount(index * 100L);
+        entity.setQuantity(index);
+        entity.setActive(index % 2 == 0);
+        return entity;
+    }
+}
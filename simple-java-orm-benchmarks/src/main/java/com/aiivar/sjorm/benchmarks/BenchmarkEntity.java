@@ -0,0 +1,67 @@
+package com.aiivar.sjorm.benchmarks;
+
+import com.aiivar.sjorm.annotations.Column;
+import com.aiivar.sjorm.annotations.Entity;
+import com.aiivar.sjorm.annotations.Id;
+import com.aiivar.sjorm.annotations.Table;
+
+@Entity
+@Table(name = "BENCHMARK_ENTITY")
+public class BenchmarkEntity {
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "name")
+    private String name;
+
+    @Column(name = "amount")
+    private long amount;
+
+    @Column(name = "quantity")
+    private int quantity;
+
+    @Column(name = "active")
+    private boolean active;
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+}
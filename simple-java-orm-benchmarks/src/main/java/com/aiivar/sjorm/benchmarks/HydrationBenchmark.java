@@ -0,0 +1,99 @@
+package com.aiivar.sjorm.benchmarks;
+
+import com.aiivar.sjorm.mapping.RowMapper;
+import com.aiivar.sjorm.metadata.ColumnMetadata;
+import com.aiivar.sjorm.metadata.EntityMetadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning {@link #PAGE_SIZE} result set rows into entities: the compiled entity row mapper, a generic
+ * {@code getObject} loop over the metadata, and hand-written typed getters as the lower bound.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HydrationBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private Connection connection;
+    private PreparedStatement statement;
+    private EntityMetadata metadata;
+    private RowMapper<BenchmarkEntity> rowMapper;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp(BenchmarkDatabase database) throws SQLException {
+        connection = database.getDataSource().getConnection();
+        statement = connection.prepareStatement("SELECT \"id\", \"name\", \"amount\", \"quantity\", \"active\" "
+                + "FROM BENCHMARK_ENTITY ORDER BY \"id\" LIMIT " + PAGE_SIZE);
+        metadata = database.getSessionFactory().getMetadataRegistry().getMetadata(BenchmarkEntity.class);
+        rowMapper = (RowMapper<BenchmarkEntity>) metadata.getRowMapper();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void rowMapper(Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            RowMapper<BenchmarkEntity> boundMapper = rowMapper.forResultSet(resultSet.getMetaData());
+            while (resultSet.next()) {
+                blackhole.consume(boundMapper.mapRow(resultSet));
+            }
+        }
+    }
+
+    @Benchmark
+    public void genericGetObject(Blackhole blackhole) throws SQLException {
+        List<ColumnMetadata> columns = metadata.getColumns();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                Object entity = metadata.newInstance();
+                for (int i = 0; i < columns.size(); i++) {
+                    columns.get(i).setValue(entity, resultSet.getObject(i + 1));
+                }
+                blackhole.consume(entity);
+            }
+        }
+    }
+
+    @Benchmark
+    public void handWritten(Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                BenchmarkEntity entity = new BenchmarkEntity();
+                entity.setId(resultSet.getLong(1));
+                entity.setName(resultSet.getString(2));
+                entity.setAmount(resultSet.getLong(3));
+                entity.setQuantity(resultSet.getInt(4));
+                entity.setActive(resultSet.getBoolean(5));
+                blackhole.consume(entity);
+            }
+        }
+    }
+}
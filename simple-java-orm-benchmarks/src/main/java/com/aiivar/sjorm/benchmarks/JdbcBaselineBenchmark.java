@@ -0,0 +1,101 @@
+package com.aiivar.sjorm.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hand-written JDBC equivalents of {@link SessionCrudBenchmark}, reusing prepared statements per thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JdbcBaselineBenchmark {
+
+    @State(Scope.Thread)
+    public static class JdbcState {
+
+        Connection connection;
+        PreparedStatement select;
+        PreparedStatement insert;
+        PreparedStatement update;
+        int counter;
+
+        @Setup(Level.Trial)
+        public void prepare(BenchmarkDatabase database) throws SQLException {
+            connection = database.getDataSource().getConnection();
+            select = connection.prepareStatement("SELECT \"id\", \"name\", \"amount\", \"quantity\", \"active\" "
+                    + "FROM BENCHMARK_ENTITY WHERE \"id\" = ?");
+            insert = connection.prepareStatement("INSERT INTO BENCHMARK_ENTITY (\"name\", \"amount\", \"quantity\", "
+                    + "\"active\") VALUES (?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS);
+            update = connection.prepareStatement("UPDATE BENCHMARK_ENTITY SET \"amount\" = ? WHERE \"id\" = ?");
+        }
+
+        @TearDown(Level.Iteration)
+        public void removeInsertedRows(BenchmarkDatabase database) throws SQLException {
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("DELETE FROM BENCHMARK_ENTITY WHERE \"id\" > " + database.id(-1));
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public BenchmarkEntity find(BenchmarkDatabase database, JdbcState state) throws SQLException {
+        state.select.setLong(1, database.id(state.counter++));
+        try (ResultSet resultSet = state.select.executeQuery()) {
+            resultSet.next();
+            BenchmarkEntity entity = new BenchmarkEntity();
+            entity.setId(resultSet.getLong(1));
+            entity.setName(resultSet.getString(2));
+            entity.setAmount(resultSet.getLong(3));
+            entity.setQuantity(resultSet.getInt(4));
+            entity.setActive(resultSet.getBoolean(5));
+            return entity;
+        }
+    }
+
+    @Benchmark
+    public BenchmarkEntity save(JdbcState state) throws SQLException {
+        BenchmarkEntity entity = BenchmarkDatabase.newEntity(state.counter++);
+        state.insert.setString(1, entity.getName());
+        state.insert.setLong(2, entity.getAmount());
+        state.insert.setInt(3, entity.getQuantity());
+        state.insert.setBoolean(4, entity.isActive());
+        state.insert.executeUpdate();
+        try (ResultSet keys = state.insert.getGeneratedKeys()) {
+            keys.next();
+            entity.setId(keys.getLong(1));
+        }
+        return entity;
+    }
+
+    @Benchmark
+    public int update(BenchmarkDatabase database, JdbcState state) throws SQLException {
+        state.update.setLong(1, state.counter);
+        state.update.setLong(2, database.id(state.counter++ & 1023));
+        return state.update.executeUpdate();
+    }
+}
@@ -0,0 +1,81 @@
+package com.aiivar.sjorm.benchmarks;
+
+import com.aiivar.sjorm.dialect.Dialect;
+import com.aiivar.sjorm.dialect.H2Dialect;
+import com.aiivar.sjorm.metadata.EntityMetadataRegistry;
+import com.aiivar.sjorm.query.Query;
+import com.aiivar.sjorm.query.builder.createtable.SimpleCreateTableQueryBuilder;
+import com.aiivar.sjorm.query.builder.delete.SimpleDeleteQueryBuilder;
+import com.aiivar.sjorm.query.builder.insert.SimpleInsertQueryBuilder;
+import com.aiivar.sjorm.query.builder.select.SimpleSelectQueryBuilder;
+import com.aiivar.sjorm.query.builder.update.SimpleUpdateQueryBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL generation cost of each builder with warm metadata, i.e. what a query plan cache miss costs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueryBuilderBenchmark {
+
+    private SimpleInsertQueryBuilder<BenchmarkEntity> insertBuilder;
+    private SimpleSelectQueryBuilder<BenchmarkEntity> selectBuilder;
+    private SimpleUpdateQueryBuilder<BenchmarkEntity> updateBuilder;
+    private SimpleDeleteQueryBuilder<BenchmarkEntity> deleteBuilder;
+    private SimpleCreateTableQueryBuilder<BenchmarkEntity> createTableBuilder;
+    private BenchmarkEntity entity;
+
+    @Setup
+    public void setUp() {
+        EntityMetadataRegistry metadataRegistry = new EntityMetadataRegistry();
+        metadataRegistry.getMetadata(BenchmarkEntity.class);
+        Dialect dialect = new H2Dialect();
+        insertBuilder = new SimpleInsertQueryBuilder<>(metadataRegistry, dialect);
+        selectBuilder = new SimpleSelectQueryBuilder<>(metadataRegistry, dialect);
+        updateBuilder = new SimpleUpdateQueryBuilder<>(metadataRegistry, dialect);
+        deleteBuilder = new SimpleDeleteQueryBuilder<>(metadataRegistry, dialect);
+        createTableBuilder = new SimpleCreateTableQueryBuilder<>(metadataRegistry, dialect);
+        entity = BenchmarkDatabase.newEntity(1);
+        entity.setId(1L);
+    }
+
+    @Benchmark
+    public Query insert() {
+        return insertBuilder.buildQuery(entity);
+    }
+
+    @Benchmark
+    public Query select() {
+        return selectBuilder.buildQuery(BenchmarkEntity.class, 1L);
+    }
+
+    @Benchmark
+    public Query update() {
+        return updateBuilder.buildQuery(entity);
+    }
+
+    @Benchmark
+    public Query delete() {
+        return deleteBuilder.buildQuery(BenchmarkEntity.class, 1L);
+    }
+
+    @Benchmark
+    public Query createTable() {
+        return createTableBuilder.buildQuery(BenchmarkEntity.class);
+    }
+}
@@ -0,0 +1,108 @@
+package com.aiivar.sjorm.benchmarks;
+
+import com.aiivar.sjorm.session.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Session CRUD paths against in-memory H2. Compare with {@link JdbcBaselineBenchmark} for the ORM's overhead.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionCrudBenchmark {
+
+    @State(Scope.Thread)
+    public static class SessionState {
+
+        Session session;
+        int counter;
+
+        @Setup(Level.Trial)
+        public void openSession(BenchmarkDatabase database) throws SQLException {
+            session = database.getSessionFactory().openSession();
+            counter = (int) Thread.currentThread().threadId() * 7919;
+        }
+
+        @TearDown(Level.Iteration)
+        public void removeInsertedRows(BenchmarkDatabase database) throws SQLException {
+            session.clear();
+            try (Statement statement = session.getStatementCache().getConnection().createStatement()) {
+                statement.executeUpdate("DELETE FROM BENCHMARK_ENTITY WHERE \"id\" > " + database.id(-1));
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void closeSession() throws SQLException {
+            session.close();
+        }
+    }
+
+    @Benchmark
+    public BenchmarkEntity find(BenchmarkDatabase database, SessionState state) {
+        state.session.clear();
+        return state.session.find(BenchmarkEntity.class, database.id(state.counter++));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public BenchmarkEntity findConcurrent(BenchmarkDatabase database, SessionState state) {
+        state.session.clear();
+        return state.session.find(BenchmarkEntity.class, database.id(state.counter++));
+    }
+
+    @Benchmark
+    public BenchmarkEntity findManaged(BenchmarkDatabase database, SessionState state) {
+        return state.session.find(BenchmarkEntity.class, database.id(state.counter++ & 1023));
+    }
+
+    @Benchmark
+    public BenchmarkEntity save(SessionState state) {
+        BenchmarkEntity entity = BenchmarkDatabase.newEntity(state.counter++);
+        state.session.save(entity);
+        state.session.evict(entity);
+        return entity;
+    }
+
+    @Benchmark
+    public BenchmarkEntity update(BenchmarkDatabase database, SessionState state) {
+        BenchmarkEntity entity = state.session.find(BenchmarkEntity.class, database.id(state.counter & 1023));
+        entity.setAmount(state.counter++);
+        state.session.update(entity);
+        return entity;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public BenchmarkEntity updateConcurrent(BenchmarkDatabase database, SessionState state) {
+        BenchmarkEntity entity = state.session.find(BenchmarkEntity.class, database.id(state.counter & 1023));
+        entity.setAmount(state.counter++);
+        state.session.update(entity);
+        return entity;
+    }
+
+    @Benchmark
+    public BenchmarkEntity saveAndDelete(SessionState state) {
+        BenchmarkEntity entity = BenchmarkDatabase.newEntity(state.counter++);
+        state.session.save(entity);
+        state.session.delete(entity);
+        return entity;
+    }
+}
@@ -0,0 +1,25 @@
+package com.aiivar.sjorm.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Selects how the {@link Id} field is generated. Without it ids come from an identity column.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface GeneratedValue {
+    GenerationType strategy() default GenerationType.IDENTITY;
+
+    /**
+     * Sequence used by {@link GenerationType#SEQUENCE}, {@code <table name>_seq} by default.
+     */
+    String sequenceName() default "";
+
+    /**
+     * Number of ids reserved with one sequence call. Must match the sequence increment.
+     */
+    int allocationSize() default 50;
+}
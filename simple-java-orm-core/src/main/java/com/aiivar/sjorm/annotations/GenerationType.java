@@ -0,0 +1,17 @@
+package com.aiivar.sjorm.annotations;
+
+public enum GenerationType {
+    /**
+     * The database assigns the id on insert, which is then read back with the generated keys.
+     */
+    IDENTITY,
+    /**
+     * Ids are reserved from a database sequence in blocks of {@link GeneratedValue#allocationSize()} and assigned
+     * before insert.
+     */
+    SEQUENCE,
+    /**
+     * Time-ordered UUIDv7 ids are generated in memory and assigned before insert.
+     */
+    UUID
+}
@@ -0,0 +1,18 @@
+package com.aiivar.sjorm.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a field referencing another entity through a foreign key column holding the referenced entity's id.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ManyToOne {
+    /**
+     * Name of the foreign key column, {@code <field name>_id} by default.
+     */
+    String joinColumn() default "";
+}
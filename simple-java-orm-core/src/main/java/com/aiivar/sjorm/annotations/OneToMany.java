@@ -0,0 +1,20 @@
+package com.aiivar.sjorm.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@code List} field holding the entities whose {@link ManyToOne} field references this entity. The
+ * collection is read-only from the mapping's point of view: the foreign key is written through the
+ * {@link ManyToOne} side.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OneToMany {
+    /**
+     * Name of the {@link ManyToOne} field of the element entity.
+     */
+    String mappedBy();
+}
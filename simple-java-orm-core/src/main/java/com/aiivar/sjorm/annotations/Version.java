@@ -0,0 +1,16 @@
+package com.aiivar.sjorm.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an {@code int} or {@code long} field as the optimistic lock version. Updates and deletes only apply when the
+ * row still has the version the entity was read with, and every update increments it. The column name is taken from
+ * {@link Column} if present.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Version {
+}
@@ -0,0 +1,13 @@
+package com.aiivar.sjorm.cache;
+
+/**
+ * Creates the second-level cache regions used for entities annotated with {@code @Cacheable}.
+ */
+public interface CacheProvider extends AutoCloseable {
+
+    EntityCache createCache(Class<?> entityClass);
+
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,18 @@
+package com.aiivar.sjorm.cache;
+
+/**
+ * A region of the second-level cache holding the state of one entity class, keyed by primary key.
+ * Implementations must be safe for concurrent use by all sessions of a {@code SessionFactory}.
+ */
+public interface EntityCache {
+
+    Object[] get(Object id);
+
+    void put(Object id, Object[] state);
+
+    void evict(Object id);
+
+    void clear();
+
+    long size();
+}
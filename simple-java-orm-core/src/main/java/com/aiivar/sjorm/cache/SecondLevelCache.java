@@ -0,0 +1,44 @@
+package com.aiivar.sjorm.cache;
+
+import com.aiivar.sjorm.metadata.EntityMetadata;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class SecondLevelCache implements AutoCloseable {
+
+    private final CacheProvider cacheProvider;
+    private final Map<Class<?>, EntityCache> regions = new ConcurrentHashMap<>();
+
+    public SecondLevelCache(CacheProvider cacheProvider) {
+        this.cacheProvider = cacheProvider;
+    }
+
+    public EntityCache getCache(EntityMetadata metadata) {
+        if (!metadata.isCacheable()) {
+            return null;
+        }
+        EntityCache cache = regions.get(metadata.getEntityClass());
+        if (cache == null) {
+            cache = regions.computeIfAbsent(metadata.getEntityClass(), cacheProvider::createCache);
+        }
+        return cache;
+    }
+
+    public void evict(Class<?> entityClass, Object id) {
+        EntityCache cache = regions.get(entityClass);
+        if (cache != null) {
+            cache.evict(id);
+        }
+    }
+
+    public void evictAll() {
+        regions.values().forEach(EntityCache::clear);
+    }
+
+    @Override
+    public void close() {
+        evictAll();
+        cacheProvider.close();
+    }
+}
@@ -0,0 +1,211 @@
+package com.aiivar.sjorm.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded {@link EntityCache} using segmented LRU eviction: new entries land in a small probationary
+ * segment and are promoted to the protected segment on their second hit, so one-off lookups cannot
+ * flush the hot set. Keys are spread over independently locked stripes to keep contention low.
+ */
+public class SegmentedLruCache implements EntityCache {
+
+    private static final int MAX_STRIPES = 16;
+    private static final int MIN_ENTRIES_PER_STRIPE = 16;
+
+    private final Stripe[] stripes;
+    private final long ttlNanos;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public SegmentedLruCache(int maxSize, long ttlMillis) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        int stripeCount = Integer.highestOneBit(Math.clamp(maxSize / MIN_ENTRIES_PER_STRIPE, 1, MAX_STRIPES));
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            int capacity = maxSize / stripeCount + (i < maxSize % stripeCount ? 1 : 0);
+            stripes[i] = new Stripe(capacity);
+        }
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    @Override
+    public Object[] get(Object id) {
+        Object[] state = stripeFor(id).get(id, System.nanoTime());
+        if (state != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return state;
+    }
+
+    @Override
+    public void put(Object id, Object[] state) {
+        long expiresAt = ttlNanos > 0 ? System.nanoTime() + ttlNanos : Long.MAX_VALUE;
+        stripeFor(id).put(id, state, expiresAt);
+    }
+
+    @Override
+    public void evict(Object id) {
+        stripeFor(id).remove(id);
+    }
+
+    @Override
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    @Override
+    public long size() {
+        long size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private Stripe stripeFor(Object id) {
+        int hash = id.hashCode();
+        hash ^= hash >>> 16;
+        return stripes[hash & (stripes.length - 1)];
+    }
+
+    private record Entry(Object[] state, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return expiresAt != Long.MAX_VALUE && now - expiresAt >= 0;
+        }
+    }
+
+    private final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<Object, Entry> probation = new LinkedHashMap<>();
+        private final LinkedHashMap<Object, Entry> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+        private final int probationCapacity;
+        private final int protectedCapacity;
+
+        Stripe(int capacity) {
+            this.probationCapacity = Math.max(1, capacity / 5);
+            this.protectedCapacity = Math.max(0, capacity - probationCapacity);
+        }
+
+        Object[] get(Object id, long now) {
+            lock.lock();
+            try {
+                Entry entry = protectedSegment.get(id);
+                if (entry != null) {
+                    if (entry.isExpired(now)) {
+                        protectedSegment.remove(id);
+                        return null;
+                    }
+                    return entry.state();
+                }
+
+                entry = probation.remove(id);
+                if (entry == null) {
+                    return null;
+                }
+                if (entry.isExpired(now)) {
+                    return null;
+                }
+                promote(id, entry);
+                return entry.state();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(Object id, Object[] state, long expiresAt) {
+            Entry entry = new Entry(state, expiresAt);
+            lock.lock();
+            try {
+                if (protectedSegment.containsKey(id)) {
+                    protectedSegment.put(id, entry);
+                    return;
+                }
+                probation.remove(id);
+                probation.put(id, entry);
+                trimProbation();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(Object id) {
+            lock.lock();
+            try {
+                if (protectedSegment.remove(id) == null) {
+                    probation.remove(id);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                probation.clear();
+                protectedSegment.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return probation.size() + protectedSegment.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void promote(Object id, Entry entry) {
+            if (protectedCapacity == 0) {
+                probation.put(id, entry);
+                return;
+            }
+            protectedSegment.put(id, entry);
+            if (protectedSegment.size() > protectedCapacity) {
+                Iterator<Map.Entry<Object, Entry>> eldest = protectedSegment.entrySet().iterator();
+                Map.Entry<Object, Entry> demoted = eldest.next();
+                eldest.remove();
+                probation.put(demoted.getKey(), demoted.getValue());
+                trimProbation();
+            }
+        }
+
+        private void trimProbation() {
+            Iterator<Map.Entry<Object, Entry>> eldest = probation.entrySet().iterator();
+            while (probation.size() > probationCapacity) {
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+}
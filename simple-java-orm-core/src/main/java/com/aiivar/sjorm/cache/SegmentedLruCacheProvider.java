@@ -0,0 +1,17 @@
+package com.aiivar.sjorm.cache;
+
+public class SegmentedLruCacheProvider implements CacheProvider {
+
+    private final int maxSize;
+    private final long ttlMillis;
+
+    public SegmentedLruCacheProvider(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+    }
+
+    @Override
+    public EntityCache createCache(Class<?> entityClass) {
+        return new SegmentedLruCache(maxSize, ttlMillis);
+    }
+}
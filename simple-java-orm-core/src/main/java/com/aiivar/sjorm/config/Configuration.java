@@ -1,9 +1,48 @@
 package com.aiivar.sjorm.config;
 
+import com.aiivar.sjorm.cache.CacheProvider;
+import com.aiivar.sjorm.dialect.Dialect;
+import com.aiivar.sjorm.dialect.Dialects;
+import com.aiivar.sjorm.metadata.accessor.MethodHandlePropertyAccessorFactory;
+import com.aiivar.sjorm.metadata.accessor.PropertyAccessorFactory;
+import com.aiivar.sjorm.metrics.QueryListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
 public class Configuration {
     private String jdbcUrl;
     private String username;
     private String password;
+    private PropertyAccessorFactory propertyAccessorFactory = new MethodHandlePropertyAccessorFactory();
+    private int statementCacheSize = 64;
+    private int nativeQueryCacheSize = 256;
+    private int batchSize = 500;
+    private int fetchSize = 1000;
+    private int maxInClauseSize = 500;
+    private int batchFetchSize = 16;
+    private boolean multiRowInsert = false;
+    private int maxBindParameters = 0;
+    private Dialect dialect;
+    private boolean writeBehind = false;
+    private int poolMinSize = 0;
+    private int poolMaxSize = 10;
+    private long poolAcquireTimeoutMillis = 30_000;
+    private long poolIdleTimeoutMillis = 600_000;
+    private long poolLeakDetectionThresholdMillis = 0;
+    private boolean poolValidateOnBorrow = true;
+    private int poolValidationTimeoutSeconds = 5;
+    private CacheProvider cacheProvider;
+    private Executor asyncExecutor;
+    private int cacheMaxSize = 10_000;
+    private long cacheTtlMillis = 0;
+    private final List<QueryListener> queryListeners = new ArrayList<>();
+    private long slowQueryThresholdMillis = 0;
+
+    public Configuration() {
+    }
 
     public Configuration(String jdbcUrl, String username, String password) {
         this.jdbcUrl = jdbcUrl;
@@ -34,5 +73,214 @@ public class Configuration {
     public void setPassword(String password) {
         this.password = password;
     }
-}
 
+    public PropertyAccessorFactory getPropertyAccessorFactory() {
+        return propertyAccessorFactory;
+    }
+
+    public void setPropertyAccessorFactory(PropertyAccessorFactory propertyAccessorFactory) {
+        this.propertyAccessorFactory = propertyAccessorFactory;
+    }
+
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    public void setStatementCacheSize(int statementCacheSize) {
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    public int getNativeQueryCacheSize() {
+        return nativeQueryCacheSize;
+    }
+
+    /**
+     * Sets how many parsed native queries the {@code SessionFactory} keeps, least recently used first out.
+     */
+    public void setNativeQueryCacheSize(int nativeQueryCacheSize) {
+        this.nativeQueryCacheSize = nativeQueryCacheSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    public int getMaxInClauseSize() {
+        return maxInClauseSize;
+    }
+
+    public void setMaxInClauseSize(int maxInClauseSize) {
+        this.maxInClauseSize = maxInClauseSize;
+    }
+
+    public int getBatchFetchSize() {
+        return batchFetchSize;
+    }
+
+    public void setBatchFetchSize(int batchFetchSize) {
+        this.batchFetchSize = batchFetchSize;
+    }
+
+    public boolean isMultiRowInsert() {
+        return multiRowInsert;
+    }
+
+    /**
+     * Makes {@code saveAll} insert each chunk with one multi-row {@code INSERT ... VALUES} statement instead of a
+     * JDBC batch.
+     */
+    public void setMultiRowInsert(boolean multiRowInsert) {
+        this.multiRowInsert = multiRowInsert;
+    }
+
+    public int getMaxBindParameters() {
+        return maxBindParameters;
+    }
+
+    /**
+     * Limits the number of bind parameters in one statement, which caps the rows per multi-row insert or upsert.
+     * {@code 0} uses the limit of the dialect.
+     */
+    public void setMaxBindParameters(int maxBindParameters) {
+        this.maxBindParameters = maxBindParameters;
+    }
+
+    /**
+     * Returns the configured dialect or the one matching the JDBC URL, or {@code null} when neither is set and the
+     * dialect is resolved from the database metadata.
+     */
+    public Dialect getDialect() {
+        if (dialect == null && jdbcUrl != null) {
+            return Dialects.forJdbcUrl(jdbcUrl);
+        }
+        return dialect;
+    }
+
+    public void setDialect(Dialect dialect) {
+        this.dialect = dialect;
+    }
+
+    public boolean isWriteBehind() {
+        return writeBehind;
+    }
+
+    public void setWriteBehind(boolean writeBehind) {
+        this.writeBehind = writeBehind;
+    }
+
+    public int getPoolMinSize() {
+        return poolMinSize;
+    }
+
+    public void setPoolMinSize(int poolMinSize) {
+        this.poolMinSize = poolMinSize;
+    }
+
+    public int getPoolMaxSize() {
+        return poolMaxSize;
+    }
+
+    public void setPoolMaxSize(int poolMaxSize) {
+        this.poolMaxSize = poolMaxSize;
+    }
+
+    public long getPoolAcquireTimeoutMillis() {
+        return poolAcquireTimeoutMillis;
+    }
+
+    public void setPoolAcquireTimeoutMillis(long poolAcquireTimeoutMillis) {
+        this.poolAcquireTimeoutMillis = poolAcquireTimeoutMillis;
+    }
+
+    public long getPoolIdleTimeoutMillis() {
+        return poolIdleTimeoutMillis;
+    }
+
+    public void setPoolIdleTimeoutMillis(long poolIdleTimeoutMillis) {
+        this.poolIdleTimeoutMillis = poolIdleTimeoutMillis;
+    }
+
+    public long getPoolLeakDetectionThresholdMillis() {
+        return poolLeakDetectionThresholdMillis;
+    }
+
+    public void setPoolLeakDetectionThresholdMillis(long poolLeakDetectionThresholdMillis) {
+        this.poolLeakDetectionThresholdMillis = poolLeakDetectionThresholdMillis;
+    }
+
+    public boolean isPoolValidateOnBorrow() {
+        return poolValidateOnBorrow;
+    }
+
+    public void setPoolValidateOnBorrow(boolean poolValidateOnBorrow) {
+        this.poolValidateOnBorrow = poolValidateOnBorrow;
+    }
+
+    public int getPoolValidationTimeoutSeconds() {
+        return poolValidationTimeoutSeconds;
+    }
+
+    public void setPoolValidationTimeoutSeconds(int poolValidationTimeoutSeconds) {
+        this.poolValidationTimeoutSeconds = poolValidationTimeoutSeconds;
+    }
+
+    public CacheProvider getCacheProvider() {
+        return cacheProvider;
+    }
+
+    public void setCacheProvider(CacheProvider cacheProvider) {
+        this.cacheProvider = cacheProvider;
+    }
+
+    public int getCacheMaxSize() {
+        return cacheMaxSize;
+    }
+
+    public void setCacheMaxSize(int cacheMaxSize) {
+        this.cacheMaxSize = cacheMaxSize;
+    }
+
+    public long getCacheTtlMillis() {
+        return cacheTtlMillis;
+    }
+
+    public void setCacheTtlMillis(long cacheTtlMillis) {
+        this.cacheTtlMillis = cacheTtlMillis;
+    }
+
+    public Executor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
+    public void setAsyncExecutor(Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    public List<QueryListener> getQueryListeners() {
+        return Collections.unmodifiableList(queryListeners);
+    }
+
+    public void addQueryListener(QueryListener queryListener) {
+        this.queryListeners.add(queryListener);
+    }
+
+    public long getSlowQueryThresholdMillis() {
+        return slowQueryThresholdMillis;
+    }
+
+    public void setSlowQueryThresholdMillis(long slowQueryThresholdMillis) {
+        this.slowQueryThresholdMillis = slowQueryThresholdMillis;
+    }
+}
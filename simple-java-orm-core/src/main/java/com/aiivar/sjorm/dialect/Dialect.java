@@ -0,0 +1,68 @@
+package com.aiivar.sjorm.dialect;
+
+import java.util.List;
+
+/**
+ * Database-specific parts of the generated SQL. The dialect is taken from {@code Configuration.setDialect}, otherwise
+ * resolved from the JDBC URL or, for a {@code DataSource}, from the database product name. Custom databases are
+ * supported by extending {@link StandardDialect}.
+ */
+public interface Dialect {
+
+    String quote(String identifier);
+
+    /**
+     * Returns the column type for a mapped Java type, throwing {@code OrmException} for unsupported types.
+     */
+    String getColumnType(Class<?> javaType);
+
+    /**
+     * Returns the definition of a generated primary key column for {@code CREATE TABLE}.
+     */
+    String getIdentityColumnDefinition(String quotedColumn, String columnType);
+
+    /**
+     * Whether inserts read generated ids from an {@code INSERT ... RETURNING} result set instead of
+     * {@code Statement.getGeneratedKeys()}. Such inserts cannot run as JDBC batches and use multi-row inserts instead.
+     */
+    boolean supportsInsertReturning();
+
+    /**
+     * Appends the paging clause and adds its parameters in placeholder order. {@code limit} and {@code offset} may be
+     * {@code null}.
+     */
+    void appendPaging(StringBuilder sql, Integer limit, Integer offset, List<Object> parameters);
+
+    /**
+     * Builds an insert-or-update keyed by the primary key. {@code values} is the {@code VALUES} row list, each row
+     * holding the id followed by {@code quotedColumns}.
+     */
+    String getUpsertSql(String tableName, String quotedIdColumn, List<String> quotedColumns, String values);
+
+    /**
+     * Returns a query selecting the next value of a sequence as its only column.
+     */
+    String getSequenceNextValueSql(String sequenceName);
+
+    /**
+     * Returns the DDL of a sequence starting at 1 and incrementing by {@code incrementBy}.
+     */
+    String getCreateSequenceSql(String sequenceName, int incrementBy);
+
+    /**
+     * Maximum number of bind parameters in one statement, which caps the rows of multi-row inserts and upserts.
+     */
+    int getMaxBindParameters();
+
+    /**
+     * Returns the fetch size that makes the driver read a streamed result through a cursor instead of buffering all
+     * rows, given the configured {@code fetchSize}.
+     */
+    int getStreamingFetchSize(int fetchSize);
+
+    /**
+     * Whether statements in standard SQL with double-quoted identifiers, like those generated by the annotation
+     * processor, run unchanged.
+     */
+    boolean acceptsStandardSql();
+}
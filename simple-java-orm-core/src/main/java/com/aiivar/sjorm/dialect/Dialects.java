@@ -0,0 +1,39 @@
+package com.aiivar.sjorm.dialect;
+
+import java.util.Locale;
+
+/**
+ * Resolves the built-in dialects. Unknown databases get {@link StandardDialect}.
+ */
+public final class Dialects {
+
+    private Dialects() {
+    }
+
+    public static Dialect forJdbcUrl(String jdbcUrl) {
+        String url = jdbcUrl.toLowerCase(Locale.ROOT);
+        if (url.startsWith("jdbc:h2:")) {
+            return new H2Dialect();
+        } else if (url.startsWith("jdbc:postgresql:")) {
+            return new PostgreSQLDialect();
+        } else if (url.startsWith("jdbc:mysql:") || url.startsWith("jdbc:mariadb:")) {
+            return new MySQLDialect();
+        }
+        return new StandardDialect();
+    }
+
+    /**
+     * Resolves the dialect from {@code DatabaseMetaData.getDatabaseProductName()}.
+     */
+    public static Dialect forDatabaseProductName(String databaseProductName) {
+        String name = databaseProductName.toLowerCase(Locale.ROOT);
+        if (name.contains("h2")) {
+            return new H2Dialect();
+        } else if (name.contains("postgres")) {
+            return new PostgreSQLDialect();
+        } else if (name.contains("mysql") || name.contains("mariadb")) {
+            return new MySQLDialect();
+        }
+        return new StandardDialect();
+    }
+}
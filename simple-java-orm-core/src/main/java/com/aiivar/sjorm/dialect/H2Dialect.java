@@ -0,0 +1,17 @@
+package com.aiivar.sjorm.dialect;
+
+import java.util.List;
+
+public class H2Dialect extends StandardDialect {
+
+    @Override
+    public void appendPaging(StringBuilder sql, Integer limit, Integer offset, List<Object> parameters) {
+        appendLimitOffset(sql, limit, offset, parameters);
+    }
+
+    @Override
+    public String getUpsertSql(String tableName, String quotedIdColumn, List<String> quotedColumns, String values) {
+        return "MERGE INTO " + tableName + " (" + columnList(quotedIdColumn, quotedColumns) + ") KEY (" + quotedIdColumn
+                + ") VALUES " + values;
+    }
+}
@@ -0,0 +1,91 @@
+package com.aiivar.sjorm.dialect;
+
+import com.aiivar.sjorm.exceptions.OrmException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * MySQL and MariaDB. Identifiers are quoted with backticks, so statements generated by the annotation processor are
+ * not used.
+ */
+public class MySQLDialect extends StandardDialect {
+
+    // Максимальное значение BIGINT UNSIGNED: MySQL не допускает OFFSET без LIMIT
+    private static final String NO_LIMIT = "18446744073709551615";
+
+    @Override
+    public String quote(String identifier) {
+        return "`" + identifier + "`";
+    }
+
+    @Override
+    public String getColumnType(Class<?> javaType) {
+        if (javaType == UUID.class) {
+            throw new OrmException("MySQL has no UUID type, declare UUID ids as String");
+        }
+        return super.getColumnType(javaType);
+    }
+
+    @Override
+    public String getIdentityColumnDefinition(String quotedColumn, String columnType) {
+        return quotedColumn + " " + columnType + " AUTO_INCREMENT PRIMARY KEY";
+    }
+
+    @Override
+    public void appendPaging(StringBuilder sql, Integer limit, Integer offset, List<Object> parameters) {
+        if (limit != null) {
+            sql.append(" LIMIT ?");
+            parameters.add(limit);
+        } else if (offset != null) {
+            sql.append(" LIMIT " + NO_LIMIT);
+        }
+        if (offset != null) {
+            sql.append(" OFFSET ?");
+            parameters.add(offset);
+        }
+    }
+
+    @Override
+    public String getUpsertSql(String tableName, String quotedIdColumn, List<String> quotedColumns, String values) {
+        List<String> assignments = new ArrayList<>(quotedColumns.size());
+        for (String column : quotedColumns) {
+            assignments.add(column + " = VALUES(" + column + ")");
+        }
+        if (assignments.isEmpty()) {
+            assignments.add(quotedIdColumn + " = " + quotedIdColumn);
+        }
+        return "INSERT INTO " + tableName + " (" + columnList(quotedIdColumn, quotedColumns) + ") VALUES " + values
+                + " ON DUPLICATE KEY UPDATE " + String.join(", ", assignments);
+    }
+
+    @Override
+    public String getSequenceNextValueSql(String sequenceName) {
+        throw new OrmException("Sequences are not supported by MySQL");
+    }
+
+    @Override
+    public String getCreateSequenceSql(String sequenceName, int incrementBy) {
+        throw new OrmException("Sequences are not supported by MySQL");
+    }
+
+    @Override
+    public int getMaxBindParameters() {
+        return 65_535;
+    }
+
+    /**
+     * Connector/J ignores positive fetch sizes unless {@code useCursorFetch=true} is set and streams row by row only
+     * with {@link Integer#MIN_VALUE}. No other statement can run on the connection until such a stream is closed.
+     */
+    @Override
+    public int getStreamingFetchSize(int fetchSize) {
+        return Integer.MIN_VALUE;
+    }
+
+    @Override
+    public boolean acceptsStandardSql() {
+        return false;
+    }
+}
@@ -0,0 +1,41 @@
+package com.aiivar.sjorm.dialect;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads generated ids with {@code INSERT ... RETURNING}, so a multi-row insert returns all ids in one round trip
+ * and the driver does not have to rewrite the statement to {@code RETURNING *}. The driver honours the fetch size
+ * of streamed results only with autocommit off, so streams read through a cursor only inside a transaction.
+ */
+public class PostgreSQLDialect extends StandardDialect {
+
+    @Override
+    public boolean supportsInsertReturning() {
+        return true;
+    }
+
+    @Override
+    public String getSequenceNextValueSql(String sequenceName) {
+        return "SELECT nextval('" + sequenceName + "')";
+    }
+
+    @Override
+    public void appendPaging(StringBuilder sql, Integer limit, Integer offset, List<Object> parameters) {
+        appendLimitOffset(sql, limit, offset, parameters);
+    }
+
+    @Override
+    public String getUpsertSql(String tableName, String quotedIdColumn, List<String> quotedColumns, String values) {
+        String sql = "INSERT INTO " + tableName + " (" + columnList(quotedIdColumn, quotedColumns) + ") VALUES " + values
+                + " ON CONFLICT (" + quotedIdColumn + ") DO ";
+        if (quotedColumns.isEmpty()) {
+            return sql + "NOTHING";
+        }
+        List<String> assignments = new ArrayList<>(quotedColumns.size());
+        for (String column : quotedColumns) {
+            assignments.add(column + " = EXCLUDED." + column);
+        }
+        return sql + "UPDATE SET " + String.join(", ", assignments);
+    }
+}
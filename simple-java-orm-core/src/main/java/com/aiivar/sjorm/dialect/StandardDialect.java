@@ -0,0 +1,100 @@
+package com.aiivar.sjorm.dialect;
+
+import com.aiivar.sjorm.exceptions.OrmException;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * SQL:2008 dialect used for databases without a dedicated one.
+ */
+public class StandardDialect implements Dialect {
+
+    @Override
+    public String quote(String identifier) {
+        return "\"" + identifier + "\"";
+    }
+
+    @Override
+    public String getColumnType(Class<?> javaType) {
+        if (javaType == String.class) {
+            return "VARCHAR(255)";
+        } else if (javaType == int.class || javaType == Integer.class) {
+            return "INT";
+        } else if (javaType == long.class || javaType == Long.class) {
+            return "BIGINT";
+        } else if (javaType == boolean.class || javaType == Boolean.class) {
+            return "BOOLEAN";
+        } else if (javaType == UUID.class) {
+            return "UUID";
+        }
+        throw new OrmException("Unsupported field type: " + javaType.getName());
+    }
+
+    @Override
+    public String getIdentityColumnDefinition(String quotedColumn, String columnType) {
+        return quotedColumn + " " + columnType + " GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY";
+    }
+
+    @Override
+    public boolean supportsInsertReturning() {
+        return false;
+    }
+
+    @Override
+    public void appendPaging(StringBuilder sql, Integer limit, Integer offset, List<Object> parameters) {
+        if (offset != null) {
+            sql.append(" OFFSET ? ROWS");
+            parameters.add(offset);
+        }
+        if (limit != null) {
+            sql.append(" FETCH FIRST ? ROWS ONLY");
+            parameters.add(limit);
+        }
+    }
+
+    @Override
+    public String getUpsertSql(String tableName, String quotedIdColumn, List<String> quotedColumns, String values) {
+        throw new OrmException("Upsert is not supported by " + getClass().getSimpleName());
+    }
+
+    @Override
+    public String getSequenceNextValueSql(String sequenceName) {
+        return "SELECT NEXT VALUE FOR " + sequenceName;
+    }
+
+    @Override
+    public String getCreateSequenceSql(String sequenceName, int incrementBy) {
+        return "CREATE SEQUENCE " + sequenceName + " START WITH 1 INCREMENT BY " + incrementBy;
+    }
+
+    @Override
+    public int getMaxBindParameters() {
+        return 32_767;
+    }
+
+    @Override
+    public int getStreamingFetchSize(int fetchSize) {
+        return fetchSize;
+    }
+
+    @Override
+    public boolean acceptsStandardSql() {
+        return true;
+    }
+
+    protected void appendLimitOffset(StringBuilder sql, Integer limit, Integer offset, List<Object> parameters) {
+        if (limit != null) {
+            sql.append(" LIMIT ?");
+            parameters.add(limit);
+        }
+        if (offset != null) {
+            sql.append(" OFFSET ?");
+            parameters.add(offset);
+        }
+    }
+
+    protected String columnList(String quotedIdColumn, List<String> quotedColumns) {
+        return quotedIdColumn + (quotedColumns.isEmpty() ? "" : ", " + String.join(", ", quotedColumns));
+    }
+}
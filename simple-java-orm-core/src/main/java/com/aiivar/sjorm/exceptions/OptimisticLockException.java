@@ -0,0 +1,19 @@
+package com.aiivar.sjorm.exceptions;
+
+/**
+ * Thrown when an update or delete of a {@code @Version}ed entity matches no row, because another transaction has
+ * changed or deleted it since it was read.
+ */
+public class OptimisticLockException extends OrmException {
+
+    private final transient Object entity;
+
+    public OptimisticLockException(String message, Object entity) {
+        super(message);
+        this.entity = entity;
+    }
+
+    public Object getEntity() {
+        return entity;
+    }
+}
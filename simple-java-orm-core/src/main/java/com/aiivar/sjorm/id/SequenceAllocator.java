@@ -0,0 +1,53 @@
+package com.aiivar.sjorm.id;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out ids from blocks reserved with one sequence call. The sequence value is the first id of a block and the
+ * sequence increments by the block size, so blocks of different factories and processes never overlap. Ids are taken
+ * with an atomic increment; only the thread that exhausts a block fetches the next one.
+ */
+public final class SequenceAllocator {
+
+    @FunctionalInterface
+    public interface SequenceFetcher {
+        long nextValue() throws SQLException;
+    }
+
+    private final int allocationSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Block block;
+
+    public SequenceAllocator(int allocationSize) {
+        if (allocationSize < 1) {
+            throw new IllegalArgumentException("allocationSize must be positive: " + allocationSize);
+        }
+        this.allocationSize = allocationSize;
+    }
+
+    public long next(SequenceFetcher fetcher) throws SQLException {
+        while (true) {
+            Block current = block;
+            if (current != null) {
+                long id = current.next().getAndIncrement();
+                if (id < current.end()) {
+                    return id;
+                }
+            }
+            lock.lock();
+            try {
+                if (block == current) {
+                    long first = fetcher.nextValue();
+                    block = new Block(new AtomicLong(first), first + allocationSize);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private record Block(AtomicLong next, long end) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.aiivar.sjorm.mapping;
+
+import com.aiivar.sjorm.metadata.accessor.PropertyAccessor;
+
+import java.util.Map;
+
+public interface EntityMapping<T> {
+
+    String CLASS_NAME_SUFFIX = "_Mapping";
+
+    Class<T> getEntityClass();
+
+    String getInsertSql();
+
+    String getSelectSql();
+
+    String getUpdateSql();
+
+    String getDeleteSql();
+
+    String getCreateTableSql();
+
+    RowMapper<T> getRowMapper();
+
+    Map<String, PropertyAccessor> getAccessors();
+
+    T newInstance();
+}
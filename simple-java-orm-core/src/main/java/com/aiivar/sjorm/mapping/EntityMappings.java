@@ -0,0 +1,41 @@
+package com.aiivar.sjorm.mapping;
+
+import com.aiivar.sjorm.exceptions.OrmException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+
+public final class EntityMappings {
+
+    private static final Logger logger = LoggerFactory.getLogger(EntityMappings.class);
+
+    private EntityMappings() {
+    }
+
+    public static String getMappingClassName(Class<?> entityClass) {
+        return entityClass.getName() + EntityMapping.CLASS_NAME_SUFFIX;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> EntityMapping<T> find(Class<T> entityClass) {
+        Class<?> mappingClass;
+        try {
+            mappingClass = Class.forName(getMappingClassName(entityClass), true, entityClass.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+
+        if (!EntityMapping.class.isAssignableFrom(mappingClass)) {
+            return null;
+        }
+
+        try {
+            EntityMapping<T> mapping = (EntityMapping<T>) mappingClass.getDeclaredConstructor().newInstance();
+            logger.debug("Using generated mapping {} for entity class {}", mappingClass.getName(), entityClass.getName());
+            return mapping;
+        } catch (NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new OrmException("Failed to instantiate generated mapping " + mappingClass.getName(), e);
+        }
+    }
+}
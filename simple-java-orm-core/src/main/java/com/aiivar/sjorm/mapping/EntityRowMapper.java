@@ -0,0 +1,132 @@
+package com.aiivar.sjorm.mapping;
+
+import com.aiivar.sjorm.metadata.ColumnMetadata;
+import com.aiivar.sjorm.metadata.EntityMetadata;
+import com.aiivar.sjorm.metadata.accessor.PropertyAccessor;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Row mapper built once per entity from its metadata. Each column is read with the typed getter for its Java type
+ * and written through the primitive accessor methods, so primitive fields are never boxed. Column positions default
+ * to the metadata order, which is the order the query builders select them in, and are re-resolved from
+ * {@link ResultSetMetaData} once per result set when a query selects a different column list.
+ */
+public final class EntityRowMapper<T> implements RowMapper<T> {
+
+    private enum Kind {
+        INT, LONG, BOOLEAN, INTEGER, LONG_OBJECT, BOOLEAN_OBJECT, STRING, OBJECT, ASSOCIATION
+    }
+
+    private final EntityMetadata metadata;
+    private final Class<T> entityClass;
+    private final ColumnMetadata[] columns;
+    private final PropertyAccessor[] accessors;
+    private final Kind[] kinds;
+    private final Class<?>[] types;
+    private final int[] columnIndexes;
+
+    public EntityRowMapper(EntityMetadata metadata, Class<T> entityClass) {
+        List<ColumnMetadata> columns = metadata.getColumns();
+        this.metadata = metadata;
+        this.entityClass = entityClass;
+        this.columns = columns.toArray(new ColumnMetadata[0]);
+        this.accessors = new PropertyAccessor[columns.size()];
+        this.kinds = new Kind[columns.size()];
+        this.types = new Class<?>[columns.size()];
+        this.columnIndexes = new int[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnMetadata column = columns.get(i);
+            accessors[i] = column.getAccessor();
+            kinds[i] = column.isAssociation() ? Kind.ASSOCIATION : kindOf(column.getJavaType());
+            types[i] = column.getJavaType();
+            columnIndexes[i] = i + 1;
+        }
+    }
+
+    private EntityRowMapper(EntityRowMapper<T> prototype, int[] columnIndexes) {
+        this.metadata = prototype.metadata;
+        this.entityClass = prototype.entityClass;
+        this.columns = prototype.columns;
+        this.accessors = prototype.accessors;
+        this.kinds = prototype.kinds;
+        this.types = prototype.types;
+        this.columnIndexes = columnIndexes;
+    }
+
+    @Override
+    public RowMapper<T> forResultSet(ResultSetMetaData metaData) throws SQLException {
+        Map<String, Integer> indexByLabel = new HashMap<>();
+        for (int i = metaData.getColumnCount(); i >= 1; i--) {
+            indexByLabel.put(metaData.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+        }
+
+        List<ColumnMetadata> columns = metadata.getColumns();
+        int[] resolved = new int[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            Integer index = indexByLabel.get(columns.get(i).getName().toLowerCase(Locale.ROOT));
+            if (index == null) {
+                throw new SQLException("Column " + columns.get(i).getName() + " of " + entityClass.getName()
+                        + " is missing from the result set");
+            }
+            resolved[i] = index;
+        }
+        return Arrays.equals(resolved, columnIndexes) ? this : new EntityRowMapper<>(this, resolved);
+    }
+
+    @Override
+    public T mapRow(ResultSet resultSet) throws SQLException {
+        T entity = entityClass.cast(metadata.newInstance());
+        for (int i = 0; i < accessors.length; i++) {
+            PropertyAccessor accessor = accessors[i];
+            int index = columnIndexes[i];
+            switch (kinds[i]) {
+                case INT -> accessor.setInt(entity, resultSet.getInt(index));
+                case LONG -> accessor.setLong(entity, resultSet.getLong(index));
+                case BOOLEAN -> accessor.setBoolean(entity, resultSet.getBoolean(index));
+                case INTEGER -> {
+                    int value = resultSet.getInt(index);
+                    accessor.set(entity, resultSet.wasNull() ? null : value);
+                }
+                case LONG_OBJECT -> {
+                    long value = resultSet.getLong(index);
+                    accessor.set(entity, resultSet.wasNull() ? null : value);
+                }
+                case BOOLEAN_OBJECT -> {
+                    boolean value = resultSet.getBoolean(index);
+                    accessor.set(entity, resultSet.wasNull() ? null : value);
+                }
+                case STRING -> accessor.set(entity, resultSet.getString(index));
+                case OBJECT -> accessor.set(entity, resultSet.getObject(index, types[i]));
+                case ASSOCIATION -> columns[i].setValue(entity, resultSet.getObject(index, types[i]));
+            }
+        }
+        return entity;
+    }
+
+    private static Kind kindOf(Class<?> type) {
+        if (type == int.class) {
+            return Kind.INT;
+        } else if (type == long.class) {
+            return Kind.LONG;
+        } else if (type == boolean.class) {
+            return Kind.BOOLEAN;
+        } else if (type == Integer.class) {
+            return Kind.INTEGER;
+        } else if (type == Long.class) {
+            return Kind.LONG_OBJECT;
+        } else if (type == Boolean.class) {
+            return Kind.BOOLEAN_OBJECT;
+        } else if (type == String.class) {
+            return Kind.STRING;
+        }
+        return Kind.OBJECT;
+    }
+}
@@ -0,0 +1,203 @@
+package com.aiivar.sjorm.mapping;
+
+import com.aiivar.sjorm.exceptions.OrmException;
+import com.aiivar.sjorm.metadata.ColumnMetadata;
+import com.aiivar.sjorm.metadata.EntityMetadata;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.RecordComponent;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Maps rows of a projection query into a record, through its canonical constructor, or into an interface, through a
+ * proxy backed by the column values. Record components and interface getters are matched to entity properties by
+ * name. The plan (selected columns, typed readers and the constructor handle) is compiled once per result type and
+ * entity; the query selects exactly {@link #getColumns()} in that order.
+ */
+public final class ProjectionMapper<R> implements RowMapper<R> {
+
+    @FunctionalInterface
+    private interface ColumnReader {
+        Object read(ResultSet resultSet, int index) throws SQLException;
+    }
+
+    private final Class<R> resultType;
+    private final List<ColumnMetadata> columns;
+    private final ColumnReader[] readers;
+    private final MethodHandle constructor;
+    private final Map<Method, Integer> indexByMethod;
+
+    private ProjectionMapper(Class<R> resultType, List<ColumnMetadata> columns, List<Class<?>> types,
+                             MethodHandle constructor, Map<Method, Integer> indexByMethod) {
+        this.resultType = resultType;
+        this.columns = List.copyOf(columns);
+        this.readers = new ColumnReader[types.size()];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = readerOf(types.get(i));
+        }
+        this.constructor = constructor;
+        this.indexByMethod = indexByMethod;
+    }
+
+    public static <R> ProjectionMapper<R> compile(EntityMetadata metadata, Class<R> resultType) {
+        List<ColumnMetadata> columns = new ArrayList<>();
+        List<Class<?>> types = new ArrayList<>();
+        if (resultType.isRecord()) {
+            RecordComponent[] components = resultType.getRecordComponents();
+            Class<?>[] parameterTypes = new Class<?>[components.length];
+            for (int i = 0; i < components.length; i++) {
+                columns.add(resolveColumn(metadata, resultType, components[i].getName(), components[i].getType()));
+                types.add(components[i].getType());
+                parameterTypes[i] = components[i].getType();
+            }
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(resultType, MethodHandles.lookup());
+                MethodHandle constructor = lookup.findConstructor(resultType, MethodType.methodType(void.class, parameterTypes))
+                        .asSpreader(Object[].class, components.length);
+                return new ProjectionMapper<>(resultType, columns, types, constructor, null);
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                throw new OrmException("Cannot access the canonical constructor of " + resultType.getName(), e);
+            }
+        }
+
+        if (resultType.isInterface()) {
+            Map<Method, Integer> indexByMethod = new HashMap<>();
+            for (Method method : resultType.getMethods()) {
+                if (method.isDefault() || Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                }
+                if (method.getParameterCount() != 0 || method.getReturnType() == void.class) {
+                    throw new OrmException("Projection interface " + resultType.getName() + " may only declare getters, found "
+                            + method.getName());
+                }
+                indexByMethod.put(method, columns.size());
+                columns.add(resolveColumn(metadata, resultType, propertyName(method), method.getReturnType()));
+                types.add(method.getReturnType());
+            }
+            return new ProjectionMapper<>(resultType, columns, types, null, Map.copyOf(indexByMethod));
+        }
+        throw new OrmException("Projection type " + resultType.getName() + " must be a record or an interface");
+    }
+
+    public Class<R> getResultType() {
+        return resultType;
+    }
+
+    /**
+     * Returns the entity columns to select, in the order the mapper reads them.
+     */
+    public List<ColumnMetadata> getColumns() {
+        return columns;
+    }
+
+    @Override
+    public R mapRow(ResultSet resultSet) throws SQLException {
+        Object[] values = new Object[readers.length];
+        for (int i = 0; i < readers.length; i++) {
+            values[i] = readers[i].read(resultSet, i + 1);
+        }
+        if (constructor == null) {
+            return resultType.cast(Proxy.newProxyInstance(resultType.getClassLoader(), new Class<?>[]{resultType},
+                    new ProjectionHandler(values)));
+        }
+        try {
+            return resultType.cast(constructor.invoke(values));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new OrmException("Failed to create projection " + resultType.getName(), e);
+        }
+    }
+
+    private static ColumnMetadata resolveColumn(EntityMetadata metadata, Class<?> resultType, String property,
+                                                Class<?> type) {
+        ColumnMetadata column = metadata.getColumn(property);
+        if (!boxed(type).isAssignableFrom(boxed(column.getJavaType()))) {
+            throw new OrmException("Property " + property + " of " + resultType.getName() + " has type " + type.getName()
+                    + ", but column " + column.getName() + " holds " + column.getJavaType().getName());
+        }
+        return column;
+    }
+
+    private static String propertyName(Method method) {
+        String name = method.getName();
+        if (name.startsWith("get") && name.length() > 3) {
+            return Character.toLowerCase(name.charAt(3)) + name.substring(4);
+        }
+        if (name.startsWith("is") && name.length() > 2 && boxed(method.getReturnType()) == Boolean.class) {
+            return Character.toLowerCase(name.charAt(2)) + name.substring(3);
+        }
+        return name;
+    }
+
+    private static ColumnReader readerOf(Class<?> type) {
+        if (type == int.class) {
+            return ResultSet::getInt;
+        } else if (type == long.class) {
+            return ResultSet::getLong;
+        } else if (type == boolean.class) {
+            return ResultSet::getBoolean;
+        } else if (type == String.class) {
+            return ResultSet::getString;
+        }
+        Class<?> boxedType = boxed(type);
+        return (resultSet, index) -> resultSet.getObject(index, boxedType);
+    }
+
+    private static Class<?> boxed(Class<?> type) {
+        if (type == int.class) {
+            return Integer.class;
+        } else if (type == long.class) {
+            return Long.class;
+        } else if (type == boolean.class) {
+            return Boolean.class;
+        }
+        return type;
+    }
+
+    private final class ProjectionHandler implements InvocationHandler {
+
+        private final Object[] values;
+
+        private ProjectionHandler(Object[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Integer index = indexByMethod.get(method);
+            if (index != null) {
+                return values[index];
+            }
+            if (method.isDefault()) {
+                return InvocationHandler.invokeDefault(proxy, method, args);
+            }
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> describe();
+                default -> throw new UnsupportedOperationException(method.toString());
+            };
+        }
+
+        private String describe() {
+            StringJoiner joiner = new StringJoiner(", ", resultType.getSimpleName() + "[", "]");
+            for (Map.Entry<Method, Integer> entry : indexByMethod.entrySet()) {
+                joiner.add(propertyName(entry.getKey()) + "=" + values[entry.getValue()]);
+            }
+            return joiner.toString();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.aiivar.sjorm.mapping;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    T mapRow(ResultSet resultSet) throws SQLException;
+
+    /**
+     * Called once per result set before the first row is mapped, so mappers can resolve column positions up front
+     * instead of looking them up by name on every row.
+     */
+    default RowMapper<T> forResultSet(ResultSetMetaData metaData) throws SQLException {
+        return this;
+    }
+}
@@ -0,0 +1,52 @@
+package com.aiivar.sjorm.metadata;
+
+import com.aiivar.sjorm.metadata.accessor.PropertyAccessor;
+
+import java.lang.reflect.Field;
+
+/**
+ * {@code @OneToMany} field of an entity: a list of the {@code elementClass} entities whose {@code mappedBy}
+ * association references the owner.
+ */
+public final class CollectionMetadata {
+
+    private final Field field;
+    private final Class<?> elementClass;
+    private final String mappedBy;
+    private final PropertyAccessor accessor;
+
+    CollectionMetadata(Field field, Class<?> elementClass, String mappedBy, PropertyAccessor accessor) {
+        this.field = field;
+        this.elementClass = elementClass;
+        this.mappedBy = mappedBy;
+        this.accessor = accessor;
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public String getName() {
+        return field.getDeclaringClass().getSimpleName() + "." + field.getName();
+    }
+
+    public Class<?> getElementClass() {
+        return elementClass;
+    }
+
+    public String getMappedBy() {
+        return mappedBy;
+    }
+
+    public PropertyAccessor getAccessor() {
+        return accessor;
+    }
+
+    public Object getValue(Object entity) {
+        return accessor.get(entity);
+    }
+
+    public void setValue(Object entity, Object value) {
+        accessor.set(entity, value);
+    }
+}
@@ -0,0 +1,122 @@
+package com.aiivar.sjorm.metadata;
+
+import com.aiivar.sjorm.exceptions.OrmException;
+import com.aiivar.sjorm.metadata.accessor.PropertyAccessor;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Column of an entity table. For a {@code @ManyToOne} field the column holds the referenced entity's id:
+ * {@link #getValue} reads that id and {@link #setValue} stores a reference instance carrying only the id, which the
+ * session replaces with the managed entity after loading.
+ */
+public final class ColumnMetadata {
+
+    private final Field field;
+    private final String name;
+    private final Class<?> javaType;
+    private final boolean id;
+    private final boolean version;
+    private final PropertyAccessor accessor;
+    private final Class<?> targetEntity;
+    private final PropertyAccessor targetIdAccessor;
+    private final Constructor<?> targetConstructor;
+
+    ColumnMetadata(Field field, String name, boolean id, boolean version, PropertyAccessor accessor) {
+        this.field = field;
+        this.name = name;
+        this.javaType = field.getType();
+        this.id = id;
+        this.version = version;
+        this.accessor = accessor;
+        this.targetEntity = null;
+        this.targetIdAccessor = null;
+        this.targetConstructor = null;
+    }
+
+    ColumnMetadata(Field field, String name, PropertyAccessor accessor, Class<?> targetIdType,
+                   PropertyAccessor targetIdAccessor, Constructor<?> targetConstructor) {
+        this.field = field;
+        this.name = name;
+        this.javaType = targetIdType;
+        this.id = false;
+        this.version = false;
+        this.accessor = accessor;
+        this.targetEntity = field.getType();
+        this.targetIdAccessor = targetIdAccessor;
+        this.targetConstructor = targetConstructor;
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the Java type of the column value: the field type, or the referenced entity's id type for an
+     * association.
+     */
+    public Class<?> getJavaType() {
+        return javaType;
+    }
+
+    public boolean isId() {
+        return id;
+    }
+
+    public boolean isVersion() {
+        return version;
+    }
+
+    public boolean isAssociation() {
+        return targetEntity != null;
+    }
+
+    /**
+     * Returns the entity referenced by an association column, or {@code null} for a plain column.
+     */
+    public Class<?> getTargetEntity() {
+        return targetEntity;
+    }
+
+    public PropertyAccessor getAccessor() {
+        return accessor;
+    }
+
+    public Object getValue(Object entity) {
+        return toColumnValue(accessor.get(entity));
+    }
+
+    public void setValue(Object entity, Object value) {
+        if (targetEntity == null || value == null) {
+            accessor.set(entity, value);
+            return;
+        }
+        Object reference = newReference();
+        targetIdAccessor.set(reference, value);
+        accessor.set(entity, reference);
+    }
+
+    /**
+     * Converts a property value to the value stored in the column: referenced entities are replaced by their id.
+     */
+    public Object toColumnValue(Object propertyValue) {
+        if (targetEntity != null && targetEntity.isInstance(propertyValue)) {
+            return targetIdAccessor.get(propertyValue);
+        }
+        return propertyValue;
+    }
+
+    private Object newReference() {
+        try {
+            return targetConstructor.newInstance();
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new OrmException("Failed to instantiate entity " + targetEntity.getName(), e);
+        }
+    }
+}
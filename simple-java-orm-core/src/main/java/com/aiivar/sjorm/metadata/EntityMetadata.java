@@ -0,0 +1,213 @@
+package com.aiivar.sjorm.metadata;
+
+import com.aiivar.sjorm.annotations.GeneratedValue;
+import com.aiivar.sjorm.annotations.GenerationType;
+import com.aiivar.sjorm.exceptions.OrmException;
+import com.aiivar.sjorm.mapping.EntityMapping;
+import com.aiivar.sjorm.mapping.EntityRowMapper;
+import com.aiivar.sjorm.mapping.ProjectionMapper;
+import com.aiivar.sjorm.mapping.RowMapper;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public final class EntityMetadata {
+
+    private final Class<?> entityClass;
+    private final String tableName;
+    private final List<ColumnMetadata> columns;
+    private final List<ColumnMetadata> nonIdColumns;
+    private final ColumnMetadata idColumn;
+    private final GenerationType generationType;
+    private final String sequenceName;
+    private final int allocationSize;
+    private final List<ColumnMetadata> insertColumns;
+    private final ColumnMetadata versionColumn;
+    private final Map<String, ColumnMetadata> columnsByProperty;
+    private final List<ColumnMetadata> associationColumns;
+    private final List<CollectionMetadata> collections;
+    private final Constructor<?> constructor;
+    private final EntityMapping<?> generatedMapping;
+    private final boolean cacheable;
+    private final RowMapper<?> rowMapper;
+    private final RowMapper<?> labelRowMapper;
+    private final Map<Class<?>, ProjectionMapper<?>> projectionMappers = new ConcurrentHashMap<>();
+
+    EntityMetadata(Class<?> entityClass, String tableName, List<ColumnMetadata> columns,
+                   List<CollectionMetadata> collections, GeneratedValue generatedValue, Constructor<?> constructor,
+                   EntityMapping<?> generatedMapping, boolean cacheable) {
+        this.entityClass = entityClass;
+        this.tableName = tableName;
+        this.columns = List.copyOf(columns);
+        this.nonIdColumns = columns.stream().filter(column -> !column.isId()).toList();
+        this.idColumn = columns.stream()
+                .filter(ColumnMetadata::isId)
+                .findFirst()
+                .orElseThrow(() -> new OrmException("No field annotated with @Id"));
+        this.generationType = generatedValue != null ? generatedValue.strategy() : GenerationType.IDENTITY;
+        this.sequenceName = generatedValue != null && !generatedValue.sequenceName().isEmpty()
+                ? generatedValue.sequenceName()
+                : tableName + "_seq";
+        this.allocationSize = generatedValue != null ? generatedValue.allocationSize() : 1;
+        this.insertColumns = generationType == GenerationType.IDENTITY ? nonIdColumns : this.columns;
+        List<ColumnMetadata> versionColumns = columns.stream().filter(ColumnMetadata::isVersion).toList();
+        if (versionColumns.size() > 1) {
+            throw new OrmException("More than one field annotated with @Version in " + entityClass.getName());
+        }
+        this.versionColumn = versionColumns.isEmpty() ? null : versionColumns.getFirst();
+        this.columnsByProperty = columns.stream()
+                .collect(Collectors.toUnmodifiableMap(column -> column.getField().getName(), Function.identity()));
+        this.associationColumns = columns.stream().filter(ColumnMetadata::isAssociation).toList();
+        this.collections = List.copyOf(collections);
+        this.constructor = constructor;
+        this.generatedMapping = generatedMapping;
+        this.cacheable = cacheable;
+        this.rowMapper = generatedMapping != null ? generatedMapping.getRowMapper() : new EntityRowMapper<>(this, entityClass);
+        this.labelRowMapper = rowMapper instanceof EntityRowMapper<?> ? rowMapper : new EntityRowMapper<>(this, entityClass);
+    }
+
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public List<ColumnMetadata> getColumns() {
+        return columns;
+    }
+
+    public List<ColumnMetadata> getNonIdColumns() {
+        return nonIdColumns;
+    }
+
+    public ColumnMetadata getIdColumn() {
+        return idColumn;
+    }
+
+    public GenerationType getGenerationType() {
+        return generationType;
+    }
+
+    /**
+     * Whether ids are assigned by the session before insert rather than generated by the database.
+     */
+    public boolean isIdAssignedBeforeInsert() {
+        return generationType != GenerationType.IDENTITY;
+    }
+
+    public String getSequenceName() {
+        return sequenceName;
+    }
+
+    public int getAllocationSize() {
+        return allocationSize;
+    }
+
+    /**
+     * Returns the columns written by an insert: all columns if ids are assigned before insert, otherwise the non-id
+     * columns.
+     */
+    public List<ColumnMetadata> getInsertColumns() {
+        return insertColumns;
+    }
+
+    /**
+     * Returns the {@code @Version} column, or {@code null} if the entity is not versioned.
+     */
+    public ColumnMetadata getVersionColumn() {
+        return versionColumn;
+    }
+
+    public ColumnMetadata getColumn(String propertyName) {
+        ColumnMetadata column = columnsByProperty.get(propertyName);
+        if (column == null) {
+            throw new OrmException("Unknown property " + propertyName + " of entity " + entityClass.getName());
+        }
+        return column;
+    }
+
+    /**
+     * Returns the {@code @ManyToOne} columns.
+     */
+    public List<ColumnMetadata> getAssociationColumns() {
+        return associationColumns;
+    }
+
+    /**
+     * Returns the {@code @OneToMany} collections.
+     */
+    public List<CollectionMetadata> getCollections() {
+        return collections;
+    }
+
+    public CollectionMetadata getCollection(String propertyName) {
+        for (CollectionMetadata collection : collections) {
+            if (collection.getField().getName().equals(propertyName)) {
+                return collection;
+            }
+        }
+        throw new OrmException("Unknown collection " + propertyName + " of entity " + entityClass.getName());
+    }
+
+    public boolean hasAssociations() {
+        return !associationColumns.isEmpty() || !collections.isEmpty();
+    }
+
+    public EntityMapping<?> getGeneratedMapping() {
+        return generatedMapping;
+    }
+
+    public RowMapper<?> getRowMapper() {
+        return rowMapper;
+    }
+
+    /**
+     * Returns a row mapper resolving columns by label rather than position, for result sets of hand-written SQL.
+     * Generated mappings read columns positionally, so entities with one get a separate {@link EntityRowMapper}.
+     */
+    public RowMapper<?> getLabelRowMapper() {
+        return labelRowMapper;
+    }
+
+    /**
+     * Returns the mapper of {@code resultType} projections, compiled on first use.
+     */
+    @SuppressWarnings("unchecked")
+    public <R> ProjectionMapper<R> getProjectionMapper(Class<R> resultType) {
+        return (ProjectionMapper<R>) projectionMappers.computeIfAbsent(resultType,
+                type -> ProjectionMapper.compile(this, type));
+    }
+
+    public boolean isCacheable() {
+        return cacheable;
+    }
+
+    /**
+     * Returns the column values of {@code entity} in {@link #getColumns()} order.
+     */
+    public Object[] getState(Object entity) {
+        Object[] state = new Object[columns.size()];
+        for (int i = 0; i < state.length; i++) {
+            state[i] = columns.get(i).getValue(entity);
+        }
+        return state;
+    }
+
+    public Object newInstance() {
+        if (generatedMapping != null) {
+            return generatedMapping.newInstance();
+        }
+        try {
+            return constructor.newInstance();
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new OrmException("Failed to instantiate entity " + entityClass.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.aiivar.sjorm.metadata;
+
+import com.aiivar.sjorm.annotations.Cacheable;
+import com.aiivar.sjorm.annotations.Column;
+import com.aiivar.sjorm.annotations.Entity;
+import com.aiivar.sjorm.annotations.GeneratedValue;
+import com.aiivar.sjorm.annotations.Id;
+import com.aiivar.sjorm.annotations.ManyToOne;
+import com.aiivar.sjorm.annotations.OneToMany;
+import com.aiivar.sjorm.annotations.Table;
+import com.aiivar.sjorm.annotations.Version;
+import com.aiivar.sjorm.exceptions.OrmException;
+import com.aiivar.sjorm.mapping.EntityMapping;
+import com.aiivar.sjorm.mapping.EntityMappings;
+import com.aiivar.sjorm.metadata.accessor.PropertyAccessor;
+import com.aiivar.sjorm.metadata.accessor.MethodHandlePropertyAccessorFactory;
+import com.aiivar.sjorm.metadata.accessor.PropertyAccessorFactory;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class EntityMetadataRegistry {
+
+    private final Map<Class<?>, EntityMetadata> metadata = new ConcurrentHashMap<>();
+    private final PropertyAccessorFactory accessorFactory;
+
+    public EntityMetadataRegistry() {
+        this(new MethodHandlePropertyAccessorFactory());
+    }
+
+    public EntityMetadataRegistry(PropertyAccessorFactory accessorFactory) {
+        this.accessorFactory = accessorFactory;
+    }
+
+    public EntityMetadata getMetadata(Class<?> entityClass) {
+        EntityMetadata entityMetadata = metadata.get(entityClass);
+        if (entityMetadata == null) {
+            entityMetadata = metadata.computeIfAbsent(entityClass, this::createMetadata);
+        }
+        return entityMetadata;
+    }
+
+    private EntityMetadata createMetadata(Class<?> entityClass) {
+        if (!entityClass.isAnnotationPresent(Entity.class)) {
+            throw new OrmException("The class is not annotated with @Entity");
+        }
+
+        EntityMapping<?> generatedMapping = EntityMappings.find(entityClass);
+        List<ColumnMetadata> columns = new ArrayList<>();
+        List<CollectionMetadata> collections = new ArrayList<>();
+        GeneratedValue generatedValue = null;
+        for (Field field : entityClass.getDeclaredFields()) {
+            boolean id = field.isAnnotationPresent(Id.class);
+            if (id && field.isAnnotationPresent(GeneratedValue.class)) {
+                generatedValue = field.getAnnotation(GeneratedValue.class);
+                validateGeneratedValue(field, generatedValue);
+            }
+            boolean version = field.isAnnotationPresent(Version.class);
+            if (version && !isVersionType(field.getType())) {
+                throw new OrmException("@Version field " + field.getName() + " must be int, long, Integer or Long");
+            }
+            if (id || version || field.isAnnotationPresent(Column.class)) {
+                columns.add(new ColumnMetadata(field, getColumnName(field), id, version,
+                        getAccessor(field, generatedMapping)));
+            } else if (field.isAnnotationPresent(ManyToOne.class)) {
+                columns.add(createAssociationColumn(field));
+            } else if (field.isAnnotationPresent(OneToMany.class)) {
+                collections.add(createCollection(field));
+            }
+        }
+
+        return new EntityMetadata(entityClass, getTableName(entityClass), columns, collections, generatedValue,
+                getConstructor(entityClass), generatedMapping, entityClass.isAnnotationPresent(Cacheable.class));
+    }
+
+    // Метаданные целевой сущности здесь не запрашиваются, иначе взаимные ссылки приведут к рекурсивному computeIfAbsent
+    private ColumnMetadata createAssociationColumn(Field field) {
+        Class<?> targetEntity = field.getType();
+        if (!targetEntity.isAnnotationPresent(Entity.class)) {
+            throw new OrmException("@ManyToOne field " + field.getName() + " must reference an @Entity class");
+        }
+        Field targetIdField = getIdField(targetEntity);
+        String joinColumn = field.getAnnotation(ManyToOne.class).joinColumn();
+        return new ColumnMetadata(field, joinColumn.isEmpty() ? field.getName() + "_id" : joinColumn,
+                accessorFactory.createAccessor(field), boxed(targetIdField.getType()),
+                accessorFactory.createAccessor(targetIdField), getConstructor(targetEntity));
+    }
+
+    private CollectionMetadata createCollection(Field field) {
+        Type type = field.getGenericType();
+        if (!field.getType().isAssignableFrom(List.class) || !(type instanceof ParameterizedType parameterizedType)
+                || !(parameterizedType.getActualTypeArguments()[0] instanceof Class<?> elementClass)) {
+            throw new OrmException("@OneToMany field " + field.getName() + " must be declared as List<Entity>");
+        }
+        return new CollectionMetadata(field, elementClass, field.getAnnotation(OneToMany.class).mappedBy(),
+                accessorFactory.createAccessor(field));
+    }
+
+    private Field getIdField(Class<?> entityClass) {
+        for (Field field : entityClass.getDeclaredFields()) {
+            if (field.isAnnotationPresent(Id.class)) {
+                return field;
+            }
+        }
+        throw new OrmException("No field annotated with @Id in " + entityClass.getName());
+    }
+
+    private static void validateGeneratedValue(Field field, GeneratedValue generatedValue) {
+        Class<?> type = field.getType();
+        switch (generatedValue.strategy()) {
+            case SEQUENCE -> {
+                if (type != Long.class) {
+                    throw new OrmException("@GeneratedValue(strategy = SEQUENCE) field " + field.getName() + " must be Long");
+                }
+                if (generatedValue.allocationSize() < 1) {
+                    throw new OrmException("allocationSize of " + field.getName() + " must be positive");
+                }
+            }
+            case UUID -> {
+                if (type != UUID.class && type != String.class) {
+                    throw new OrmException("@GeneratedValue(strategy = UUID) field " + field.getName() + " must be UUID or String");
+                }
+            }
+            case IDENTITY -> {
+            }
+        }
+    }
+
+    private static boolean isVersionType(Class<?> type) {
+        return type == int.class || type == long.class || type == Integer.class || type == Long.class;
+    }
+
+    private static Class<?> boxed(Class<?> type) {
+        if (type == long.class) {
+            return Long.class;
+        } else if (type == int.class) {
+            return Integer.class;
+        }
+        return type;
+    }
+
+    private PropertyAccessor getAccessor(Field field, EntityMapping<?> generatedMapping) {
+        if (generatedMapping != null) {
+            PropertyAccessor accessor = generatedMapping.getAccessors().get(field.getName());
+            if (accessor != null) {
+                return accessor;
+            }
+        }
+        return accessorFactory.createAccessor(field);
+    }
+
+    private String getTableName(Class<?> entityClass) {
+        Table table = entityClass.getAnnotation(Table.class);
+        if (table != null && !table.name().isEmpty()) {
+            return table.name();
+        }
+        return entityClass.getSimpleName().toLowerCase();
+    }
+
+    private String getColumnName(Field field) {
+        Column column = field.getAnnotation(Column.class);
+        if (column != null && !column.name().isEmpty()) {
+            return column.name();
+        }
+        return field.getName();
+    }
+
+    private Constructor<?> getConstructor(Class<?> entityClass) {
+        try {
+            Constructor<?> constructor = entityClass.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (NoSuchMethodException e) {
+            throw new OrmException("Entity " + entityClass.getName() + " has no no-arg constructor", e);
+        }
+    }
+}
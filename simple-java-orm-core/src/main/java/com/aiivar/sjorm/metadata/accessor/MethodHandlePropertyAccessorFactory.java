@@ -0,0 +1,173 @@
+package com.aiivar.sjorm.metadata.accessor;
+
+import com.aiivar.sjorm.exceptions.OrmException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+public class MethodHandlePropertyAccessorFactory implements PropertyAccessorFactory {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    @Override
+    public PropertyAccessor createAccessor(Field field) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup());
+            MethodHandle getter = lookup.unreflectGetter(field);
+            MethodHandle setter = lookup.unreflectSetter(field);
+            Class<?> type = field.getType();
+
+            if (type == int.class) {
+                return new IntPropertyAccessor(
+                        getter.asType(GETTER_TYPE), setter.asType(SETTER_TYPE),
+                        getter.asType(MethodType.methodType(int.class, Object.class)),
+                        setter.asType(MethodType.methodType(void.class, Object.class, int.class)));
+            } else if (type == long.class) {
+                return new LongPropertyAccessor(
+                        getter.asType(GETTER_TYPE), setter.asType(SETTER_TYPE),
+                        getter.asType(MethodType.methodType(long.class, Object.class)),
+                        setter.asType(MethodType.methodType(void.class, Object.class, long.class)));
+            } else if (type == boolean.class) {
+                return new BooleanPropertyAccessor(
+                        getter.asType(GETTER_TYPE), setter.asType(SETTER_TYPE),
+                        getter.asType(MethodType.methodType(boolean.class, Object.class)),
+                        setter.asType(MethodType.methodType(void.class, Object.class, boolean.class)));
+            }
+            return new ObjectPropertyAccessor(getter.asType(GETTER_TYPE), setter.asType(SETTER_TYPE));
+        } catch (IllegalAccessException e) {
+            throw new OrmException("Failed to create accessor for field " + field.getName(), e);
+        }
+    }
+
+    private static RuntimeException accessFailure(String action, Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new OrmException("Failed to " + action + " field", cause);
+    }
+
+    private static class ObjectPropertyAccessor implements PropertyAccessor {
+
+        protected final MethodHandle getter;
+        protected final MethodHandle setter;
+
+        ObjectPropertyAccessor(MethodHandle getter, MethodHandle setter) {
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        public Object get(Object entity) {
+            try {
+                return (Object) getter.invokeExact(entity);
+            } catch (Throwable e) {
+                throw accessFailure("read", e);
+            }
+        }
+
+        @Override
+        public void set(Object entity, Object value) {
+            try {
+                setter.invokeExact(entity, value);
+            } catch (Throwable e) {
+                throw accessFailure("write", e);
+            }
+        }
+    }
+
+    private static final class IntPropertyAccessor extends ObjectPropertyAccessor {
+
+        private final MethodHandle intGetter;
+        private final MethodHandle intSetter;
+
+        IntPropertyAccessor(MethodHandle getter, MethodHandle setter, MethodHandle intGetter, MethodHandle intSetter) {
+            super(getter, setter);
+            this.intGetter = intGetter;
+            this.intSetter = intSetter;
+        }
+
+        @Override
+        public int getInt(Object entity) {
+            try {
+                return (int) intGetter.invokeExact(entity);
+            } catch (Throwable e) {
+                throw accessFailure("read", e);
+            }
+        }
+
+        @Override
+        public void setInt(Object entity, int value) {
+            try {
+                intSetter.invokeExact(entity, value);
+            } catch (Throwable e) {
+                throw accessFailure("write", e);
+            }
+        }
+    }
+
+    private static final class LongPropertyAccessor extends ObjectPropertyAccessor {
+
+        private final MethodHandle longGetter;
+        private final MethodHandle longSetter;
+
+        LongPropertyAccessor(MethodHandle getter, MethodHandle setter, MethodHandle longGetter, MethodHandle longSetter) {
+            super(getter, setter);
+            this.longGetter = longGetter;
+            this.longSetter = longSetter;
+        }
+
+        @Override
+        public long getLong(Object entity) {
+            try {
+                return (long) longGetter.invokeExact(entity);
+            } catch (Throwable e) {
+                throw accessFailure("read", e);
+            }
+        }
+
+        @Override
+        public void setLong(Object entity, long value) {
+            try {
+                longSetter.invokeExact(entity, value);
+            } catch (Throwable e) {
+                throw accessFailure("write", e);
+            }
+        }
+    }
+
+    private static final class BooleanPropertyAccessor extends ObjectPropertyAccessor {
+
+        private final MethodHandle booleanGetter;
+        private final MethodHandle booleanSetter;
+
+        BooleanPropertyAccessor(MethodHandle getter, MethodHandle setter, MethodHandle booleanGetter, MethodHandle booleanSetter) {
+            super(getter, setter);
+            this.booleanGetter = booleanGetter;
+            this.booleanSetter = booleanSetter;
+        }
+
+        @Override
+        public boolean getBoolean(Object entity) {
+            try {
+                return (boolean) booleanGetter.invokeExact(entity);
+            } catch (Throwable e) {
+                throw accessFailure("read", e);
+            }
+        }
+
+        @Override
+        public void setBoolean(Object entity, boolean value) {
+            try {
+                booleanSetter.invokeExact(entity, value);
+            } catch (Throwable e) {
+                throw accessFailure("write", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.aiivar.sjorm.metadata.accessor;
+
+public interface PropertyAccessor {
+
+    Object get(Object entity);
+
+    void set(Object entity, Object value);
+
+    default int getInt(Object entity) {
+        return (Integer) get(entity);
+    }
+
+    default void setInt(Object entity, int value) {
+        set(entity, value);
+    }
+
+    default long getLong(Object entity) {
+        return (Long) get(entity);
+    }
+
+    default void setLong(Object entity, long value) {
+        set(entity, value);
+    }
+
+    default boolean getBoolean(Object entity) {
+        return (Boolean) get(entity);
+    }
+
+    default void setBoolean(Object entity, boolean value) {
+        set(entity, value);
+    }
+}
@@ -0,0 +1,8 @@
+package com.aiivar.sjorm.metadata.accessor;
+
+import java.lang.reflect.Field;
+
+public interface PropertyAccessorFactory {
+
+    PropertyAccessor createAccessor(Field field);
+}
@@ -0,0 +1,35 @@
+package com.aiivar.sjorm.metadata.accessor;
+
+import com.aiivar.sjorm.exceptions.OrmException;
+
+import java.lang.reflect.Field;
+
+public class ReflectionPropertyAccessorFactory implements PropertyAccessorFactory {
+
+    @Override
+    public PropertyAccessor createAccessor(Field field) {
+        field.setAccessible(true);
+        return new ReflectionPropertyAccessor(field);
+    }
+
+    private record ReflectionPropertyAccessor(Field field) implements PropertyAccessor {
+
+        @Override
+        public Object get(Object entity) {
+            try {
+                return field.get(entity);
+            } catch (IllegalAccessException e) {
+                throw new OrmException("Failed to read field " + field.getName(), e);
+            }
+        }
+
+        @Override
+        public void set(Object entity, Object value) {
+            try {
+                field.set(entity, value);
+            } catch (IllegalAccessException e) {
+                throw new OrmException("Failed to write field " + field.getName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.aiivar.sjorm.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Dispatches events to several listeners, isolating each from the failures of the others.
+ */
+public final class CompositeQueryListener implements QueryListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompositeQueryListener.class);
+
+    private final QueryListener[] listeners;
+
+    private CompositeQueryListener(List<QueryListener> listeners) {
+        this.listeners = listeners.toArray(new QueryListener[0]);
+    }
+
+    /**
+     * Returns a listener notifying all of {@code listeners}, or {@code null} when the list is empty so callers can
+     * skip instrumentation entirely.
+     */
+    public static QueryListener of(List<QueryListener> listeners) {
+        return listeners.isEmpty() ? null : new CompositeQueryListener(listeners);
+    }
+
+    @Override
+    public void onQuery(QueryEvent event) {
+        for (QueryListener listener : listeners) {
+            try {
+                listener.onQuery(event);
+            } catch (RuntimeException e) {
+                logger.warn("Query listener {} failed", listener, e);
+            }
+        }
+    }
+
+    @Override
+    public void onConnectionAcquired(long waitNanos) {
+        for (QueryListener listener : listeners) {
+            try {
+                listener.onConnectionAcquired(waitNanos);
+            } catch (RuntimeException e) {
+                logger.warn("Query listener {} failed", listener, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.aiivar.sjorm.metrics;
+
+import com.aiivar.sjorm.exceptions.OrmException;
+import com.aiivar.sjorm.query.plan.QueryOperation;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory metrics registry. Register it with {@code Configuration.addQueryListener} to collect statement counts,
+ * latency percentiles and row counts per operation, entity and SQL template, together with statement cache and
+ * connection pool statistics. It can be published over JMX with {@link #registerMBean(String)}.
+ */
+public class OrmMetrics implements QueryListener, OrmMetricsMXBean {
+
+    static final int DEFAULT_MAX_SQL_TEMPLATES = 512;
+
+    private final int maxSqlTemplates;
+    private final QueryStats total = new QueryStats();
+    private final Map<QueryOperation, QueryStats> byOperation = new EnumMap<>(QueryOperation.class);
+    private final Map<Class<?>, QueryStats> byEntity = new ConcurrentHashMap<>();
+    private final Map<String, QueryStats> bySql = new ConcurrentHashMap<>();
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+    private final LatencyHistogram connectionWait = new LatencyHistogram();
+
+    public OrmMetrics() {
+        this(DEFAULT_MAX_SQL_TEMPLATES);
+    }
+
+    /**
+     * @param maxSqlTemplates number of distinct SQL templates tracked individually; statements beyond it are still
+     *                        counted per operation and entity
+     */
+    public OrmMetrics(int maxSqlTemplates) {
+        this.maxSqlTemplates = maxSqlTemplates;
+        for (QueryOperation operation : QueryOperation.values()) {
+            byOperation.put(operation, new QueryStats());
+        }
+    }
+
+    @Override
+    public void onQuery(QueryEvent event) {
+        total.record(event);
+        byOperation.get(event.operation()).record(event);
+        byEntity.computeIfAbsent(event.entityClass(), entityClass -> new QueryStats()).record(event);
+
+        QueryStats sqlStats = bySql.get(event.sql());
+        if (sqlStats == null && bySql.size() < maxSqlTemplates) {
+            sqlStats = bySql.computeIfAbsent(event.sql(), sql -> new QueryStats());
+        }
+        if (sqlStats != null) {
+            sqlStats.record(event);
+        }
+
+        if (event.statementCacheHit()) {
+            statementCacheHits.increment();
+        } else {
+            statementCacheMisses.increment();
+        }
+    }
+
+    @Override
+    public void onConnectionAcquired(long waitNanos) {
+        connectionWait.record(waitNanos);
+    }
+
+    public QueryStats getTotal() {
+        return total;
+    }
+
+    public QueryStats getStats(QueryOperation operation) {
+        return byOperation.get(operation);
+    }
+
+    public QueryStats getStats(Class<?> entityClass) {
+        return byEntity.get(entityClass);
+    }
+
+    public QueryStats getStats(String sql) {
+        return bySql.get(sql);
+    }
+
+    public Map<String, QueryStats> getStatsBySql() {
+        return Collections.unmodifiableMap(bySql);
+    }
+
+    public LatencyHistogram getConnectionWait() {
+        return connectionWait;
+    }
+
+    @Override
+    public long getQueryCount() {
+        return total.getCount();
+    }
+
+    @Override
+    public long getFailedQueryCount() {
+        return total.getFailureCount();
+    }
+
+    @Override
+    public long getRowCount() {
+        return total.getRowCount();
+    }
+
+    @Override
+    public double getMeanLatencyMillis() {
+        return total.getLatency().getMean() / 1_000_000;
+    }
+
+    @Override
+    public double getLatencyP50Millis() {
+        return toMillis(total.getLatency().getValueAtPercentile(50));
+    }
+
+    @Override
+    public double getLatencyP95Millis() {
+        return toMillis(total.getLatency().getValueAtPercentile(95));
+    }
+
+    @Override
+    public double getLatencyP99Millis() {
+        return toMillis(total.getLatency().getValueAtPercentile(99));
+    }
+
+    @Override
+    public double getMaxLatencyMillis() {
+        return toMillis(total.getLatency().getMax());
+    }
+
+    @Override
+    public Map<String, Long> getQueryCountByOperation() {
+        Map<String, Long> counts = new TreeMap<>();
+        byOperation.forEach((operation, stats) -> counts.put(operation.name(), stats.getCount()));
+        return counts;
+    }
+
+    @Override
+    public Map<String, Double> getLatencyP99MillisByOperation() {
+        Map<String, Double> latencies = new TreeMap<>();
+        byOperation.forEach((operation, stats) ->
+                latencies.put(operation.name(), toMillis(stats.getLatency().getValueAtPercentile(99))));
+        return latencies;
+    }
+
+    @Override
+    public long getStatementCacheHitCount() {
+        return statementCacheHits.sum();
+    }
+
+    @Override
+    public long getStatementCacheMissCount() {
+        return statementCacheMisses.sum();
+    }
+
+    @Override
+    public long getConnectionAcquireCount() {
+        return connectionWait.getCount();
+    }
+
+    @Override
+    public double getConnectionWaitP99Millis() {
+        return toMillis(connectionWait.getValueAtPercentile(99));
+    }
+
+    @Override
+    public double getMaxConnectionWaitMillis() {
+        return toMillis(connectionWait.getMax());
+    }
+
+    @Override
+    public void reset() {
+        total.reset();
+        byOperation.values().forEach(QueryStats::reset);
+        byEntity.clear();
+        bySql.clear();
+        statementCacheHits.reset();
+        statementCacheMisses.reset();
+        connectionWait.reset();
+    }
+
+    /**
+     * Registers this registry with the platform MBean server as {@code com.aiivar.sjorm:type=OrmMetrics,name=<name>}.
+     */
+    public ObjectName registerMBean(String name) {
+        try {
+            ObjectName objectName = getObjectName(name);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            return objectName;
+        } catch (JMException e) {
+            throw new OrmException("Failed to register metrics MBean " + name, e);
+        }
+    }
+
+    public void unregisterMBean(String name) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = getObjectName(name);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            throw new OrmException("Failed to unregister metrics MBean " + name, e);
+        }
+    }
+
+    private static ObjectName getObjectName(String name) throws JMException {
+        return new ObjectName("com.aiivar.sjorm:type=OrmMetrics,name=" + ObjectName.quote(name));
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
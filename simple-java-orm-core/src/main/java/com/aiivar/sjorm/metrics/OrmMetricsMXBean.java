@@ -0,0 +1,41 @@
+package com.aiivar.sjorm.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link OrmMetrics}. Latencies are reported in milliseconds.
+ */
+public interface OrmMetricsMXBean {
+
+    long getQueryCount();
+
+    long getFailedQueryCount();
+
+    long getRowCount();
+
+    double getMeanLatencyMillis();
+
+    double getLatencyP50Millis();
+
+    double getLatencyP95Millis();
+
+    double getLatencyP99Millis();
+
+    double getMaxLatencyMillis();
+
+    Map<String, Long> getQueryCountByOperation();
+
+    Map<String, Double> getLatencyP99MillisByOperation();
+
+    long getStatementCacheHitCount();
+
+    long getStatementCacheMissCount();
+
+    long getConnectionAcquireCount();
+
+    double getConnectionWaitP99Millis();
+
+    double getMaxConnectionWaitMillis();
+
+    void reset();
+}
@@ -0,0 +1,29 @@
+package com.aiivar.sjorm.metrics;
+
+import com.aiivar.sjorm.query.plan.QueryOperation;
+
+/**
+ * One executed statement as reported to {@link QueryListener}s.
+ *
+ * @param sql               SQL template with {@code ?} placeholders, never with bound values
+ * @param operation         kind of statement
+ * @param entityClass       entity the statement was issued for
+ * @param durationNanos     time spent executing the statement; for streams only the time to open the cursor
+ * @param rowCount          rows affected or returned, or {@code -1} when unknown (streams, failures)
+ * @param batchSize         number of parameter sets, {@code 1} for a single statement
+ * @param statementCacheHit whether the prepared statement came from the session's statement cache
+ * @param failure           exception thrown by the statement, or {@code null} on success
+ */
+public record QueryEvent(String sql,
+                         QueryOperation operation,
+                         Class<?> entityClass,
+                         long durationNanos,
+                         int rowCount,
+                         int batchSize,
+                         boolean statementCacheHit,
+                         Throwable failure) {
+
+    public boolean isFailed() {
+        return failure != null;
+    }
+}
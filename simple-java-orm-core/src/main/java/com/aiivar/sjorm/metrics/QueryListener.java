@@ -0,0 +1,17 @@
+package com.aiivar.sjorm.metrics;
+
+/**
+ * Callback invoked by sessions after every statement and by the connection pool after every acquisition. Listeners
+ * are registered with {@code Configuration.addQueryListener} and called on the thread that executed the statement,
+ * so implementations must be thread-safe and fast. Exceptions thrown by a listener are logged and ignored.
+ */
+public interface QueryListener {
+
+    void onQuery(QueryEvent event);
+
+    /**
+     * Called after a connection is borrowed from the pool with the time spent waiting for it.
+     */
+    default void onConnectionAcquired(long waitNanos) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.aiivar.sjorm.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency distribution of a group of statements: all of them, one operation, one entity or one SQL
+ * template. Latencies are recorded in nanoseconds.
+ */
+public class QueryStats {
+
+    private final LongAdder failureCount = new LongAdder();
+    private final LongAdder rowCount = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    void record(QueryEvent event) {
+        latency.record(event.durationNanos());
+        if (event.isFailed()) {
+            failureCount.increment();
+        } else if (event.rowCount() > 0) {
+            rowCount.add(event.rowCount());
+        }
+    }
+
+    public long getCount() {
+        return latency.getCount();
+    }
+
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    public long getRowCount() {
+        return rowCount.sum();
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    void reset() {
+        failureCount.reset();
+        rowCount.reset();
+        latency.reset();
+    }
+}
@@ -0,0 +1,30 @@
+package com.aiivar.sjorm.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs statements that ran longer than a threshold. Registered automatically when
+ * {@code Configuration.setSlowQueryThresholdMillis} is positive.
+ */
+public class SlowQueryLogger implements QueryListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryLogger.class);
+
+    private final long thresholdNanos;
+
+    public SlowQueryLogger(long thresholdMillis) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+    }
+
+    @Override
+    public void onQuery(QueryEvent event) {
+        if (event.durationNanos() >= thresholdNanos) {
+            logger.warn("Slow {} of {} took {} ms (batch {}, rows {}): {}", event.operation(),
+                    event.entityClass().getName(), TimeUnit.NANOSECONDS.toMillis(event.durationNanos()),
+                    event.batchSize(), event.rowCount(), event.sql());
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package com.aiivar.sjorm.pool;
+
+import com.aiivar.sjorm.config.Configuration;
+import com.aiivar.sjorm.metrics.QueryListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class ConnectionPool implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPool.class);
+
+    private static final long MAX_HOUSEKEEPING_INTERVAL_MILLIS = 30_000;
+    private static final long MIN_HOUSEKEEPING_INTERVAL_MILLIS = 100;
+
+    private final ConnectionFactory connectionFactory;
+    private final int minSize;
+    private final int maxSize;
+    private final long acquireTimeoutNanos;
+    private final long idleTimeoutNanos;
+    private final long leakDetectionThresholdNanos;
+    private final boolean validateOnBorrow;
+    private final int validationTimeoutSeconds;
+    private final QueryListener queryListener;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final Set<PooledConnection> borrowed = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final ScheduledExecutorService housekeeper;
+    private int totalCount;
+    private boolean closed;
+
+    public ConnectionPool(ConnectionFactory connectionFactory, Configuration configuration) {
+        this(connectionFactory, configuration, null);
+    }
+
+    public ConnectionPool(ConnectionFactory connectionFactory, Configuration configuration, QueryListener queryListener) {
+        this.connectionFactory = connectionFactory;
+        this.minSize = configuration.getPoolMinSize();
+        this.maxSize = configuration.getPoolMaxSize();
+        this.acquireTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(configuration.getPoolAcquireTimeoutMillis());
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(configuration.getPoolIdleTimeoutMillis());
+        this.leakDetectionThresholdNanos = TimeUnit.MILLISECONDS.toNanos(configuration.getPoolLeakDetectionThresholdMillis());
+        this.validateOnBorrow = configuration.isPoolValidateOnBorrow();
+        this.validationTimeoutSeconds = configuration.getPoolValidationTimeoutSeconds();
+        this.queryListener = queryListener;
+
+        if (minSize < 0 || maxSize <= 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min " + minSize + ", max " + maxSize);
+        }
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sjorm-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = getHousekeepingIntervalMillis(configuration);
+        housekeeper.scheduleWithFixedDelay(this::housekeep, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public Connection acquire() throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + acquireTimeoutNanos;
+        while (true) {
+            PooledConnection pooled;
+            boolean create = false;
+
+            lock.lock();
+            try {
+                while (true) {
+                    if (closed) {
+                        throw new SQLException("Connection pool is closed");
+                    }
+                    pooled = idle.pollFirst();
+                    if (pooled != null) {
+                        break;
+                    }
+                    if (totalCount < maxSize) {
+                        totalCount++;
+                        create = true;
+                        break;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new SQLException("Timed out after " + TimeUnit.NANOSECONDS.toMillis(acquireTimeoutNanos)
+                                + " ms waiting for a pooled connection");
+                    }
+                    available.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a pooled connection", e);
+            } finally {
+                lock.unlock();
+            }
+
+            if (create) {
+                pooled = createPooledConnection();
+            } else if (validateOnBorrow && !isValid(pooled)) {
+                logger.debug("Discarding invalid pooled connection {}", pooled.getPhysicalConnection());
+                discard(pooled);
+                continue;
+            }
+
+            Throwable borrowTrace = leakDetectionThresholdNanos > 0 ? new Throwable("Connection acquired here") : null;
+            lock.lock();
+            try {
+                // Поля отметки читает поток обслуживания под этой же блокировкой
+                pooled.markBorrowed(borrowTrace);
+                borrowed.add(pooled);
+            } finally {
+                lock.unlock();
+            }
+            if (queryListener != null) {
+                queryListener.onConnectionAcquired(System.nanoTime() - start);
+            }
+            return pooled.createHandle();
+        }
+    }
+
+    void release(PooledConnection pooled) {
+        boolean reusable = resetState(pooled);
+        boolean returned = false;
+
+        lock.lock();
+        try {
+            borrowed.remove(pooled);
+            if (reusable && !closed) {
+                pooled.markReturned();
+                idle.addFirst(pooled);
+                returned = true;
+            } else {
+                totalCount--;
+            }
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        if (!returned) {
+            closeQuietly(pooled);
+        }
+    }
+
+    public int getTotalCount() {
+        lock.lock();
+        try {
+            return totalCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getIdleCount() {
+        lock.lock();
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getActiveCount() {
+        lock.lock();
+        try {
+            return borrowed.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        List<PooledConnection> toClose;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            toClose = new ArrayList<>(idle);
+            totalCount -= idle.size();
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        housekeeper.shutdownNow();
+        toClose.forEach(this::closeQuietly);
+        logger.debug("Connection pool closed");
+    }
+
+    void housekeep() {
+        try {
+            evictIdleConnections();
+            fillToMinimum();
+            detectLeaks();
+        } catch (RuntimeException e) {
+            logger.warn("Connection pool housekeeping failed", e);
+        }
+    }
+
+    private void evictIdleConnections() {
+        List<PooledConnection> toClose = new ArrayList<>();
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            Iterator<PooledConnection> iterator = idle.descendingIterator();
+            while (iterator.hasNext() && totalCount > minSize) {
+                PooledConnection pooled = iterator.next();
+                if (now - pooled.getLastReturnedAt() > idleTimeoutNanos) {
+                    iterator.remove();
+                    totalCount--;
+                    toClose.add(pooled);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (!toClose.isEmpty()) {
+            logger.debug("Evicting {} idle pooled connections", toClose.size());
+            toClose.forEach(this::closeQuietly);
+        }
+    }
+
+    private void fillToMinimum() {
+        while (true) {
+            lock.lock();
+            try {
+                if (closed || totalCount >= minSize) {
+                    return;
+                }
+                totalCount++;
+            } finally {
+                lock.unlock();
+            }
+
+            PooledConnection pooled;
+            try {
+                pooled = createPooledConnection();
+            } catch (SQLException e) {
+                logger.warn("Failed to create pooled connection", e);
+                return;
+            }
+
+            lock.lock();
+            try {
+                idle.addLast(pooled);
+                available.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void detectLeaks() {
+        if (leakDetectionThresholdNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            for (PooledConnection pooled : borrowed) {
+                if (!pooled.isLeakReported() && now - pooled.getBorrowedAt() > leakDetectionThresholdNanos) {
+                    pooled.markLeakReported();
+                    logger.warn("Connection {} has been checked out for more than {} ms, possible leak",
+                            pooled.getPhysicalConnection(), TimeUnit.NANOSECONDS.toMillis(leakDetectionThresholdNanos),
+                            pooled.getBorrowTrace());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private PooledConnection createPooledConnection() throws SQLException {
+        Connection physicalConnection = null;
+        try {
+            physicalConnection = connectionFactory.createConnection();
+            return new PooledConnection(this, physicalConnection);
+        } catch (SQLException | RuntimeException e) {
+            if (physicalConnection != null) {
+                try {
+                    physicalConnection.close();
+                } catch (SQLException closeException) {
+                    e.addSuppressed(closeException);
+                }
+            }
+            lock.lock();
+            try {
+                totalCount--;
+                available.signal();
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+    }
+
+    private boolean isValid(PooledConnection pooled) {
+        try {
+            return pooled.getPhysicalConnection().isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private boolean resetState(PooledConnection pooled) {
+        Connection connection = pooled.getPhysicalConnection();
+        try {
+            if (connection.isClosed()) {
+                return false;
+            }
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            if (connection.isReadOnly() != pooled.getDefaultReadOnly()) {
+                connection.setReadOnly(pooled.getDefaultReadOnly());
+            }
+            if (connection.getTransactionIsolation() != pooled.getDefaultTransactionIsolation()) {
+                connection.setTransactionIsolation(pooled.getDefaultTransactionIsolation());
+            }
+            return true;
+        } catch (SQLException e) {
+            logger.warn("Failed to reset pooled connection, discarding it", e);
+            return false;
+        }
+    }
+
+    private void discard(PooledConnection pooled) {
+        lock.lock();
+        try {
+            totalCount--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+        closeQuietly(pooled);
+    }
+
+    private void closeQuietly(PooledConnection pooled) {
+        try {
+            pooled.getPhysicalConnection().close();
+        } catch (SQLException e) {
+            logger.warn("Failed to close pooled connection", e);
+        }
+    }
+
+    private static long getHousekeepingIntervalMillis(Configuration configuration) {
+        long interval = Math.min(MAX_HOUSEKEEPING_INTERVAL_MILLIS, configuration.getPoolIdleTimeoutMillis() / 2);
+        if (configuration.getPoolLeakDetectionThresholdMillis() > 0) {
+            interval = Math.min(interval, configuration.getPoolLeakDetectionThresholdMillis() / 2);
+        }
+        return Math.max(MIN_HOUSEKEEPING_INTERVAL_MILLIS, interval);
+    }
+}
@@ -0,0 +1,118 @@
+package com.aiivar.sjorm.pool;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+class PooledConnection {
+
+    private final ConnectionPool pool;
+    private final Connection physicalConnection;
+    private final boolean defaultReadOnly;
+    private final int defaultTransactionIsolation;
+    private long lastReturnedAt;
+    private long borrowedAt;
+    private Throwable borrowTrace;
+    private boolean leakReported;
+
+    PooledConnection(ConnectionPool pool, Connection physicalConnection) throws SQLException {
+        this.pool = pool;
+        this.physicalConnection = physicalConnection;
+        this.defaultReadOnly = physicalConnection.isReadOnly();
+        this.defaultTransactionIsolation = physicalConnection.getTransactionIsolation();
+        this.lastReturnedAt = System.nanoTime();
+    }
+
+    Connection getPhysicalConnection() {
+        return physicalConnection;
+    }
+
+    boolean getDefaultReadOnly() {
+        return defaultReadOnly;
+    }
+
+    int getDefaultTransactionIsolation() {
+        return defaultTransactionIsolation;
+    }
+
+    long getLastReturnedAt() {
+        return lastReturnedAt;
+    }
+
+    long getBorrowedAt() {
+        return borrowedAt;
+    }
+
+    Throwable getBorrowTrace() {
+        return borrowTrace;
+    }
+
+    boolean isLeakReported() {
+        return leakReported;
+    }
+
+    void markLeakReported() {
+        leakReported = true;
+    }
+
+    void markBorrowed(Throwable borrowTrace) {
+        this.borrowedAt = System.nanoTime();
+        this.borrowTrace = borrowTrace;
+        this.leakReported = false;
+    }
+
+    void markReturned() {
+        lastReturnedAt = System.nanoTime();
+        borrowTrace = null;
+    }
+
+    Connection createHandle() {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new Handle());
+    }
+
+    private class Handle implements InvocationHandler {
+
+        private boolean closed;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (!closed) {
+                        closed = true;
+                        pool.release(PooledConnection.this);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return closed || physicalConnection.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "PooledConnection[" + physicalConnection + "]";
+                }
+                default -> {
+                    if (closed) {
+                        throw new SQLException("Connection is closed");
+                    }
+                    try {
+                        return method.invoke(physicalConnection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -1,40 +1,44 @@
 package com.aiivar.sjorm.query.builder;
 
-import com.aiivar.sjorm.annotations.Column;
-import com.aiivar.sjorm.annotations.Table;
-import com.aiivar.sjorm.exceptions.OrmException;
+import com.aiivar.sjorm.dialect.Dialect;
+import com.aiivar.sjorm.metadata.ColumnMetadata;
+import com.aiivar.sjorm.metadata.EntityMetadata;
+import com.aiivar.sjorm.metadata.EntityMetadataRegistry;
 
-import java.lang.reflect.Field;
+import java.util.List;
+import java.util.StringJoiner;
 
 public abstract class AbstractQueryBuilder {
 
-    protected String getTableName(Class<?> clazz) {
-        if (clazz.isAnnotationPresent(Table.class)) {
-            return clazz.getAnnotation(Table.class).name();
-        } else {
-            return clazz.getSimpleName().toLowerCase();
-        }
+    protected final EntityMetadataRegistry metadataRegistry;
+    protected final Dialect dialect;
+
+    protected AbstractQueryBuilder(EntityMetadataRegistry metadataRegistry, Dialect dialect) {
+        this.metadataRegistry = metadataRegistry;
+        this.dialect = dialect;
     }
 
-    protected String getIdColumn(Class<?> clazz) {
-        for (Field field : clazz.getDeclaredFields()) {
-            if (field.isAnnotationPresent(Column.class)) {
-                return field.getAnnotation(Column.class).name();
-            }
+    protected EntityMetadata getMetadata(Class<?> clazz) {
+        return metadataRegistry.getMetadata(clazz);
+    }
+
+    protected String quote(ColumnMetadata column) {
+        return dialect.quote(column.getName());
+    }
+
+    protected String selectColumns(EntityMetadata metadata) {
+        return selectColumns(metadata.getColumns());
+    }
+
+    protected String selectColumns(List<ColumnMetadata> selected) {
+        StringJoiner columns = new StringJoiner(", ");
+        for (ColumnMetadata column : selected) {
+            columns.add(quote(column));
         }
-        throw new OrmException("No field annotated with @Id");
+        return columns.toString();
     }
 
     protected String getColumnType(Class<?> fieldType) {
-        if (fieldType == String.class) {
-            return "VARCHAR(255)";
-        } else if (fieldType == int.class || fieldType == Integer.class) {
-            return "INT";
-        } else if (fieldType == long.class || fieldType == Long.class) {
-            return "BIGINT";
-        } else if (fieldType == boolean.class || fieldType == Boolean.class) {
-            return "BOOLEAN";
-        }
-        throw new OrmException("Unsupported field type: " + fieldType.getName());
+        return dialect.getColumnType(fieldType);
     }
 }
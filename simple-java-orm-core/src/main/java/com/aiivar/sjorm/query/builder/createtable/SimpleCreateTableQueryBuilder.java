@@ -1,44 +1,43 @@
 package com.aiivar.sjorm.query.builder.createtable;
 
-import com.aiivar.sjorm.annotations.Column;
-import com.aiivar.sjorm.annotations.Entity;
-import com.aiivar.sjorm.annotations.Id;
-import com.aiivar.sjorm.exceptions.OrmException;
+import com.aiivar.sjorm.dialect.Dialect;
+import com.aiivar.sjorm.metadata.ColumnMetadata;
+import com.aiivar.sjorm.metadata.EntityMetadata;
+import com.aiivar.sjorm.metadata.EntityMetadataRegistry;
 import com.aiivar.sjorm.query.builder.AbstractQueryBuilder;
 import com.aiivar.sjorm.query.createtable.CreateTableQuery;
 import com.aiivar.sjorm.query.createtable.CreateTableQueryImpl;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
 
 public class SimpleCreateTableQueryBuilder<T> extends AbstractQueryBuilder implements CreateTableQueryBuilder<T> {
 
+    public SimpleCreateTableQueryBuilder(EntityMetadataRegistry metadataRegistry, Dialect dialect) {
+        super(metadataRegistry, dialect);
+    }
+
     @Override
     public CreateTableQuery buildQuery(Class<T> entityClass) {
-        if (!entityClass.isAnnotationPresent(Entity.class)) {
-            throw new OrmException("The class is not annotated with @Entity");
-        }
-
-        String tableName = getTableName(entityClass);
+        EntityMetadata metadata = getMetadata(entityClass);
         List<String> columnDefinitions = new ArrayList<>();
 
-        for (Field field : entityClass.getDeclaredFields()) {
-            if (field.isAnnotationPresent(Column.class)) {
-                String columnName = "\"" + field.getAnnotation(Column.class).name() + "\"";
-                String columnType = getColumnType(field.getType());
+        for (ColumnMetadata column : metadata.getColumns()) {
+            String columnName = quote(column);
+            String columnType = getColumnType(column.getJavaType());
 
-                if (field.isAnnotationPresent(Id.class)) {
-                    columnDefinitions.add(columnName + " " + columnType + " GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY");
-                } else {
-                    columnDefinitions.add(columnName + " " + columnType);
-                }
+            if (column.isId() && metadata.isIdAssignedBeforeInsert()) {
+                columnDefinitions.add(columnName + " " + columnType + " PRIMARY KEY");
+            } else if (column.isId()) {
+                columnDefinitions.add(dialect.getIdentityColumnDefinition(columnName, columnType));
+            } else {
+                columnDefinitions.add(columnName + " " + columnType);
             }
         }
 
         String columnDefinitionsString = String.join(", ", columnDefinitions);
 
-        String sql = "CREATE TABLE " + tableName + " (" + columnDefinitionsString + ")";
+        String sql = "CREATE TABLE " + metadata.getTableName() + " (" + columnDefinitionsString + ")";
         return new CreateTableQueryImpl(sql);
     }
 }
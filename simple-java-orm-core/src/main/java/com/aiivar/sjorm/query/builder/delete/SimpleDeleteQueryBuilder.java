@@ -1,18 +1,19 @@
 package com.aiivar.sjorm.query.builder.delete;
 
-import com.aiivar.sjorm.annotations.Column;
-import com.aiivar.sjorm.annotations.Entity;
-import com.aiivar.sjorm.annotations.Id;
-import com.aiivar.sjorm.exceptions.OrmException;
+import com.aiivar.sjorm.dialect.Dialect;
+import com.aiivar.sjorm.metadata.EntityMetadata;
+import com.aiivar.sjorm.metadata.EntityMetadataRegistry;
 import com.aiivar.sjorm.query.Query;
 import com.aiivar.sjorm.query.builder.AbstractQueryBuilder;
 import com.aiivar.sjorm.query.delete.DeleteQuery;
 import com.aiivar.sjorm.query.delete.DeleteQueryImpl;
 
-import java.lang.reflect.Field;
-
 public class SimpleDeleteQueryBuilder<T> extends AbstractQueryBuilder implements DeleteQueryBuilder<T> {
 
+    public SimpleDeleteQueryBuilder(EntityMetadataRegistry metadataRegistry, Dialect dialect) {
+        super(metadataRegistry, dialect);
+    }
+
     @Override
     public Query buildQuery(T entity) {
         throw new UnsupportedOperationException("Use buildQuery with primary key for delete queries");
@@ -20,24 +21,12 @@ public class SimpleDeleteQueryBuilder<T> extends AbstractQueryBuilder implements
 
     @Override
     public DeleteQuery buildQuery(Class<T> entityClass, Object primaryKey) {
-        if (!entityClass.isAnnotationPresent(Entity.class)) {
-            throw new OrmException("The class is not annotated with @Entity");
-        }
-
-        String tableName = getTableName(entityClass);
-        String idColumn = getIdColumn(entityClass);
+        EntityMetadata metadata = getMetadata(entityClass);
 
-        String sql = "DELETE FROM " + tableName + " WHERE " + idColumn + " = ?";
-        return new DeleteQueryImpl(sql);
-    }
-
-    @Override
-    protected String getIdColumn(Class<?> clazz) {
-        for (Field field : clazz.getDeclaredFields()) {
-            if (field.isAnnotationPresent(Id.class)) {
-                return "\"" + field.getAnnotation(Column.class).name() + "\"";
-            }
+        String sql = "DELETE FROM " + metadata.getTableName() + " WHERE " + quote(metadata.getIdColumn()) + " = ?";
+        if (metadata.getVersionColumn() != null) {
+            sql += " AND " + quote(metadata.getVersionColumn()) + " = ?";
         }
-        throw new OrmException("No field annotated with @Id");
+        return new DeleteQueryImpl(sql);
     }
 }
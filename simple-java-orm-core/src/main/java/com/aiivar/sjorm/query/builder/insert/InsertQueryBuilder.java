@@ -1,6 +1,20 @@
 package com.aiivar.sjorm.query.builder.insert;
 
 import com.aiivar.sjorm.query.builder.QueryBuilder;
+import com.aiivar.sjorm.query.insert.InsertQuery;
 
 public interface InsertQueryBuilder<T> extends QueryBuilder<T> {
-}
\ No newline at end of file
+
+    /**
+     * Builds a single {@code INSERT} with {@code rowCount} rows in its {@code VALUES} list. Parameters are the
+     * {@code EntityMetadata.getInsertColumns()} values of each row in turn. If the database generates the ids and the
+     * dialect supports it, the statement returns them.
+     */
+    InsertQuery buildQuery(Class<T> entityClass, int rowCount);
+
+    /**
+     * Builds an insert-or-update of {@code rowCount} rows keyed by the primary key. Parameters are all column values,
+     * id first, of each row in turn.
+     */
+    InsertQuery buildUpsertQuery(Class<T> entityClass, int rowCount);
+}
@@ -1,41 +1,66 @@
 package com.aiivar.sjorm.query.builder.insert;
 
-import com.aiivar.sjorm.annotations.Column;
-import com.aiivar.sjorm.annotations.Entity;
-import com.aiivar.sjorm.annotations.Id;
-import com.aiivar.sjorm.exceptions.OrmException;
+import com.aiivar.sjorm.dialect.Dialect;
+import com.aiivar.sjorm.metadata.ColumnMetadata;
+import com.aiivar.sjorm.metadata.EntityMetadata;
+import com.aiivar.sjorm.metadata.EntityMetadataRegistry;
 import com.aiivar.sjorm.query.builder.AbstractQueryBuilder;
 import com.aiivar.sjorm.query.insert.InsertQuery;
 import com.aiivar.sjorm.query.insert.InsertQueryImpl;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class SimpleInsertQueryBuilder<T> extends AbstractQueryBuilder implements InsertQueryBuilder<T> {
 
+    public SimpleInsertQueryBuilder(EntityMetadataRegistry metadataRegistry, Dialect dialect) {
+        super(metadataRegistry, dialect);
+    }
+
     @Override
+    @SuppressWarnings("unchecked")
     public InsertQuery buildQuery(T entity) {
-        Class<?> clazz = entity.getClass();
-        if (!clazz.isAnnotationPresent(Entity.class)) {
-            throw new OrmException("The class is not annotated with @Entity");
-        }
+        return buildQuery((Class<T>) entity.getClass(), 1);
+    }
 
-        String tableName = getTableName(clazz);
-        List<String> columns = new ArrayList<>();
-        List<String> placeholders = new ArrayList<>();
+    @Override
+    public InsertQuery buildQuery(Class<T> entityClass, int rowCount) {
+        EntityMetadata metadata = getMetadata(entityClass);
+        List<ColumnMetadata> columns = metadata.getInsertColumns();
 
-        for (Field field : clazz.getDeclaredFields()) {
-            if (field.isAnnotationPresent(Column.class) && !field.isAnnotationPresent(Id.class)) {
-                columns.add("\"" + field.getAnnotation(Column.class).name() + "\"");
-                placeholders.add("?");
-            }
+        String sql = "INSERT INTO " + metadata.getTableName() + " (" + columnList(columns) + ") VALUES "
+                + valuesList(columns.size(), rowCount);
+        if (dialect.supportsInsertReturning() && !metadata.isIdAssignedBeforeInsert()) {
+            return new InsertQueryImpl(sql + " RETURNING " + quote(metadata.getIdColumn()), true);
         }
+        return new InsertQueryImpl(sql);
+    }
 
-        String columnsString = String.join(", ", columns);
-        String placeholdersString = String.join(", ", placeholders);
+    @Override
+    public InsertQuery buildUpsertQuery(Class<T> entityClass, int rowCount) {
+        EntityMetadata metadata = getMetadata(entityClass);
+        List<String> columns = quoted(metadata.getNonIdColumns());
 
-        String sql = "INSERT INTO " + tableName + " (" + columnsString + ") VALUES (" + placeholdersString + ")";
+        String sql = dialect.getUpsertSql(metadata.getTableName(), quote(metadata.getIdColumn()), columns,
+                valuesList(columns.size() + 1, rowCount));
         return new InsertQueryImpl(sql);
     }
-}
\ No newline at end of file
+
+    private List<String> quoted(List<ColumnMetadata> columns) {
+        List<String> quoted = new ArrayList<>(columns.size());
+        for (ColumnMetadata column : columns) {
+            quoted.add(quote(column));
+        }
+        return quoted;
+    }
+
+    private String columnList(List<ColumnMetadata> columns) {
+        return String.join(", ", quoted(columns));
+    }
+
+    private String valuesList(int columnCount, int rowCount) {
+        String row = "(" + String.join(", ", Collections.nCopies(columnCount, "?")) + ")";
+        return String.join(", ", Collections.nCopies(rowCount, row));
+    }
+}
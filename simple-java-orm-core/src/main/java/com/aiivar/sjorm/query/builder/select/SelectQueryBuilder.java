@@ -1,9 +1,25 @@
 package com.aiivar.sjorm.query.builder.select;
 
+import com.aiivar.sjorm.metadata.ColumnMetadata;
 import com.aiivar.sjorm.query.Query;
 import com.aiivar.sjorm.query.builder.QueryBuilder;
+import com.aiivar.sjorm.query.criteria.Criteria;
+
+import java.util.List;
 
 public interface SelectQueryBuilder<T> extends QueryBuilder<Class<T>> {
 
     Query buildQuery(Class<T> entityClass, Object primaryKey);
+
+    Query buildInQuery(Class<T> entityClass, int keyCount);
+
+    /**
+     * Renders the criteria to SQL, appending the bind values to {@code parameters} in placeholder order.
+     */
+    Query buildQuery(Criteria<T> criteria, List<Object> parameters);
+
+    /**
+     * Renders the criteria like {@link #buildQuery(Criteria, List)}, selecting only {@code columns} in the given order.
+     */
+    Query buildProjectionQuery(Criteria<T> criteria, List<ColumnMetadata> columns, List<Object> parameters);
 }
\ No newline at end of file
@@ -1,43 +1,110 @@
 package com.aiivar.sjorm.query.builder.select;
 
-import com.aiivar.sjorm.annotations.Column;
-import com.aiivar.sjorm.annotations.Entity;
-import com.aiivar.sjorm.annotations.Id;
-import com.aiivar.sjorm.exceptions.OrmException;
-import com.aiivar.sjorm.query.Query;
+import com.aiivar.sjorm.dialect.Dialect;
+import com.aiivar.sjorm.metadata.ColumnMetadata;
+import com.aiivar.sjorm.metadata.EntityMetadata;
+import com.aiivar.sjorm.metadata.EntityMetadataRegistry;
 import com.aiivar.sjorm.query.builder.AbstractQueryBuilder;
+import com.aiivar.sjorm.query.criteria.Criteria;
+import com.aiivar.sjorm.query.criteria.Order;
+import com.aiivar.sjorm.query.criteria.Restriction;
 import com.aiivar.sjorm.query.select.SelectQuery;
 import com.aiivar.sjorm.query.select.SelectQueryImpl;
 
-import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.List;
 
 public class SimpleSelectQueryBuilder<T> extends AbstractQueryBuilder implements SelectQueryBuilder<T> {
 
+    public SimpleSelectQueryBuilder(EntityMetadataRegistry metadataRegistry, Dialect dialect) {
+        super(metadataRegistry, dialect);
+    }
+
     @Override
-    public Query buildQuery(Class<T> entityClass) {
-        throw new UnsupportedOperationException("Use buildQuery with primary key for select queries");
+    public SelectQuery buildQuery(Class<T> entityClass) {
+        EntityMetadata metadata = getMetadata(entityClass);
+
+        String sql = "SELECT " + selectColumns(metadata) + " FROM " + metadata.getTableName();
+        return new SelectQueryImpl(sql);
     }
 
     @Override
     public SelectQuery buildQuery(Class<T> entityClass, Object primaryKey) {
-        if (!entityClass.isAnnotationPresent(Entity.class)) {
-            throw new OrmException("The class is not annotated with @Entity");
-        }
+        EntityMetadata metadata = getMetadata(entityClass);
 
-        String tableName = getTableName(entityClass);
-        String idColumn = getIdColumn(entityClass);
+        String sql = "SELECT " + selectColumns(metadata) + " FROM " + metadata.getTableName() + " WHERE " + quote(metadata.getIdColumn()) + " = ?";
+        return new SelectQueryImpl(sql);
+    }
 
-        String sql = "SELECT * FROM " + tableName + " WHERE " + idColumn + " = ?";
+    @Override
+    public SelectQuery buildInQuery(Class<T> entityClass, int keyCount) {
+        EntityMetadata metadata = getMetadata(entityClass);
+
+        String sql = "SELECT " + selectColumns(metadata) + " FROM " + metadata.getTableName() + " WHERE " + quote(metadata.getIdColumn())
+                + " IN (" + placeholders(keyCount) + ")";
         return new SelectQueryImpl(sql);
     }
 
     @Override
-    protected String getIdColumn(Class<?> clazz) {
-        for (Field field : clazz.getDeclaredFields()) {
-            if (field.isAnnotationPresent(Id.class)) {
-                return "\"" + field.getAnnotation(Column.class).name() + "\"";
+    public SelectQuery buildQuery(Criteria<T> criteria, List<Object> parameters) {
+        return buildQuery(criteria, getMetadata(criteria.getEntityClass()).getColumns(), parameters);
+    }
+
+    @Override
+    public SelectQuery buildProjectionQuery(Criteria<T> criteria, List<ColumnMetadata> columns, List<Object> parameters) {
+        return buildQuery(criteria, columns, parameters);
+    }
+
+    private SelectQuery buildQuery(Criteria<T> criteria, List<ColumnMetadata> columns, List<Object> parameters) {
+        EntityMetadata metadata = getMetadata(criteria.getEntityClass());
+
+        StringBuilder sql = new StringBuilder("SELECT " + selectColumns(columns) + " FROM ").append(metadata.getTableName());
+        String separator = " WHERE ";
+        for (Restriction restriction : criteria.getRestrictions()) {
+            sql.append(separator);
+            appendRestriction(sql, metadata.getColumn(restriction.property()), restriction, parameters);
+            separator = " AND ";
+        }
+
+        separator = " ORDER BY ";
+        for (Order order : criteria.getOrders()) {
+            sql.append(separator).append(quote(metadata.getColumn(order.property())))
+                    .append(order.ascending() ? " ASC" : " DESC");
+            separator = ", ";
+        }
+
+        dialect.appendPaging(sql, criteria.getLimit(), criteria.getOffset(), parameters);
+        return new SelectQueryImpl(sql.toString());
+    }
+
+    private void appendRestriction(StringBuilder sql, ColumnMetadata column, Restriction restriction,
+                                   List<Object> parameters) {
+        List<Object> values = restriction.values();
+        switch (restriction.operator()) {
+            case EQ, NE -> {
+                if (values.getFirst() == null) {
+                    sql.append(quote(column)).append(restriction.operator() == Restriction.Operator.EQ
+                            ? " IS NULL" : " IS NOT NULL");
+                    return;
+                }
+                sql.append(quote(column)).append(' ').append(restriction.operator().getSql()).append(" ?");
+            }
+            case BETWEEN -> sql.append(quote(column)).append(" BETWEEN ? AND ?");
+            case IN -> {
+                if (values.isEmpty()) {
+                    sql.append("1 = 0");
+                    return;
+                }
+                sql.append(quote(column)).append(" IN (").append(placeholders(values.size())).append(')');
             }
+            default -> sql.append(quote(column)).append(' ').append(restriction.operator().getSql()).append(" ?");
         }
-        throw new OrmException("No field annotated with @Id");
+        for (Object value : values) {
+            parameters.add(column.toColumnValue(value));
+        }
+    }
+
+    private String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
     }
 }
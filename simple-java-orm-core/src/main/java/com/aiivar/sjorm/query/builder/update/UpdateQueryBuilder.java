@@ -1,6 +1,15 @@
 package com.aiivar.sjorm.query.builder.update;
 
+import com.aiivar.sjorm.metadata.ColumnMetadata;
+import com.aiivar.sjorm.query.Query;
 import com.aiivar.sjorm.query.builder.QueryBuilder;
 
+import java.util.List;
+
 public interface UpdateQueryBuilder<T> extends QueryBuilder<T> {
+
+    /**
+     * Builds an update that sets only the given columns, in the given order, followed by the id parameter.
+     */
+    Query buildQuery(Class<T> entityClass, List<ColumnMetadata> columns);
 }
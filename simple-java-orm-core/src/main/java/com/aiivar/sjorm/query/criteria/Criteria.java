@@ -0,0 +1,126 @@
+package com.aiivar.sjorm.query.criteria;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Typed description of a multi-row query over one entity class. Properties are entity field names; all
+ * restrictions are combined with {@code AND}.
+ */
+public class Criteria<T> {
+
+    private final Class<T> entityClass;
+    private final List<Restriction> restrictions = new ArrayList<>();
+    private final List<Order> orders = new ArrayList<>();
+    private final List<String> fetches = new ArrayList<>();
+    private Integer limit;
+    private Integer offset;
+
+    private Criteria(Class<T> entityClass) {
+        this.entityClass = entityClass;
+    }
+
+    public static <T> Criteria<T> forClass(Class<T> entityClass) {
+        return new Criteria<>(entityClass);
+    }
+
+    public Criteria<T> eq(String property, Object value) {
+        return add(property, Restriction.Operator.EQ, value);
+    }
+
+    public Criteria<T> ne(String property, Object value) {
+        return add(property, Restriction.Operator.NE, value);
+    }
+
+    public Criteria<T> gt(String property, Object value) {
+        return add(property, Restriction.Operator.GT, value);
+    }
+
+    public Criteria<T> ge(String property, Object value) {
+        return add(property, Restriction.Operator.GE, value);
+    }
+
+    public Criteria<T> lt(String property, Object value) {
+        return add(property, Restriction.Operator.LT, value);
+    }
+
+    public Criteria<T> le(String property, Object value) {
+        return add(property, Restriction.Operator.LE, value);
+    }
+
+    public Criteria<T> between(String property, Object from, Object to) {
+        return add(property, Restriction.Operator.BETWEEN, from, to);
+    }
+
+    public Criteria<T> in(String property, Collection<?> values) {
+        restrictions.add(new Restriction(property, Restriction.Operator.IN, new ArrayList<>(values)));
+        return this;
+    }
+
+    public Criteria<T> orderBy(String property) {
+        orders.add(new Order(property, true));
+        return this;
+    }
+
+    public Criteria<T> orderByDesc(String property) {
+        orders.add(new Order(property, false));
+        return this;
+    }
+
+    /**
+     * Initializes the given {@code @OneToMany} collection of all results right away, with one {@code IN} query per
+     * chunk of results instead of one query per result on first access.
+     */
+    public Criteria<T> fetch(String property) {
+        fetches.add(property);
+        return this;
+    }
+
+    public Criteria<T> limit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative");
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    public Criteria<T> offset(int offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset must not be negative");
+        }
+        this.offset = offset;
+        return this;
+    }
+
+    public Class<T> getEntityClass() {
+        return entityClass;
+    }
+
+    public List<Restriction> getRestrictions() {
+        return Collections.unmodifiableList(restrictions);
+    }
+
+    public List<Order> getOrders() {
+        return Collections.unmodifiableList(orders);
+    }
+
+    public List<String> getFetches() {
+        return Collections.unmodifiableList(fetches);
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public Integer getOffset() {
+        return offset;
+    }
+
+    private Criteria<T> add(String property, Restriction.Operator operator, Object... values) {
+        restrictions.add(new Restriction(property, operator, Arrays.asList(values)));
+        return this;
+    }
+}
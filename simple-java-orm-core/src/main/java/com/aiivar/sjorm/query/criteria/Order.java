@@ -0,0 +1,4 @@
+package com.aiivar.sjorm.query.criteria;
+
+public record Order(String property, boolean ascending) {
+}
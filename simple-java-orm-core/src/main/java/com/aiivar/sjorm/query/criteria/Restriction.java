@@ -0,0 +1,27 @@
+package com.aiivar.sjorm.query.criteria;
+
+import java.util.List;
+
+public record Restriction(String property, Operator operator, List<Object> values) {
+
+    public enum Operator {
+        EQ("="),
+        NE("<>"),
+        GT(">"),
+        GE(">="),
+        LT("<"),
+        LE("<="),
+        BETWEEN("BETWEEN"),
+        IN("IN");
+
+        private final String sql;
+
+        Operator(String sql) {
+            this.sql = sql;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+    }
+}
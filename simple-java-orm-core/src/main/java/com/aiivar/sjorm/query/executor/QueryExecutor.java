@@ -3,12 +3,17 @@ package com.aiivar.sjorm.query.executor;
 import com.aiivar.sjorm.query.Query;
 
 import java.sql.SQLException;
+import java.util.List;
 
 public interface QueryExecutor<T extends Query> {
 
-    void execute(T query, Object... params) throws SQLException;
+    int execute(T query, Object... params) throws SQLException;
 
     Object executeWithResultReturn(T query, Object... params) throws SQLException;
 
+    int[] executeBatch(T query, List<Object[]> batchParams) throws SQLException;
+
+    Object executeBatchWithResultReturn(T query, List<Object[]> batchParams) throws SQLException;
+
     Class<T> getSupportedQuery();
 }
@@ -0,0 +1,120 @@
+package com.aiivar.sjorm.query.executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+public class StatementCache implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementCache.class);
+
+    private final Connection connection;
+    private final int maxSize;
+    private final Map<StatementKey, PreparedStatement> statements;
+    private final Set<PreparedStatement> cachedStatements = Collections.newSetFromMap(new IdentityHashMap<>());
+    private long hits;
+    private long misses;
+
+    public StatementCache(Connection connection, int maxSize) {
+        this.connection = connection;
+        this.maxSize = maxSize;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<StatementKey, PreparedStatement> eldest) {
+                if (size() > StatementCache.this.maxSize) {
+                    cachedStatements.remove(eldest.getValue());
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public Connection getConnection() {
+        return connection;
+    }
+
+    public PreparedStatement prepare(String sql) throws SQLException {
+        return prepare(sql, Statement.NO_GENERATED_KEYS);
+    }
+
+    public PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+        if (maxSize <= 0) {
+            return connection.prepareStatement(sql, autoGeneratedKeys);
+        }
+
+        StatementKey key = new StatementKey(sql, autoGeneratedKeys);
+        PreparedStatement statement = statements.get(key);
+        if (statement != null && !statement.isClosed()) {
+            hits++;
+            return statement;
+        }
+
+        misses++;
+        if (statement != null) {
+            cachedStatements.remove(statement);
+        }
+        statement = connection.prepareStatement(sql, autoGeneratedKeys);
+        cachedStatements.add(statement);
+        statements.put(key, statement);
+        return statement;
+    }
+
+    /**
+     * Returns a statement after use. Cached statements are cleared of parameters and of any rows left batched by a
+     * failed {@code addBatch}/{@code executeBatch}, so the next batch with the same SQL does not run them again.
+     */
+    public void release(PreparedStatement statement) throws SQLException {
+        if (statement.isClosed()) {
+            return;
+        }
+        if (cachedStatements.contains(statement)) {
+            statement.clearBatch();
+            statement.clearParameters();
+        } else {
+            statement.close();
+        }
+    }
+
+    public long getHitCount() {
+        return hits;
+    }
+
+    public long getMissCount() {
+        return misses;
+    }
+
+    public int size() {
+        return statements.size();
+    }
+
+    @Override
+    public void close() {
+        for (PreparedStatement statement : statements.values()) {
+            closeQuietly(statement);
+        }
+        statements.clear();
+        cachedStatements.clear();
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            logger.warn("Failed to close cached statement", e);
+        }
+    }
+
+    private record StatementKey(String sql, int autoGeneratedKeys) {
+    }
+}
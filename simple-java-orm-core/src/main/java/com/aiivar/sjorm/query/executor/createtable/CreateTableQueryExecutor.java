@@ -6,6 +6,7 @@ import com.aiivar.sjorm.query.executor.QueryExecutor;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.List;
 
 public class CreateTableQueryExecutor implements QueryExecutor<CreateTableQuery> {
 
@@ -16,10 +17,11 @@ public class CreateTableQueryExecutor implements QueryExecutor<CreateTableQuery>
     }
 
     @Override
-    public void execute(CreateTableQuery query, Object... params) throws SQLException {
+    public int execute(CreateTableQuery query, Object... params) throws SQLException {
         try (Statement statement = connection.createStatement()) {
             statement.execute(query.getSql());
         }
+        return 0;
     }
 
     @Override
@@ -27,6 +29,16 @@ public class CreateTableQueryExecutor implements QueryExecutor<CreateTableQuery>
         throw new UnsupportedOperationException("CreateTableQueryExecutor does not support executeWithResultReturn");
     }
 
+    @Override
+    public int[] executeBatch(CreateTableQuery query, List<Object[]> batchParams) {
+        throw new UnsupportedOperationException("CreateTableQueryExecutor does not support executeBatch");
+    }
+
+    @Override
+    public Object executeBatchWithResultReturn(CreateTableQuery query, List<Object[]> batchParams) {
+        throw new UnsupportedOperationException("CreateTableQueryExecutor does not support executeBatchWithResultReturn");
+    }
+
     @Override
     public Class<CreateTableQuery> getSupportedQuery() {
         return CreateTableQuery.class;
@@ -2,26 +2,30 @@ package com.aiivar.sjorm.query.executor.delete;
 
 import com.aiivar.sjorm.query.delete.DeleteQuery;
 import com.aiivar.sjorm.query.executor.QueryExecutor;
+import com.aiivar.sjorm.query.executor.StatementCache;
 
-import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.List;
 
 public class DeleteQueryExecutor implements QueryExecutor<DeleteQuery> {
 
-    private final Connection connection;
+    private final StatementCache statementCache;
 
-    public DeleteQueryExecutor(Connection connection) {
-        this.connection = connection;
+    public DeleteQueryExecutor(StatementCache statementCache) {
+        this.statementCache = statementCache;
     }
 
     @Override
-    public void execute(DeleteQuery query, Object... params) throws SQLException {
-        try (PreparedStatement statement = connection.prepareStatement(query.getSql())) {
+    public int execute(DeleteQuery query, Object... params) throws SQLException {
+        PreparedStatement statement = statementCache.prepare(query.getSql());
+        try {
             for (int i = 0; i < params.length; i++) {
                 statement.setObject(i + 1, params[i]);
             }
-            statement.executeUpdate();
+            return statement.executeUpdate();
+        } finally {
+            statementCache.release(statement);
         }
     }
 
@@ -30,6 +34,27 @@ public class DeleteQueryExecutor implements QueryExecutor<DeleteQuery> {
         throw new UnsupportedOperationException("DeleteQueryExecutor does not support executeWithResultReturn");
     }
 
+    @Override
+    public int[] executeBatch(DeleteQuery query, List<Object[]> batchParams) throws SQLException {
+        PreparedStatement statement = statementCache.prepare(query.getSql());
+        try {
+            for (Object[] params : batchParams) {
+                for (int i = 0; i < params.length; i++) {
+                    statement.setObject(i + 1, params[i]);
+                }
+                statement.addBatch();
+            }
+            return statement.executeBatch();
+        } finally {
+            statementCache.release(statement);
+        }
+    }
+
+    @Override
+    public Object executeBatchWithResultReturn(DeleteQuery query, List<Object[]> batchParams) {
+        throw new UnsupportedOperationException("DeleteQueryExecutor does not support executeBatchWithResultReturn");
+    }
+
     @Override
     public Class<DeleteQuery> getSupportedQuery() {
         return DeleteQuery.class;
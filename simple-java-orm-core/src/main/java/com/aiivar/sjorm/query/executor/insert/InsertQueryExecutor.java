@@ -1,45 +1,134 @@
 package com.aiivar.sjorm.query.executor.insert;
 
 import com.aiivar.sjorm.query.executor.QueryExecutor;
+import com.aiivar.sjorm.query.executor.StatementCache;
 import com.aiivar.sjorm.query.insert.InsertQuery;
 
-import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 public class InsertQueryExecutor implements QueryExecutor<InsertQuery> {
 
-    private final Connection connection;
+    private final StatementCache statementCache;
 
-    public InsertQueryExecutor(Connection connection) {
-        this.connection = connection;
+    public InsertQueryExecutor(StatementCache statementCache) {
+        this.statementCache = statementCache;
     }
 
     @Override
-    public void execute(InsertQuery query, Object... params) throws SQLException {
-        try (PreparedStatement statement = connection.prepareStatement(query.getSql(), PreparedStatement.RETURN_GENERATED_KEYS)) {
+    public int execute(InsertQuery query, Object... params) throws SQLException {
+        PreparedStatement statement = statementCache.prepare(query.getSql());
+        try {
             for (int i = 0; i < params.length; i++) {
                 statement.setObject(i + 1, params[i]);
             }
-            statement.executeUpdate();
+            return statement.executeUpdate();
+        } finally {
+            statementCache.release(statement);
         }
     }
 
     @Override
     public Object executeWithResultReturn(InsertQuery query, Object... params) throws SQLException {
-        try (PreparedStatement statement = connection.prepareStatement(query.getSql(), PreparedStatement.RETURN_GENERATED_KEYS)) {
+        PreparedStatement statement = prepareWithGeneratedKeys(query);
+        try {
             for (int i = 0; i < params.length; i++) {
                 statement.setObject(i + 1, params[i]);
             }
-            statement.executeUpdate();
-            try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+            try (ResultSet generatedKeys = executeForGeneratedKeys(query, statement)) {
                 if (generatedKeys.next()) {
                     return generatedKeys.getLong(1); // Возвращаем сгенерированный ID
                 } else {
                     throw new SQLException("Creating entity failed, no ID obtained.");
                 }
             }
+        } finally {
+            statementCache.release(statement);
+        }
+    }
+
+    @Override
+    public int[] executeBatch(InsertQuery query, List<Object[]> batchParams) throws SQLException {
+        PreparedStatement statement = statementCache.prepare(query.getSql());
+        try {
+            addBatch(statement, batchParams);
+            return statement.executeBatch();
+        } finally {
+            statementCache.release(statement);
+        }
+    }
+
+    @Override
+    public List<Long> executeBatchWithResultReturn(InsertQuery query, List<Object[]> batchParams) throws SQLException {
+        PreparedStatement statement = statementCache.prepare(query.getSql(), PreparedStatement.RETURN_GENERATED_KEYS);
+        try {
+            addBatch(statement, batchParams);
+            statement.executeBatch();
+            List<Long> generatedIds = new ArrayList<>(batchParams.size());
+            try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                while (generatedKeys.next()) {
+                    generatedIds.add(generatedKeys.getLong(1));
+                }
+            }
+            if (generatedIds.size() != batchParams.size()) {
+                throw new SQLException("Creating entities failed, expected " + batchParams.size()
+                        + " generated IDs but obtained " + generatedIds.size());
+            }
+            return generatedIds;
+        } finally {
+            statementCache.release(statement);
+        }
+    }
+
+    /**
+     * Executes a multi-row {@code INSERT ... VALUES (...), (...)} and returns the generated ids of its
+     * {@code rowCount} rows in order.
+     */
+    public List<Long> executeMultiRowWithResultReturn(InsertQuery query, int rowCount, Object... params) throws SQLException {
+        PreparedStatement statement = prepareWithGeneratedKeys(query);
+        try {
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+            List<Long> generatedIds = new ArrayList<>(rowCount);
+            try (ResultSet generatedKeys = executeForGeneratedKeys(query, statement)) {
+                while (generatedKeys.next()) {
+                    generatedIds.add(generatedKeys.getLong(1));
+                }
+            }
+            if (generatedIds.size() != rowCount) {
+                throw new SQLException("Creating entities failed, expected " + rowCount
+                        + " generated IDs but obtained " + generatedIds.size());
+            }
+            return generatedIds;
+        } finally {
+            statementCache.release(statement);
+        }
+    }
+
+    private PreparedStatement prepareWithGeneratedKeys(InsertQuery query) throws SQLException {
+        return query.isReturning()
+                ? statementCache.prepare(query.getSql())
+                : statementCache.prepare(query.getSql(), PreparedStatement.RETURN_GENERATED_KEYS);
+    }
+
+    private ResultSet executeForGeneratedKeys(InsertQuery query, PreparedStatement statement) throws SQLException {
+        if (query.isReturning()) {
+            return statement.executeQuery();
+        }
+        statement.executeUpdate();
+        return statement.getGeneratedKeys();
+    }
+
+    private void addBatch(PreparedStatement statement, List<Object[]> batchParams) throws SQLException {
+        for (Object[] params : batchParams) {
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+            statement.addBatch();
         }
     }
 
@@ -0,0 +1,60 @@
+package com.aiivar.sjorm.query.executor.select;
+
+import com.aiivar.sjorm.exceptions.OrmException;
+import com.aiivar.sjorm.mapping.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Maps rows one at a time as the stream is consumed; owns the statement and closes it with the result set.
+ */
+class ResultSetSpliterator<R> extends Spliterators.AbstractSpliterator<R> implements AutoCloseable {
+
+    private final Statement statement;
+    private final ResultSet resultSet;
+    private final RowMapper<R> rowMapper;
+    private boolean closed;
+
+    ResultSetSpliterator(Statement statement, ResultSet resultSet, RowMapper<R> rowMapper) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        this.statement = statement;
+        this.resultSet = resultSet;
+        this.rowMapper = rowMapper;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super R> action) {
+        if (closed) {
+            return false;
+        }
+        try {
+            if (!resultSet.next()) {
+                close();
+                return false;
+            }
+            action.accept(rowMapper.mapRow(resultSet));
+            return true;
+        } catch (SQLException e) {
+            close();
+            throw new OrmException("Failed to read next row", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (statement; resultSet) {
+            // try-with-resources закрывает сначала ResultSet, затем выражение
+        } catch (SQLException e) {
+            throw new OrmException("Failed to close result set", e);
+        }
+    }
+}
@@ -1,30 +1,36 @@
 package com.aiivar.sjorm.query.executor.select;
 
+import com.aiivar.sjorm.mapping.RowMapper;
 import com.aiivar.sjorm.query.executor.QueryExecutor;
+import com.aiivar.sjorm.query.executor.StatementCache;
+import com.aiivar.sjorm.query.nativesql.ParameterBinder;
+import com.aiivar.sjorm.query.nativesql.QueryHints;
 import com.aiivar.sjorm.query.select.SelectQuery;
 
-import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class SelectQueryExecutor implements QueryExecutor<SelectQuery> {
-    private final Connection connection;
+    private final StatementCache statementCache;
 
-    public SelectQueryExecutor(Connection connection) {
-        this.connection = connection;
+    public SelectQueryExecutor(StatementCache statementCache) {
+        this.statementCache = statementCache;
     }
 
     @Override
-    public void execute(SelectQuery query, Object... params) throws SQLException {
+    public int execute(SelectQuery query, Object... params) throws SQLException {
         throw new UnsupportedOperationException("SelectQueryExecutor does not support execute without result return");
     }
 
     @Override
     public List<Object[]> executeWithResultReturn(SelectQuery query, Object... params) throws SQLException {
-        try (PreparedStatement statement = connection.prepareStatement(query.getSql())) {
+        PreparedStatement statement = statementCache.prepare(query.getSql());
+        try {
             for (int i = 0; i < params.length; i++) {
                 statement.setObject(i + 1, params[i]);
             }
@@ -43,9 +49,96 @@ public class SelectQueryExecutor implements QueryExecutor<SelectQuery> {
 
                 return results;
             }
+        } finally {
+            statementCache.release(statement);
         }
     }
 
+    public <R> List<R> executeWithRowMapper(SelectQuery query, RowMapper<R> rowMapper, Object... params) throws SQLException {
+        PreparedStatement statement = statementCache.prepare(query.getSql());
+        try {
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                List<R> results = new ArrayList<>();
+                RowMapper<R> boundMapper = rowMapper.forResultSet(resultSet.getMetaData());
+                while (resultSet.next()) {
+                    results.add(boundMapper.mapRow(resultSet));
+                }
+                return results;
+            }
+        } finally {
+            statementCache.release(statement);
+        }
+    }
+
+    /**
+     * Executes a query whose parameters are bound by {@code binders}, one per placeholder, with the statement
+     * settings of {@code hints}.
+     */
+    public <R> List<R> executeWithRowMapper(SelectQuery query, RowMapper<R> rowMapper, ParameterBinder[] binders,
+                                            Object[] params, QueryHints hints) throws SQLException {
+        PreparedStatement statement = statementCache.prepare(query.getSql());
+        try {
+            hints.apply(statement);
+            for (int i = 0; i < params.length; i++) {
+                binders[i].bind(statement, i + 1, params[i]);
+            }
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                List<R> results = new ArrayList<>();
+                RowMapper<R> boundMapper = rowMapper.forResultSet(resultSet.getMetaData());
+                while (resultSet.next()) {
+                    results.add(boundMapper.mapRow(resultSet));
+                }
+                return results;
+            }
+        } finally {
+            if (!statement.isClosed()) {
+                hints.reset(statement);
+            }
+            statementCache.release(statement);
+        }
+    }
+
+    /**
+     * Executes the query on a dedicated, uncached statement and maps rows lazily while the stream is consumed.
+     * The statement and result set stay open until the stream is exhausted or closed, so callers should use
+     * try-with-resources.
+     */
+    public <R> Stream<R> stream(SelectQuery query, RowMapper<R> rowMapper, int fetchSize, Object... params)
+            throws SQLException {
+        PreparedStatement statement = statementCache.getConnection()
+                .prepareStatement(query.getSql(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        try {
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+            ResultSet resultSet = statement.executeQuery();
+            RowMapper<R> boundMapper = rowMapper.forResultSet(resultSet.getMetaData());
+
+            ResultSetSpliterator<R> spliterator = new ResultSetSpliterator<>(statement, resultSet, boundMapper);
+            return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+        } catch (SQLException e) {
+            // Закрытие выражения закрывает и его ResultSet
+            statement.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public int[] executeBatch(SelectQuery query, List<Object[]> batchParams) {
+        throw new UnsupportedOperationException("SelectQueryExecutor does not support executeBatch");
+    }
+
+    @Override
+    public Object executeBatchWithResultReturn(SelectQuery query, List<Object[]> batchParams) {
+        throw new UnsupportedOperationException("SelectQueryExecutor does not support executeBatchWithResultReturn");
+    }
+
     @Override
     public Class<SelectQuery> getSupportedQuery() {
         return SelectQuery.class;
@@ -1,26 +1,30 @@
 package com.aiivar.sjorm.query.executor.update;
 
 import com.aiivar.sjorm.query.executor.QueryExecutor;
+import com.aiivar.sjorm.query.executor.StatementCache;
 import com.aiivar.sjorm.query.update.UpdateQuery;
 
-import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.List;
 
 public class UpdateQueryExecutor implements QueryExecutor<UpdateQuery> {
-    private final Connection connection;
+    private final StatementCache statementCache;
 
-    public UpdateQueryExecutor(Connection connection) {
-        this.connection = connection;
+    public UpdateQueryExecutor(StatementCache statementCache) {
+        this.statementCache = statementCache;
     }
 
     @Override
-    public void execute(UpdateQuery query, Object... params) throws SQLException {
-        try (PreparedStatement statement = connection.prepareStatement(query.getSql())) {
+    public int execute(UpdateQuery query, Object... params) throws SQLException {
+        PreparedStatement statement = statementCache.prepare(query.getSql());
+        try {
             for (int i = 0; i < params.length; i++) {
                 statement.setObject(i + 1, params[i]);
             }
-            statement.executeUpdate();
+            return statement.executeUpdate();
+        } finally {
+            statementCache.release(statement);
         }
     }
 
@@ -29,6 +33,27 @@ public class UpdateQueryExecutor implements QueryExecutor<UpdateQuery> {
         throw new UnsupportedOperationException("UpdateQueryExecutor does not support executeWithResultReturn");
     }
 
+    @Override
+    public int[] executeBatch(UpdateQuery query, List<Object[]> batchParams) throws SQLException {
+        PreparedStatement statement = statementCache.prepare(query.getSql());
+        try {
+            for (Object[] params : batchParams) {
+                for (int i = 0; i < params.length; i++) {
+                    statement.setObject(i + 1, params[i]);
+                }
+                statement.addBatch();
+            }
+            return statement.executeBatch();
+        } finally {
+            statementCache.release(statement);
+        }
+    }
+
+    @Override
+    public Object executeBatchWithResultReturn(UpdateQuery query, List<Object[]> batchParams) {
+        throw new UnsupportedOperationException("UpdateQueryExecutor does not support executeBatchWithResultReturn");
+    }
+
     @Override
     public Class<UpdateQuery> getSupportedQuery() {
         return UpdateQuery.class;
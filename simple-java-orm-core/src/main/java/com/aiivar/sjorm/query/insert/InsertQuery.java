@@ -4,4 +4,8 @@ import com.aiivar.sjorm.query.Query;
 
 public interface InsertQuery extends Query {
 
+    /**
+     * Whether the statement ends with {@code RETURNING} and generated ids are read from its result set.
+     */
+    boolean isReturning();
 }
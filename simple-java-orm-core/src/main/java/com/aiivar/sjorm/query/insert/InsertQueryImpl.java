@@ -4,7 +4,19 @@ import com.aiivar.sjorm.query.AbstractQuery;
 
 public class InsertQueryImpl extends AbstractQuery implements InsertQuery {
 
+    private final boolean returning;
+
     public InsertQueryImpl(String sql) {
+        this(sql, false);
+    }
+
+    public InsertQueryImpl(String sql, boolean returning) {
         super(sql);
+        this.returning = returning;
+    }
+
+    @Override
+    public boolean isReturning() {
+        return returning;
     }
 }
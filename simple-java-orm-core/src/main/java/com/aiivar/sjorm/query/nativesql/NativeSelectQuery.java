@@ -0,0 +1,97 @@
+package com.aiivar.sjorm.query.nativesql;
+
+import com.aiivar.sjorm.exceptions.OrmException;
+import com.aiivar.sjorm.query.AbstractQuery;
+import com.aiivar.sjorm.query.select.SelectQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A hand-written select with named parameters ({@code :name}) rewritten to JDBC placeholders. A name may occur
+ * several times; {@link #getParameterIndex(int)} maps each placeholder back to its name in
+ * {@link #getParameterNames()}. Colons inside string literals, quoted identifiers, comments and PostgreSQL
+ * {@code ::} casts are left untouched.
+ */
+public class NativeSelectQuery extends AbstractQuery implements SelectQuery {
+
+    private final String originalSql;
+    private final List<String> parameterNames;
+    private final int[] parameterIndexes;
+
+    private NativeSelectQuery(String originalSql, String sql, List<String> parameterNames, int[] parameterIndexes) {
+        super(sql);
+        this.originalSql = originalSql;
+        this.parameterNames = List.copyOf(parameterNames);
+        this.parameterIndexes = parameterIndexes;
+    }
+
+    public static NativeSelectQuery parse(String sql) {
+        StringBuilder jdbcSql = new StringBuilder(sql.length());
+        List<String> names = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            int end = i + 1;
+            if (c == '\'' || c == '"' || c == '`') {
+                end = sql.indexOf(c, i + 1);
+                if (end < 0) {
+                    throw new OrmException("Unterminated quote in native query: " + sql);
+                }
+                end++;
+            } else if (c == '-' && sql.startsWith("--", i)) {
+                end = sql.indexOf('\n', i);
+                end = end < 0 ? length : end;
+            } else if (c == '/' && sql.startsWith("/*", i)) {
+                end = sql.indexOf("*/", i);
+                if (end < 0) {
+                    throw new OrmException("Unterminated comment in native query: " + sql);
+                }
+                end += 2;
+            } else if (c == ':' && i + 1 < length && sql.charAt(i + 1) == ':') {
+                end = i + 2;
+            } else if (c == ':' && i + 1 < length && Character.isJavaIdentifierStart(sql.charAt(i + 1))) {
+                end = i + 2;
+                while (end < length && Character.isJavaIdentifierPart(sql.charAt(end))) {
+                    end++;
+                }
+                String name = sql.substring(i + 1, end);
+                int index = names.indexOf(name);
+                if (index < 0) {
+                    index = names.size();
+                    names.add(name);
+                }
+                indexes.add(index);
+                jdbcSql.append('?');
+                i = end;
+                continue;
+            }
+            // Удвоенная кавычка внутри литерала разбирается как два соседних литерала
+            jdbcSql.append(sql, i, end);
+            i = end;
+        }
+        return new NativeSelectQuery(sql, jdbcSql.toString(), names,
+                indexes.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    public String getOriginalSql() {
+        return originalSql;
+    }
+
+    public List<String> getParameterNames() {
+        return parameterNames;
+    }
+
+    public int getPlaceholderCount() {
+        return parameterIndexes.length;
+    }
+
+    /**
+     * Returns the position in {@link #getParameterNames()} of the name bound to the zero-based {@code placeholder}.
+     */
+    public int getParameterIndex(int placeholder) {
+        return parameterIndexes[placeholder];
+    }
+}
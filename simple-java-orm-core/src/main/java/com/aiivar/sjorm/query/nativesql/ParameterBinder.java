@@ -0,0 +1,81 @@
+package com.aiivar.sjorm.query.nativesql;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+
+/**
+ * Binds one parameter with the setter matching its Java type, so the driver does not have to inspect the value as
+ * it does for {@code setObject(int, Object)}. Nulls are bound with {@code setNull} and the SQL type of the binder.
+ */
+@FunctionalInterface
+public interface ParameterBinder {
+
+    ParameterBinder OBJECT = (statement, index, value) -> {
+        if (value == null) {
+            statement.setNull(index, Types.NULL);
+        } else {
+            statement.setObject(index, value);
+        }
+    };
+
+    void bind(PreparedStatement statement, int index, Object value) throws SQLException;
+
+    /**
+     * Returns the binder for values of {@code type}, falling back to {@link #OBJECT} for types without a dedicated
+     * setter.
+     */
+    static ParameterBinder forType(Class<?> type) {
+        if (type == String.class) {
+            return typed(Types.VARCHAR, (statement, index, value) -> statement.setString(index, (String) value));
+        } else if (type == Integer.class || type == int.class) {
+            return typed(Types.INTEGER, (statement, index, value) -> statement.setInt(index, (Integer) value));
+        } else if (type == Long.class || type == long.class) {
+            return typed(Types.BIGINT, (statement, index, value) -> statement.setLong(index, (Long) value));
+        } else if (type == Boolean.class || type == boolean.class) {
+            return typed(Types.BOOLEAN, (statement, index, value) -> statement.setBoolean(index, (Boolean) value));
+        } else if (type == Short.class || type == short.class) {
+            return typed(Types.SMALLINT, (statement, index, value) -> statement.setShort(index, (Short) value));
+        } else if (type == Double.class || type == double.class) {
+            return typed(Types.DOUBLE, (statement, index, value) -> statement.setDouble(index, (Double) value));
+        } else if (type == Float.class || type == float.class) {
+            return typed(Types.REAL, (statement, index, value) -> statement.setFloat(index, (Float) value));
+        } else if (type == BigDecimal.class) {
+            return typed(Types.NUMERIC, (statement, index, value) -> statement.setBigDecimal(index, (BigDecimal) value));
+        } else if (type == byte[].class) {
+            return typed(Types.VARBINARY, (statement, index, value) -> statement.setBytes(index, (byte[]) value));
+        } else if (type == Instant.class) {
+            return typed(Types.TIMESTAMP,
+                    (statement, index, value) -> statement.setTimestamp(index, Timestamp.from((Instant) value)));
+        } else if (type == LocalDate.class) {
+            return typed(Types.DATE, (statement, index, value) -> statement.setObject(index, value, Types.DATE));
+        } else if (type == LocalTime.class) {
+            return typed(Types.TIME, (statement, index, value) -> statement.setObject(index, value, Types.TIME));
+        } else if (type == LocalDateTime.class) {
+            return typed(Types.TIMESTAMP, (statement, index, value) -> statement.setObject(index, value, Types.TIMESTAMP));
+        } else if (type == OffsetDateTime.class) {
+            return typed(Types.TIMESTAMP_WITH_TIMEZONE,
+                    (statement, index, value) -> statement.setObject(index, value, Types.TIMESTAMP_WITH_TIMEZONE));
+        } else if (type.isEnum()) {
+            return typed(Types.VARCHAR, (statement, index, value) -> statement.setString(index, ((Enum<?>) value).name()));
+        }
+        return OBJECT;
+    }
+
+    private static ParameterBinder typed(int sqlType, ParameterBinder setter) {
+        return (statement, index, value) -> {
+            if (value == null) {
+                statement.setNull(index, sqlType);
+            } else {
+                setter.bind(statement, index, value);
+            }
+        };
+    }
+}
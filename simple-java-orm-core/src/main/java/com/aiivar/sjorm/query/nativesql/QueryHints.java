@@ -0,0 +1,39 @@
+package com.aiivar.sjorm.query.nativesql;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Per-execution statement settings; zero keeps the driver default. Statements come from the session's statement
+ * cache, so hints are applied before the query runs and reset before the statement is released.
+ *
+ * @param fetchSize      rows fetched per round trip
+ * @param maxRows        limit on returned rows
+ * @param timeoutSeconds query timeout
+ */
+public record QueryHints(int fetchSize, int maxRows, int timeoutSeconds) {
+
+    public void apply(PreparedStatement statement) throws SQLException {
+        if (fetchSize != 0) {
+            statement.setFetchSize(fetchSize);
+        }
+        if (maxRows != 0) {
+            statement.setMaxRows(maxRows);
+        }
+        if (timeoutSeconds != 0) {
+            statement.setQueryTimeout(timeoutSeconds);
+        }
+    }
+
+    public void reset(PreparedStatement statement) throws SQLException {
+        if (fetchSize != 0) {
+            statement.setFetchSize(0);
+        }
+        if (maxRows != 0) {
+            statement.setMaxRows(0);
+        }
+        if (timeoutSeconds != 0) {
+            statement.setQueryTimeout(0);
+        }
+    }
+}
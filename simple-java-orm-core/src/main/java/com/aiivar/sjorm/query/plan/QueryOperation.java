@@ -0,0 +1,12 @@
+package com.aiivar.sjorm.query.plan;
+
+public enum QueryOperation {
+    INSERT,
+    SELECT,
+    SELECT_ALL,
+    UPDATE,
+    DELETE,
+    CREATE_TABLE,
+    UPSERT,
+    SELECT_IN
+}
@@ -0,0 +1,179 @@
+package com.aiivar.sjorm.query.plan;
+
+import com.aiivar.sjorm.query.Query;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class QueryPlanCache {
+
+    private static final int OPERATION_COUNT = QueryOperation.values().length;
+    private static final int DEFAULT_NATIVE_PLAN_CACHE_SIZE = 256;
+
+    private final Map<Class<?>, AtomicReferenceArray<Query>> plans = new ConcurrentHashMap<>();
+    private final Map<ColumnSetKey, Query> columnSetPlans = new ConcurrentHashMap<>();
+    private final Map<RowCountKey, Query> rowCountPlans = new ConcurrentHashMap<>();
+    private final Map<String, Query> nativePlans;
+    private final ReentrantLock nativePlansLock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public QueryPlanCache() {
+        this(DEFAULT_NATIVE_PLAN_CACHE_SIZE);
+    }
+
+    /**
+     * @param nativePlanCacheSize maximum number of native query plans kept; entity plans are bounded by the mapped
+     *                            classes and are not counted
+     */
+    public QueryPlanCache(int nativePlanCacheSize) {
+        this.nativePlans = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Query> eldest) {
+                return size() > nativePlanCacheSize;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    public <Q extends Query> Q get(Class<?> entityClass, QueryOperation operation, Supplier<Q> queryFactory) {
+        AtomicReferenceArray<Query> entityPlans = plans.get(entityClass);
+        if (entityPlans == null) {
+            entityPlans = plans.computeIfAbsent(entityClass, key -> new AtomicReferenceArray<>(OPERATION_COUNT));
+        }
+
+        Query query = entityPlans.get(operation.ordinal());
+        if (query != null) {
+            hits.increment();
+            return (Q) query;
+        }
+
+        misses.increment();
+        Q builtQuery = queryFactory.get();
+        if (entityPlans.compareAndSet(operation.ordinal(), null, builtQuery)) {
+            return builtQuery;
+        }
+        return (Q) entityPlans.get(operation.ordinal());
+    }
+
+    /**
+     * Returns the plan variant of {@code operation} that touches only {@code columns}, e.g. a partial update.
+     * Variants are keyed by the column set, which is copied, so callers may reuse the {@link BitSet}.
+     */
+    @SuppressWarnings("unchecked")
+    public <Q extends Query> Q get(Class<?> entityClass, QueryOperation operation, BitSet columns,
+                                   Supplier<Q> queryFactory) {
+        ColumnSetKey key = new ColumnSetKey(entityClass, operation, columns);
+        Query query = columnSetPlans.get(key);
+        if (query != null) {
+            hits.increment();
+            return (Q) query;
+        }
+
+        misses.increment();
+        return (Q) columnSetPlans.computeIfAbsent(
+                new ColumnSetKey(entityClass, operation, (BitSet) columns.clone()), k -> queryFactory.get());
+    }
+
+    /**
+     * Returns the plan variant of {@code operation} that binds {@code rowCount} rows or keys in one statement, e.g. a
+     * multi-row insert or a padded {@code IN} query.
+     */
+    @SuppressWarnings("unchecked")
+    public <Q extends Query> Q get(Class<?> entityClass, QueryOperation operation, int rowCount,
+                                   Supplier<Q> queryFactory) {
+        RowCountKey key = new RowCountKey(entityClass, operation, rowCount);
+        Query query = rowCountPlans.get(key);
+        if (query != null) {
+            hits.increment();
+            return (Q) query;
+        }
+
+        misses.increment();
+        return (Q) rowCountPlans.computeIfAbsent(key, k -> queryFactory.get());
+    }
+
+    /**
+     * Returns the plan of a hand-written statement, keyed by its SQL text, so named parameters are parsed once per
+     * distinct statement. Unlike entity plans these come from arbitrary caller SQL, so only the most recently used
+     * ones are kept.
+     */
+    @SuppressWarnings("unchecked")
+    public <Q extends Query> Q get(String sql, Function<String, Q> queryFactory) {
+        nativePlansLock.lock();
+        try {
+            Query query = nativePlans.get(sql);
+            if (query != null) {
+                hits.increment();
+                return (Q) query;
+            }
+        } finally {
+            nativePlansLock.unlock();
+        }
+
+        misses.increment();
+        // Разбор выполняется вне блокировки; при гонке остаётся последний разобранный план
+        Q builtQuery = queryFactory.apply(sql);
+        nativePlansLock.lock();
+        try {
+            nativePlans.put(sql, builtQuery);
+        } finally {
+            nativePlansLock.unlock();
+        }
+        return builtQuery;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        int size = 0;
+        for (AtomicReferenceArray<Query> entityPlans : plans.values()) {
+            for (int i = 0; i < OPERATION_COUNT; i++) {
+                if (entityPlans.get(i) != null) {
+                    size++;
+                }
+            }
+        }
+        return size + columnSetPlans.size() + rowCountPlans.size() + nativePlanCount();
+    }
+
+    public void clear() {
+        plans.clear();
+        columnSetPlans.clear();
+        rowCountPlans.clear();
+        nativePlansLock.lock();
+        try {
+            nativePlans.clear();
+        } finally {
+            nativePlansLock.unlock();
+        }
+    }
+
+    private int nativePlanCount() {
+        nativePlansLock.lock();
+        try {
+            return nativePlans.size();
+        } finally {
+            nativePlansLock.unlock();
+        }
+    }
+
+    private record ColumnSetKey(Class<?> entityClass, QueryOperation operation, BitSet columns) {
+    }
+
+    private record RowCountKey(Class<?> entityClass, QueryOperation operation, int rowCount) {
+    }
+}
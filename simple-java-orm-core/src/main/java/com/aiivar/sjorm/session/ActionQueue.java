@@ -0,0 +1,91 @@
+package com.aiivar.sjorm.session;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class ActionQueue {
+
+    enum ActionType {
+        INSERT,
+        UPDATE,
+        DELETE
+    }
+
+    private final List<Action> actions = new ArrayList<>();
+    private final Map<Object, Action> actionsByEntity = new IdentityHashMap<>();
+
+    void addInsert(Object entity) {
+        Action pending = actionsByEntity.get(entity);
+        if (pending != null && pending.type == ActionType.DELETE) {
+            // Строка ещё не удалена: повторное сохранение отменяет удаление и записывает текущее состояние
+            pending.type = ActionType.UPDATE;
+            return;
+        }
+        Action action = new Action(entity, ActionType.INSERT);
+        actions.add(action);
+        actionsByEntity.put(entity, action);
+    }
+
+    void addUpdate(Object entity) {
+        if (actionsByEntity.containsKey(entity)) {
+            // Отложенная вставка или обновление и так запишут текущее состояние сущности
+            return;
+        }
+        Action action = new Action(entity, ActionType.UPDATE);
+        actions.add(action);
+        actionsByEntity.put(entity, action);
+    }
+
+    void addDelete(Object entity) {
+        Action pending = actionsByEntity.get(entity);
+        if (pending != null && pending.type == ActionType.INSERT) {
+            pending.type = null;
+            actionsByEntity.remove(entity);
+            return;
+        }
+        if (pending != null) {
+            pending.type = ActionType.DELETE;
+            return;
+        }
+        Action action = new Action(entity, ActionType.DELETE);
+        actions.add(action);
+        actionsByEntity.put(entity, action);
+    }
+
+    boolean isEmpty() {
+        return actionsByEntity.isEmpty();
+    }
+
+    int size() {
+        return actionsByEntity.size();
+    }
+
+    Map<Class<?>, List<Object>> getEntities(ActionType type) {
+        Map<Class<?>, List<Object>> entitiesByClass = new LinkedHashMap<>();
+        for (Action action : actions) {
+            if (action.type == type) {
+                entitiesByClass.computeIfAbsent(action.entity.getClass(), key -> new ArrayList<>()).add(action.entity);
+            }
+        }
+        return entitiesByClass;
+    }
+
+    void clear() {
+        actions.clear();
+        actionsByEntity.clear();
+    }
+
+    private static final class Action {
+
+        private final Object entity;
+        private ActionType type;
+
+        private Action(Object entity, ActionType type) {
+            this.entity = entity;
+            this.type = type;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.aiivar.sjorm.session;
+
+import com.aiivar.sjorm.exceptions.OrmException;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs session operations on an executor and returns their results as {@link CompletableFuture}s. Every operation
+ * opens its own {@link Session} from the factory, so independent calls proceed in parallel, each on its own pooled
+ * connection, and nothing is shared between them.
+ */
+public class AsyncSession {
+
+    private final SessionFactory sessionFactory;
+    private final Executor executor;
+
+    AsyncSession(SessionFactory sessionFactory, Executor executor) {
+        this.sessionFactory = sessionFactory;
+        this.executor = executor;
+    }
+
+    public <T> CompletableFuture<T> saveAsync(T entity) {
+        return run(session -> {
+            session.save(entity);
+            return entity;
+        });
+    }
+
+    /**
+     * Loads the entity in a session that is closed before the future completes, so its {@code @OneToMany} fields are
+     * left unset instead of holding lists that could no longer be loaded.
+     */
+    public <T> CompletableFuture<T> findAsync(Class<T> entityClass, Object primaryKey) {
+        return run(session -> {
+            T entity = session.find(entityClass, primaryKey);
+            if (entity != null) {
+                session.detach(List.of(entity));
+            }
+            return entity;
+        });
+    }
+
+    public <T> CompletableFuture<Void> updateAsync(T entity) {
+        return runVoid(session -> session.update(entity));
+    }
+
+    public <T> CompletableFuture<Void> deleteAsync(T entity) {
+        return runVoid(session -> session.delete(entity));
+    }
+
+    /**
+     * Runs {@code work} against a fresh session that is closed once the work completes. Lazy collections of entities
+     * returned by {@code work} are bound to that session; initialize them inside {@code work}.
+     */
+    public <R> CompletableFuture<R> run(Function<Session, R> work) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (Session session = sessionFactory.openSession()) {
+                return work.apply(session);
+            } catch (SQLException e) {
+                throw new OrmException("Failed to run asynchronous session operation", e);
+            }
+        }, executor);
+    }
+
+    private CompletableFuture<Void> runVoid(Consumer<Session> work) {
+        return run(session -> {
+            work.accept(session);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,97 @@
+package com.aiivar.sjorm.session;
+
+import com.aiivar.sjorm.exceptions.OrmException;
+import com.aiivar.sjorm.query.nativesql.NativeSelectQuery;
+import com.aiivar.sjorm.query.nativesql.ParameterBinder;
+import com.aiivar.sjorm.query.nativesql.QueryHints;
+
+import java.util.List;
+
+/**
+ * A hand-written select created by {@link Session#createNativeQuery(String, Class)}. Parameters are bound by name
+ * with the {@link ParameterBinder} of the value's type, or of an explicit type for nulls. Entity results are mapped
+ * by column label and managed by the session; other result types are read from the first column.
+ */
+public class NativeQuery<T> {
+
+    private final Session session;
+    private final NativeSelectQuery query;
+    private final Class<T> resultType;
+    private final Object[] values;
+    private final ParameterBinder[] binders;
+    private int fetchSize;
+    private int maxRows;
+    private int timeoutSeconds;
+
+    NativeQuery(Session session, NativeSelectQuery query, Class<T> resultType) {
+        this.session = session;
+        this.query = query;
+        this.resultType = resultType;
+        this.values = new Object[query.getParameterNames().size()];
+        this.binders = new ParameterBinder[values.length];
+    }
+
+    public NativeQuery<T> setParameter(String name, Object value) {
+        return setParameter(name, value, value != null ? value.getClass() : Object.class);
+    }
+
+    /**
+     * Binds {@code value} with the setter for {@code type}, which also selects the SQL type of a {@code null}.
+     */
+    public NativeQuery<T> setParameter(String name, Object value, Class<?> type) {
+        int index = query.getParameterNames().indexOf(name);
+        if (index < 0) {
+            throw new OrmException("Unknown parameter :" + name + " in native query: " + query.getOriginalSql());
+        }
+        values[index] = value;
+        binders[index] = ParameterBinder.forType(type);
+        return this;
+    }
+
+    public NativeQuery<T> setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+        return this;
+    }
+
+    public NativeQuery<T> setMaxRows(int maxRows) {
+        this.maxRows = maxRows;
+        return this;
+    }
+
+    public NativeQuery<T> setTimeout(int timeoutSeconds) {
+        this.timeoutSeconds = timeoutSeconds;
+        return this;
+    }
+
+    public List<T> getResultList() {
+        return execute(maxRows);
+    }
+
+    /**
+     * Returns the only result, or {@code null} when there is none. At most two rows are fetched.
+     */
+    public T getSingleResult() {
+        List<T> result = execute(maxRows == 0 ? 2 : Math.min(maxRows, 2));
+        if (result.size() > 1) {
+            throw new OrmException("Native query returned more than one row: " + query.getOriginalSql());
+        }
+        return result.isEmpty() ? null : result.getFirst();
+    }
+
+    private List<T> execute(int maxRows) {
+        int placeholderCount = query.getPlaceholderCount();
+        Object[] params = new Object[placeholderCount];
+        ParameterBinder[] placeholderBinders = new ParameterBinder[placeholderCount];
+        for (int i = 0; i < placeholderCount; i++) {
+            int index = query.getParameterIndex(i);
+            if (binders[index] == null) {
+                throw new OrmException("Parameter :" + query.getParameterNames().get(index)
+                        + " is not bound in native query: " + query.getOriginalSql());
+            }
+            params[i] = values[index];
+            placeholderBinders[i] = binders[index];
+        }
+        return session.list(query, resultType, placeholderBinders, params,
+                new QueryHints(fetchSize, maxRows, timeoutSeconds));
+    }
+}
@@ -0,0 +1,89 @@
+package com.aiivar.sjorm.session;
+
+import com.aiivar.sjorm.metadata.EntityMetadata;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Identity map of the entities managed by a session. Alongside each instance it keeps a snapshot of the column
+ * values last synchronized with the database, used by {@code Session.update} to find dirty columns.
+ */
+class PersistenceContext {
+
+    private final Map<EntityKey, ManagedEntity> entities = new HashMap<>();
+
+    Object get(EntityMetadata metadata, Object id) {
+        if (id == null) {
+            return null;
+        }
+        ManagedEntity managedEntity = entities.get(EntityKey.of(metadata, id));
+        return managedEntity != null ? managedEntity.entity() : null;
+    }
+
+    void put(EntityMetadata metadata, Object entity) {
+        Object id = metadata.getIdColumn().getValue(entity);
+        if (id != null) {
+            entities.put(EntityKey.of(metadata, id), new ManagedEntity(entity, metadata.getState(entity)));
+        }
+    }
+
+    /**
+     * Returns the snapshot of {@code entity} if this exact instance is managed, otherwise {@code null}.
+     */
+    Object[] getSnapshot(EntityMetadata metadata, Object entity) {
+        Object id = metadata.getIdColumn().getValue(entity);
+        if (id == null) {
+            return null;
+        }
+        ManagedEntity managedEntity = entities.get(EntityKey.of(metadata, id));
+        return managedEntity != null && managedEntity.entity() == entity ? managedEntity.snapshot() : null;
+    }
+
+    void remove(EntityMetadata metadata, Object entity) {
+        Object id = metadata.getIdColumn().getValue(entity);
+        if (id != null) {
+            EntityKey key = EntityKey.of(metadata, id);
+            ManagedEntity managedEntity = entities.get(key);
+            if (managedEntity != null && managedEntity.entity() == entity) {
+                entities.remove(key);
+            }
+        }
+    }
+
+    boolean contains(EntityMetadata metadata, Object entity) {
+        Object id = metadata.getIdColumn().getValue(entity);
+        return id != null && get(metadata, id) == entity;
+    }
+
+    int size() {
+        return entities.size();
+    }
+
+    void clear() {
+        entities.clear();
+    }
+
+    static Object normalizeId(EntityMetadata metadata, Object id) {
+        Class<?> idType = metadata.getIdColumn().getJavaType();
+        if (id instanceof Number number) {
+            if (idType == Long.class || idType == long.class) {
+                return number.longValue();
+            }
+            if (idType == Integer.class || idType == int.class) {
+                return number.intValue();
+            }
+        }
+        return id;
+    }
+
+    private record ManagedEntity(Object entity, Object[] snapshot) {
+    }
+
+    private record EntityKey(Class<?> entityClass, Object id) {
+
+        static EntityKey of(EntityMetadata metadata, Object id) {
+            return new EntityKey(metadata.getEntityClass(), normalizeId(metadata, id));
+        }
+    }
+}
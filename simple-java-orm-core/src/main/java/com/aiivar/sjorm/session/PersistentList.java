@@ -0,0 +1,79 @@
+package com.aiivar.sjorm.session;
+
+import com.aiivar.sjorm.metadata.CollectionMetadata;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * List assigned to {@code @OneToMany} fields of loaded entities. Its elements are loaded by the owning session on
+ * first access, together with the other uninitialized collections of the same field.
+ */
+class PersistentList<E> extends AbstractList<E> {
+
+    private final Session session;
+    private final CollectionMetadata collection;
+    private final Object owner;
+    private List<E> elements;
+
+    PersistentList(Session session, CollectionMetadata collection, Object owner) {
+        this.session = session;
+        this.collection = collection;
+        this.owner = owner;
+    }
+
+    CollectionMetadata getCollection() {
+        return collection;
+    }
+
+    Object getOwner() {
+        return owner;
+    }
+
+    boolean isInitialized() {
+        return elements != null;
+    }
+
+    void setElements(List<E> elements) {
+        this.elements = elements;
+    }
+
+    @Override
+    public E get(int index) {
+        return initialized().get(index);
+    }
+
+    @Override
+    public int size() {
+        return initialized().size();
+    }
+
+    @Override
+    public E set(int index, E element) {
+        return initialized().set(index, element);
+    }
+
+    @Override
+    public void add(int index, E element) {
+        initialized().add(index, element);
+        modCount++;
+    }
+
+    @Override
+    public E remove(int index) {
+        modCount++;
+        return initialized().remove(index);
+    }
+
+    @Override
+    public String toString() {
+        return isInitialized() ? elements.toString() : "[uninitialized " + collection.getName() + "]";
+    }
+
+    private List<E> initialized() {
+        if (elements == null) {
+            session.initializeCollection(this);
+        }
+        return elements;
+    }
+}
@@ -1,8 +1,23 @@
 package com.aiivar.sjorm.session;
 
-import com.aiivar.sjorm.annotations.Column;
-import com.aiivar.sjorm.annotations.Id;
+import com.aiivar.sjorm.annotations.Entity;
+import com.aiivar.sjorm.annotations.GenerationType;
+import com.aiivar.sjorm.cache.EntityCache;
+import com.aiivar.sjorm.cache.SecondLevelCache;
+import com.aiivar.sjorm.config.Configuration;
+import com.aiivar.sjorm.dialect.Dialect;
+import com.aiivar.sjorm.exceptions.OptimisticLockException;
 import com.aiivar.sjorm.exceptions.OrmException;
+import com.aiivar.sjorm.id.UuidV7;
+import com.aiivar.sjorm.mapping.EntityMapping;
+import com.aiivar.sjorm.mapping.ProjectionMapper;
+import com.aiivar.sjorm.mapping.RowMapper;
+import com.aiivar.sjorm.metadata.CollectionMetadata;
+import com.aiivar.sjorm.metadata.ColumnMetadata;
+import com.aiivar.sjorm.metadata.EntityMetadata;
+import com.aiivar.sjorm.metadata.EntityMetadataRegistry;
+import com.aiivar.sjorm.metrics.QueryEvent;
+import com.aiivar.sjorm.metrics.QueryListener;
 import com.aiivar.sjorm.query.Query;
 import com.aiivar.sjorm.query.builder.createtable.CreateTableQueryBuilder;
 import com.aiivar.sjorm.query.builder.createtable.SimpleCreateTableQueryBuilder;
@@ -15,75 +30,190 @@ import com.aiivar.sjorm.query.builder.select.SimpleSelectQueryBuilder;
 import com.aiivar.sjorm.query.builder.update.SimpleUpdateQueryBuilder;
 import com.aiivar.sjorm.query.builder.update.UpdateQueryBuilder;
 import com.aiivar.sjorm.query.createtable.CreateTableQuery;
+import com.aiivar.sjorm.query.criteria.Criteria;
 import com.aiivar.sjorm.query.createtable.CreateTableQueryImpl;
 import com.aiivar.sjorm.query.delete.DeleteQuery;
 import com.aiivar.sjorm.query.delete.DeleteQueryImpl;
 import com.aiivar.sjorm.query.executor.QueryExecutor;
+import com.aiivar.sjorm.query.executor.StatementCache;
 import com.aiivar.sjorm.query.executor.createtable.CreateTableQueryExecutor;
 import com.aiivar.sjorm.query.executor.delete.DeleteQueryExecutor;
 import com.aiivar.sjorm.query.executor.insert.InsertQueryExecutor;
 import com.aiivar.sjorm.query.executor.select.SelectQueryExecutor;
 import com.aiivar.sjorm.query.executor.update.UpdateQueryExecutor;
 import com.aiivar.sjorm.query.insert.InsertQuery;
+import com.aiivar.sjorm.query.nativesql.NativeSelectQuery;
+import com.aiivar.sjorm.query.nativesql.ParameterBinder;
+import com.aiivar.sjorm.query.nativesql.QueryHints;
+import com.aiivar.sjorm.query.plan.QueryOperation;
+import com.aiivar.sjorm.query.plan.QueryPlanCache;
 import com.aiivar.sjorm.query.insert.InsertQueryImpl;
 import com.aiivar.sjorm.query.select.SelectQuery;
 import com.aiivar.sjorm.query.select.SelectQueryImpl;
 import com.aiivar.sjorm.query.update.UpdateQuery;
 import com.aiivar.sjorm.query.update.UpdateQueryImpl;
 import com.aiivar.sjorm.transaction.Transaction;
+import com.aiivar.sjorm.transaction.TransactionListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
 
+/**
+ * A single-threaded unit of work bound to one connection. Sessions hold mutable state (the identity map, pending
+ * actions, cached statements) and must not be shared between threads; open one per task from the thread-safe
+ * {@link SessionFactory} instead.
+ */
 public class Session implements AutoCloseable {
 
     private static final Logger logger = LoggerFactory.getLogger(Session.class);
 
     private final Connection connection;
+    private final SessionFactory sessionFactory;
+    private final Configuration configuration;
+    private final Dialect dialect;
+    private final StatementCache statementCache;
+    private final EntityMetadataRegistry metadataRegistry;
+    private final QueryPlanCache queryPlanCache;
     private final Transaction transaction;
     private final Map<Class<? extends Query>, QueryExecutor<? extends Query>> executors;
+    private final ActionQueue actionQueue;
+    private final PersistenceContext persistenceContext;
+    private final SecondLevelCache secondLevelCache;
+    private final Map<Class<?>, Set<Object>> pendingCacheEvictions;
+    private final QueryListener queryListener;
+    private final Map<CollectionMetadata, Deque<PersistentList<?>>> pendingCollections;
+    private final Set<Stream<?>> openStreams;
+    private int referenceDepth;
+    private boolean writeBehind;
+    private boolean ownsSessionFactory;
+    private boolean closed;
 
+    /**
+     * Opens a session on {@code connection} with its own factory and the default configuration. Nothing is shared
+     * with other sessions, and the factory is closed together with the session.
+     */
     public Session(Connection connection) {
+        this(connection, new SessionFactory(new Configuration()));
+        this.ownsSessionFactory = true;
+    }
+
+    public Session(Connection connection, SessionFactory sessionFactory) {
         this.connection = connection;
+        this.sessionFactory = sessionFactory;
+        this.configuration = sessionFactory.getConfiguration();
+        this.dialect = sessionFactory.getDialect(connection);
+        this.statementCache = new StatementCache(connection, configuration.getStatementCacheSize());
+        this.metadataRegistry = sessionFactory.getMetadataRegistry();
+        this.queryPlanCache = sessionFactory.getQueryPlanCache();
         this.transaction = new Transaction(connection);
         this.executors = new HashMap<>();
+        this.actionQueue = new ActionQueue();
+        this.persistenceContext = new PersistenceContext();
+        this.secondLevelCache = sessionFactory.getSecondLevelCache();
+        this.pendingCacheEvictions = new HashMap<>();
+        this.queryListener = sessionFactory.getQueryListener();
+        this.pendingCollections = new HashMap<>();
+        this.openStreams = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.writeBehind = configuration.isWriteBehind();
         registerExecutors();
+        registerTransactionListener();
     }
 
     private void registerExecutors() {
-        executors.put(InsertQueryImpl.class, new InsertQueryExecutor(connection));
-        executors.put(SelectQueryImpl.class, new SelectQueryExecutor(connection));
-        executors.put(UpdateQueryImpl.class, new UpdateQueryExecutor(connection));
-        executors.put(DeleteQueryImpl.class, new DeleteQueryExecutor(connection));
+        executors.put(InsertQueryImpl.class, new InsertQueryExecutor(statementCache));
+        executors.put(SelectQueryImpl.class, new SelectQueryExecutor(statementCache));
+        executors.put(UpdateQueryImpl.class, new UpdateQueryExecutor(statementCache));
+        executors.put(DeleteQueryImpl.class, new DeleteQueryExecutor(statementCache));
         executors.put(CreateTableQueryImpl.class, new CreateTableQueryExecutor(connection));
     }
 
+    private void registerTransactionListener() {
+        transaction.addListener(new TransactionListener() {
+            @Override
+            public void beforeCommit() {
+                flush();
+            }
+
+            @Override
+            public void afterCommit() {
+                evictPendingFromCache();
+            }
+
+            @Override
+            public void afterRollback() {
+                actionQueue.clear();
+                // Снимки хранят откатанное состояние, поэтому все сущности становятся отсоединёнными
+                persistenceContext.clear();
+                pendingCollections.clear();
+                evictPendingFromCache();
+            }
+        });
+    }
+
+    public boolean isWriteBehind() {
+        return writeBehind;
+    }
+
+    public void setWriteBehind(boolean writeBehind) {
+        if (!writeBehind) {
+            flush();
+        }
+        this.writeBehind = writeBehind;
+    }
+
+    public StatementCache getStatementCache() {
+        return statementCache;
+    }
+
     public Transaction getTransaction() {
         return transaction;
     }
 
     public <T> void save(T entity) {
         logger.debug("Saving entity: {}", entity);
+        if (writeBehind) {
+            actionQueue.addInsert(entity);
+            return;
+        }
         try {
-            InsertQueryBuilder<T> queryBuilder = new SimpleInsertQueryBuilder<>();
-            InsertQuery query = (InsertQuery) queryBuilder.buildQuery(entity);
-            Map<String, Object> columnValues = getColumnValues(entity);
-            Long generatedId = executeInsertWithResultReturn(query, columnValues.values().toArray());
+            EntityMetadata metadata = metadataRegistry.getMetadata(entity.getClass());
+            initializeVersion(metadata, entity);
+            InsertQuery query = queryPlanCache.get(entity.getClass(), QueryOperation.INSERT,
+                    () -> buildInsertQuery(metadata, entity));
+            if (metadata.isIdAssignedBeforeInsert()) {
+                assignId(metadata, entity);
+                execute(entity.getClass(), query, getInsertValues(metadata, entity));
+            } else {
+                Long generatedId = executeInsertWithResultReturn(entity.getClass(), query, getInsertValues(metadata, entity));
 
-            // Получение сгенерированного ID и установка его в сущность
-            Field idField = getIdField(entity.getClass());
-            idField.setAccessible(true);
-            idField.set(entity, generatedId);
+                // Получение сгенерированного ID и установка его в сущность
+                metadata.getIdColumn().setValue(entity, generatedId);
+            }
+            persistenceContext.put(metadata, entity);
 
-            logger.debug("Entity saved successfully with ID {}: {}", generatedId, entity);
-        } catch (SQLException | IllegalAccessException e) {
+            logger.debug("Entity saved successfully with ID {}: {}", metadata.getIdColumn().getValue(entity), entity);
+        } catch (SQLException e) {
             logger.error("Failed to save entity", e);
             throw new OrmException("Failed to save entity", e);
         }
@@ -91,49 +221,247 @@ public class Session implements AutoCloseable {
 
     public <T> T find(Class<T> entityClass, Object primaryKey) {
         logger.debug("Finding entity of class {} with primary key {}", entityClass.getName(), primaryKey);
+        flush();
+        EntityMetadata metadata = metadataRegistry.getMetadata(entityClass);
+        Object managedEntity = persistenceContext.get(metadata, primaryKey);
+        if (managedEntity != null) {
+            logger.debug("Entity found in session: {}", managedEntity);
+            return entityClass.cast(managedEntity);
+        }
+
+        EntityCache cache = secondLevelCache.getCache(metadata);
+        Object cacheKey = PersistenceContext.normalizeId(metadata, primaryKey);
+        boolean cacheUsable = cache != null && !isPendingCacheEviction(metadata, cacheKey);
+        if (cacheUsable) {
+            Object[] state = cache.get(cacheKey);
+            if (state != null) {
+                T entity = assemble(metadata, entityClass, state);
+                logger.debug("Entity found in second-level cache: {}", entity);
+                persistenceContext.put(metadata, entity);
+                initializeAssociations(metadata, List.of(entity));
+                return entity;
+            }
+        }
+
+        try {
+            T entity = load(metadata, entityClass, primaryKey);
+            persistenceContext.put(metadata, entity);
+            initializeAssociations(metadata, List.of(entity));
+            if (cacheUsable) {
+                cache.put(cacheKey, metadata.getState(entity));
+            }
+            return entity;
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public <T> List<T> findAll(Class<T> entityClass) {
+        logger.debug("Finding all entities of class {}", entityClass.getName());
+        flush();
+        EntityMetadata metadata = metadataRegistry.getMetadata(entityClass);
+        SelectQuery query = queryPlanCache.get(entityClass, QueryOperation.SELECT_ALL,
+                () -> new SimpleSelectQueryBuilder<T>(metadataRegistry, dialect).buildQuery(entityClass));
+        return list(metadata, entityClass, query);
+    }
+
+    public <T> List<T> findAll(Criteria<T> criteria) {
+        Class<T> entityClass = criteria.getEntityClass();
+        logger.debug("Finding entities of class {} by criteria", entityClass.getName());
+        flush();
+        EntityMetadata metadata = metadataRegistry.getMetadata(entityClass);
+        List<Object> parameters = new ArrayList<>();
+        SelectQuery query = new SimpleSelectQueryBuilder<T>(metadataRegistry, dialect).buildQuery(criteria, parameters);
+        List<T> result = list(metadata, entityClass, query, parameters.toArray());
+        for (String property : criteria.getFetches()) {
+            CollectionMetadata collection = metadata.getCollection(property);
+            List<PersistentList<?>> collections = new ArrayList<>();
+            for (T entity : result) {
+                if (collection.getValue(entity) instanceof PersistentList<?> persistentList
+                        && !persistentList.isInitialized()) {
+                    collections.add(persistentList);
+                }
+            }
+            loadCollections(collection, collections);
+        }
+        return result;
+    }
+
+    /**
+     * Selects only the columns backing the components of the record or the getters of the interface
+     * {@code resultType} and maps each row straight into it. Projections are plain values: they are neither managed
+     * by the session nor cached, and {@code @ManyToOne} properties are read as the target's id.
+     */
+    public <R> List<R> select(Class<R> resultType, Criteria<?> criteria) {
+        Class<?> entityClass = criteria.getEntityClass();
+        logger.debug("Selecting {} projections of class {}", resultType.getName(), entityClass.getName());
+        flush();
+        ProjectionMapper<R> mapper = metadataRegistry.getMetadata(entityClass).getProjectionMapper(resultType);
+        List<Object> parameters = new ArrayList<>();
+        SelectQuery query = buildProjectionQuery(criteria, mapper.getColumns(), parameters);
         try {
-            SelectQueryBuilder<T> queryBuilder = new SimpleSelectQueryBuilder<>();
-            SelectQuery query = (SelectQuery) queryBuilder.buildQuery(entityClass, primaryKey);
-            List<Object[]> results = executeSelectWithResultReturn(query, primaryKey);
+            return executeSelectWithRowMapper(entityClass, query, mapper, parameters.toArray());
+        } catch (SQLException e) {
+            logger.error("Failed to select projections", e);
+            throw new OrmException("Failed to select projections", e);
+        }
+    }
+
+    /**
+     * Creates a query from hand-written SQL with {@code :name} parameters. The parsed statement is cached by its SQL
+     * text; execution goes through the session's statement cache and query listeners like generated queries.
+     */
+    public <T> NativeQuery<T> createNativeQuery(String sql, Class<T> resultType) {
+        return new NativeQuery<>(this, queryPlanCache.get(sql, NativeSelectQuery::parse), resultType);
+    }
 
-            if (results.isEmpty()) {
-                throw new OrmException("Failed to find entity");
+    private <T> SelectQuery buildProjectionQuery(Criteria<T> criteria, List<ColumnMetadata> columns,
+                                                 List<Object> parameters) {
+        return new SimpleSelectQueryBuilder<T>(metadataRegistry, dialect).buildProjectionQuery(criteria, columns, parameters);
+    }
+
+    /**
+     * Loads the entities with the given primary keys, in the order of {@code primaryKeys}; unknown keys are skipped.
+     * Entities already in the session or the second-level cache are not queried again, the rest are fetched with
+     * chunked {@code IN} queries.
+     */
+    public <T> List<T> findByIds(Class<T> entityClass, Collection<?> primaryKeys) {
+        logger.debug("Finding {} entities of class {} by id", primaryKeys.size(), entityClass.getName());
+        flush();
+        EntityMetadata metadata = metadataRegistry.getMetadata(entityClass);
+        EntityCache cache = secondLevelCache.getCache(metadata);
+        Map<Object, T> found = new HashMap<>();
+        List<Object> missingKeys = new ArrayList<>();
+        List<T> assembled = new ArrayList<>();
+
+        for (Object primaryKey : new LinkedHashSet<>(primaryKeys)) {
+            Object key = PersistenceContext.normalizeId(metadata, primaryKey);
+            Object managedEntity = persistenceContext.get(metadata, key);
+            if (managedEntity != null) {
+                found.put(key, entityClass.cast(managedEntity));
+                continue;
             }
+            Object[] state = cache != null && !isPendingCacheEviction(metadata, key) ? cache.get(key) : null;
+            if (state != null) {
+                T entity = assemble(metadata, entityClass, state);
+                persistenceContext.put(metadata, entity);
+                assembled.add(entity);
+                found.put(key, entity);
+            } else if (!found.containsKey(key)) {
+                missingKeys.add(key);
+            }
+        }
+
+        initializeAssociations(metadata, assembled);
 
-            T entity = entityClass.getDeclaredConstructor().newInstance();
-            Object[] row = results.getFirst();
-            Field[] fields = entityClass.getDeclaredFields();
-            for (Field field : fields) {
-                if (field.isAnnotationPresent(Column.class)) {
-                    String columnName = field.getAnnotation(Column.class).name();
-                    field.setAccessible(true);
-                    field.set(entity, row[getColumnIndex(columnName, fields)]);
+        for (List<Object> chunk : partition(missingKeys, configuration.getMaxInClauseSize())) {
+            Object[] params = padKeys(chunk);
+            SelectQuery query = queryPlanCache.get(entityClass, QueryOperation.SELECT_IN, params.length,
+                    () -> new SimpleSelectQueryBuilder<T>(metadataRegistry, dialect).buildInQuery(entityClass, params.length));
+            for (T entity : list(metadata, entityClass, query, params)) {
+                Object key = PersistenceContext.normalizeId(metadata, metadata.getIdColumn().getValue(entity));
+                found.put(key, entity);
+                if (cache != null && !isPendingCacheEviction(metadata, key)) {
+                    cache.put(key, metadata.getState(entity));
                 }
             }
+        }
 
-            return entity;
-        } catch (SQLException | NoSuchMethodException | InstantiationException | IllegalAccessException |
-                 InvocationTargetException e) {
-            throw new RuntimeException(e);
+        List<T> result = new ArrayList<>(primaryKeys.size());
+        for (Object primaryKey : primaryKeys) {
+            T entity = found.get(PersistenceContext.normalizeId(metadata, primaryKey));
+            if (entity != null) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Streams all rows of the entity's table, mapping them lazily with the
+     * {@link Dialect#getStreamingFetchSize(int) dialect's streaming fetch size}. The stream holds an open cursor until
+     * it is exhausted or closed, so use it in try-with-resources; streams still open are closed with the session. On
+     * PostgreSQL rows are read through a cursor only inside a transaction, otherwise the driver buffers the whole
+     * result. Streamed entities are not
+     * attached to the session unless they were already managed by it; their {@code @ManyToOne} fields hold
+     * references carrying only the id and their {@code @OneToMany} fields are left unset.
+     */
+    public <T> Stream<T> stream(Class<T> entityClass) {
+        logger.debug("Streaming entities of class {}", entityClass.getName());
+        flush();
+        EntityMetadata metadata = metadataRegistry.getMetadata(entityClass);
+        SelectQuery query = queryPlanCache.get(entityClass, QueryOperation.SELECT_ALL,
+                () -> new SimpleSelectQueryBuilder<T>(metadataRegistry, dialect).buildQuery(entityClass));
+        try {
+            Stream<T> stream = executeSelectStream(entityClass, query, getRowMapper(metadata, entityClass))
+                    .map(entity -> {
+                        Object managedEntity = persistenceContext.get(metadata, metadata.getIdColumn().getValue(entity));
+                        return managedEntity != null ? entityClass.cast(managedEntity) : entity;
+                    });
+            openStreams.add(stream);
+            return stream.onClose(() -> openStreams.remove(stream));
+        } catch (SQLException e) {
+            logger.error("Failed to stream entities", e);
+            throw new OrmException("Failed to stream entities", e);
+        }
+    }
+
+    public boolean contains(Object entity) {
+        return persistenceContext.contains(metadataRegistry.getMetadata(entity.getClass()), entity);
+    }
+
+    public void evict(Object entity) {
+        logger.debug("Evicting entity from session: {}", entity);
+        persistenceContext.remove(metadataRegistry.getMetadata(entity.getClass()), entity);
+    }
+
+    public void clear() {
+        logger.debug("Clearing session");
+        if (!actionQueue.isEmpty()) {
+            logger.warn("Discarding {} pending actions that were not flushed", actionQueue.size());
+            actionQueue.clear();
         }
+        persistenceContext.clear();
+        pendingCollections.clear();
     }
 
     public <T> void update(T entity) {
         logger.debug("Updating entity: {}", entity);
+        if (writeBehind) {
+            actionQueue.addUpdate(entity);
+            return;
+        }
         try {
-            UpdateQueryBuilder<T> queryBuilder = new SimpleUpdateQueryBuilder<>();
-            UpdateQuery query = (UpdateQuery) queryBuilder.buildQuery(entity);
-            Map<String, Object> columnValues = getColumnValues(entity);
-            Object idValue = getIdValue(entity);
-            Object[] params = new Object[columnValues.size() + 1];
-
-            int i = 0;
-            for (Object value : columnValues.values()) {
-                params[i++] = value;
+            EntityMetadata metadata = metadataRegistry.getMetadata(entity.getClass());
+            Object[] snapshot = persistenceContext.getSnapshot(metadata, entity);
+            BitSet dirtyColumns = snapshot != null ? getDirtyColumns(metadata, snapshot, metadata.getState(entity)) : null;
+            if (dirtyColumns != null && dirtyColumns.isEmpty()) {
+                logger.debug("Entity is not modified, skipping update: {}", entity);
+                return;
+            }
+            ColumnMetadata versionColumn = metadata.getVersionColumn();
+            if (dirtyColumns != null && versionColumn != null) {
+                dirtyColumns.set(metadata.getColumns().indexOf(versionColumn));
             }
-            params[i] = idValue;  // Добавляем id в параметры в конце
 
-            execute(query, params);
+            int rowCount;
+            if (dirtyColumns == null || dirtyColumns.cardinality() == metadata.getNonIdColumns().size()) {
+                UpdateQuery query = queryPlanCache.get(entity.getClass(), QueryOperation.UPDATE,
+                        () -> buildUpdateQuery(metadata, entity));
+                rowCount = execute(entity.getClass(), query, getUpdateParameters(metadata, entity));
+            } else {
+                List<ColumnMetadata> columns = new ArrayList<>(dirtyColumns.cardinality());
+                dirtyColumns.stream().forEach(i -> columns.add(metadata.getColumns().get(i)));
+                UpdateQuery query = queryPlanCache.get(entity.getClass(), QueryOperation.UPDATE, dirtyColumns,
+                        () -> new SimpleUpdateQueryBuilder<T>(metadataRegistry, dialect).buildQuery((Class<T>) entity.getClass(), columns));
+                rowCount = execute(entity.getClass(), query, getUpdateParameters(metadata, entity, columns));
+            }
+            if (versionColumn != null) {
+                checkVersionedRowCount(metadata, entity, rowCount);
+                versionColumn.setValue(entity, nextVersion(versionColumn, entity));
+            }
+            persistenceContext.put(metadata, entity);
+            invalidateCache(metadata, entity);
             logger.debug("Entity updated successfully: {}", entity);
         } catch (SQLException e) {
             logger.error("Failed to update entity", e);
@@ -143,10 +471,21 @@ public class Session implements AutoCloseable {
 
     public <T> void delete(T entity) {
         logger.debug("Deleting entity: {}", entity);
+        if (writeBehind) {
+            actionQueue.addDelete(entity);
+            return;
+        }
         try {
-            DeleteQueryBuilder<T> queryBuilder = new SimpleDeleteQueryBuilder<>();
-            DeleteQuery query = (DeleteQuery) queryBuilder.buildQuery((Class<T>) entity.getClass(), getIdValue(entity));
-            execute(query, getIdValue(entity));
+            EntityMetadata metadata = metadataRegistry.getMetadata(entity.getClass());
+            Object idValue = metadata.getIdColumn().getValue(entity);
+            DeleteQuery query = queryPlanCache.get(entity.getClass(), QueryOperation.DELETE,
+                    () -> buildDeleteQuery(metadata, (Class<T>) entity.getClass(), idValue));
+            int rowCount = execute(entity.getClass(), query, getDeleteParameters(metadata, entity));
+            if (metadata.getVersionColumn() != null) {
+                checkVersionedRowCount(metadata, entity, rowCount);
+            }
+            persistenceContext.remove(metadata, entity);
+            invalidateCache(metadata, entity);
             logger.debug("Entity deleted successfully: {}", entity);
         } catch (SQLException e) {
             logger.error("Failed to delete entity", e);
@@ -154,12 +493,111 @@ public class Session implements AutoCloseable {
         }
     }
 
+    public <T> void saveAll(Collection<T> entities) {
+        logger.debug("Saving {} entities in batches", entities.size());
+        if (writeBehind) {
+            entities.forEach(actionQueue::addInsert);
+            return;
+        }
+        try {
+            for (Map.Entry<Class<?>, List<Object>> group : groupByClass(entities).entrySet()) {
+                insertBatch(group.getKey(), group.getValue());
+            }
+            logger.debug("Entities saved successfully: {}", entities.size());
+        } catch (SQLException e) {
+            logger.error("Failed to save entities", e);
+            throw new OrmException("Failed to save entities", e);
+        }
+    }
+
+    /**
+     * Inserts or updates the entities by primary key with one multi-row statement per chunk, in the upsert syntax of
+     * the connected database. Ids must be assigned by the caller. Version columns are written as given and not
+     * checked, so concurrent modifications are overwritten.
+     */
+    public <T> void upsertAll(Collection<T> entities) {
+        logger.debug("Upserting {} entities", entities.size());
+        flush();
+        try {
+            for (Map.Entry<Class<?>, List<Object>> group : groupByClass(entities).entrySet()) {
+                upsertBatch(group.getKey(), group.getValue());
+            }
+            logger.debug("Entities upserted successfully: {}", entities.size());
+        } catch (SQLException e) {
+            logger.error("Failed to upsert entities", e);
+            throw new OrmException("Failed to upsert entities", e);
+        }
+    }
+
+    public <T> void updateAll(Collection<T> entities) {
+        logger.debug("Updating {} entities in batches", entities.size());
+        if (writeBehind) {
+            entities.forEach(actionQueue::addUpdate);
+            return;
+        }
+        try {
+            for (Map.Entry<Class<?>, List<Object>> group : groupByClass(entities).entrySet()) {
+                updateBatch(group.getKey(), group.getValue());
+            }
+            logger.debug("Entities updated successfully: {}", entities.size());
+        } catch (SQLException e) {
+            logger.error("Failed to update entities", e);
+            throw new OrmException("Failed to update entities", e);
+        }
+    }
+
+    public <T> void deleteAll(Collection<T> entities) {
+        logger.debug("Deleting {} entities in batches", entities.size());
+        if (writeBehind) {
+            entities.forEach(actionQueue::addDelete);
+            return;
+        }
+        try {
+            for (Map.Entry<Class<?>, List<Object>> group : groupByClass(entities).entrySet()) {
+                deleteBatch(group.getKey(), group.getValue());
+            }
+            logger.debug("Entities deleted successfully: {}", entities.size());
+        } catch (SQLException e) {
+            logger.error("Failed to delete entities", e);
+            throw new OrmException("Failed to delete entities", e);
+        }
+    }
+
+    public void flush() {
+        if (actionQueue.isEmpty()) {
+            return;
+        }
+        logger.debug("Flushing {} pending actions", actionQueue.size());
+        try {
+            for (Map.Entry<Class<?>, List<Object>> group : actionQueue.getEntities(ActionQueue.ActionType.INSERT).entrySet()) {
+                insertBatch(group.getKey(), group.getValue());
+            }
+            for (Map.Entry<Class<?>, List<Object>> group : actionQueue.getEntities(ActionQueue.ActionType.UPDATE).entrySet()) {
+                updateBatch(group.getKey(), group.getValue());
+            }
+            for (Map.Entry<Class<?>, List<Object>> group : actionQueue.getEntities(ActionQueue.ActionType.DELETE).entrySet()) {
+                deleteBatch(group.getKey(), group.getValue());
+            }
+            logger.debug("Session flushed successfully");
+        } catch (SQLException e) {
+            logger.error("Failed to flush session", e);
+            throw new OrmException("Failed to flush session", e);
+        } finally {
+            actionQueue.clear();
+        }
+    }
+
     public <T> void createTable(Class<T> entityClass) {
         logger.debug("Creating table for entity class {}", entityClass.getName());
         try {
-            CreateTableQueryBuilder<T> queryBuilder = new SimpleCreateTableQueryBuilder<>();
-            CreateTableQuery query = (CreateTableQuery) queryBuilder.buildQuery(entityClass);
-            execute(query);
+            CreateTableQuery query = queryPlanCache.get(entityClass, QueryOperation.CREATE_TABLE,
+                    () -> buildCreateTableQuery(metadataRegistry.getMetadata(entityClass), entityClass));
+            execute(entityClass, query);
+            EntityMetadata metadata = metadataRegistry.getMetadata(entityClass);
+            if (metadata.getGenerationType() == GenerationType.SEQUENCE) {
+                execute(entityClass, new CreateTableQueryImpl(
+                        dialect.getCreateSequenceSql(metadata.getSequenceName(), metadata.getAllocationSize())));
+            }
             logger.debug("Table created successfully for entity class {}", entityClass.getName());
         } catch (SQLException e) {
             logger.error("Failed to create table for entity class {}", entityClass.getName(), e);
@@ -167,84 +605,831 @@ public class Session implements AutoCloseable {
         }
     }
 
-    private Map<String, Object> getColumnValues(Object entity) {
-        Map<String, Object> columnValues = new HashMap<>();
-        Class<?> clazz = entity.getClass();
-        for (Field field : clazz.getDeclaredFields()) {
-            if (field.isAnnotationPresent(Column.class) && !field.isAnnotationPresent(Id.class)) {
-                String columnName = field.getAnnotation(Column.class).name();
-                field.setAccessible(true);
-                try {
-                    columnValues.put(columnName, field.get(entity));
-                } catch (IllegalAccessException e) {
-                    throw new RuntimeException(e);
+    private <T> T load(EntityMetadata metadata, Class<T> entityClass, Object primaryKey) throws SQLException {
+        SelectQuery query = queryPlanCache.get(entityClass, QueryOperation.SELECT,
+                () -> buildSelectQuery(metadata, entityClass, primaryKey));
+
+        List<T> entities = executeSelectWithRowMapper(entityClass, query, getRowMapper(metadata, entityClass), primaryKey);
+        if (entities.isEmpty()) {
+            throw new OrmException("Failed to find entity");
+        }
+        return entities.getFirst();
+    }
+
+    private <T> List<T> list(EntityMetadata metadata, Class<T> entityClass, SelectQuery query, Object... params) {
+        try {
+            List<T> entities = executeSelectWithRowMapper(entityClass, query, getRowMapper(metadata, entityClass), params);
+            return manage(metadata, entityClass, entities);
+        } catch (SQLException e) {
+            logger.error("Failed to find entities", e);
+            throw new OrmException("Failed to find entities", e);
+        }
+    }
+
+    /**
+     * Runs a native query: entity results are mapped by column label and merged into the persistence context,
+     * anything else is read from the first column.
+     */
+    @SuppressWarnings("unchecked")
+    <T> List<T> list(NativeSelectQuery query, Class<T> resultType, ParameterBinder[] binders, Object[] params,
+                     QueryHints hints) {
+        flush();
+        try {
+            if (!resultType.isAnnotationPresent(Entity.class)) {
+                return executeNativeSelect(resultType, query, resultSet -> resultSet.getObject(1, resultType), binders,
+                        params, hints);
+            }
+            EntityMetadata metadata = metadataRegistry.getMetadata(resultType);
+            List<T> entities = executeNativeSelect(resultType, query, (RowMapper<T>) metadata.getLabelRowMapper(),
+                    binders, params, hints);
+            return manage(metadata, resultType, entities);
+        } catch (SQLException e) {
+            logger.error("Failed to execute native query", e);
+            throw new OrmException("Failed to execute native query: " + query.getOriginalSql(), e);
+        }
+    }
+
+    /**
+     * Replaces freshly mapped entities with the instances already managed by the session and registers the rest.
+     */
+    private <T> List<T> manage(EntityMetadata metadata, Class<T> entityClass, List<T> entities) {
+        List<T> result = new ArrayList<>(entities.size());
+        List<T> loaded = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            Object managedEntity = persistenceContext.get(metadata, metadata.getIdColumn().getValue(entity));
+            if (managedEntity != null) {
+                result.add(entityClass.cast(managedEntity));
+            } else {
+                persistenceContext.put(metadata, entity);
+                loaded.add(entity);
+                result.add(entity);
+            }
+        }
+        initializeAssociations(metadata, loaded);
+        return result;
+    }
+
+    /**
+     * Wires the associations of freshly loaded, already managed entities: {@code @OneToMany} fields get lazy lists
+     * and the targets of {@code @ManyToOne} fields are loaded with one {@code findByIds} call per association, so
+     * loading N entities never issues N reference queries. Only one level is resolved: the {@code @ManyToOne} fields
+     * of the loaded targets keep references carrying only the id, so chains and cycles of references do not pull in
+     * the whole reachable graph.
+     */
+    private void initializeAssociations(EntityMetadata metadata, List<?> entities) {
+        if (!metadata.hasAssociations() || entities.isEmpty()) {
+            return;
+        }
+        for (CollectionMetadata collection : metadata.getCollections()) {
+            Deque<PersistentList<?>> pending = pendingCollections.computeIfAbsent(collection, key -> new ArrayDeque<>());
+            for (Object entity : entities) {
+                PersistentList<Object> persistentList = new PersistentList<>(this, collection, entity);
+                collection.setValue(entity, persistentList);
+                pending.add(persistentList);
+            }
+        }
+        if (referenceDepth > 0) {
+            return;
+        }
+        for (ColumnMetadata column : metadata.getAssociationColumns()) {
+            resolveReferences(column, entities);
+        }
+    }
+
+    private void resolveReferences(ColumnMetadata column, List<?> entities) {
+        Set<Object> targetIds = new LinkedHashSet<>();
+        for (Object entity : entities) {
+            Object targetId = column.getValue(entity);
+            if (targetId != null) {
+                targetIds.add(targetId);
+            }
+        }
+        if (targetIds.isEmpty()) {
+            return;
+        }
+
+        EntityMetadata targetMetadata = metadataRegistry.getMetadata(column.getTargetEntity());
+        Map<Object, Object> targets = new HashMap<>();
+        List<?> found;
+        referenceDepth++;
+        try {
+            found = findByIds(column.getTargetEntity(), targetIds);
+        } finally {
+            referenceDepth--;
+        }
+        for (Object target : found) {
+            targets.put(PersistenceContext.normalizeId(targetMetadata, targetMetadata.getIdColumn().getValue(target)), target);
+        }
+        for (Object entity : entities) {
+            Object targetId = column.getValue(entity);
+            if (targetId == null) {
+                continue;
+            }
+            Object target = targets.get(PersistenceContext.normalizeId(targetMetadata, targetId));
+            if (target != null) {
+                column.getAccessor().set(entity, target);
+            } else {
+                logger.warn("{} with id {} referenced by {} does not exist", column.getTargetEntity().getName(),
+                        targetId, entity);
+            }
+        }
+    }
+
+    /**
+     * Prepares entities that are handed out after this session closes. Uninitialized {@code @OneToMany} lists are
+     * unset, as for {@link #stream}, because loading them later would need this session; initialized lists and
+     * {@code @ManyToOne} targets are walked so their own lists are unset too.
+     */
+    void detach(Collection<?> entities) {
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Object> remaining = new ArrayDeque<>(entities);
+        while (!remaining.isEmpty()) {
+            Object entity = remaining.poll();
+            if (entity == null || !visited.add(entity)) {
+                continue;
+            }
+            EntityMetadata metadata = metadataRegistry.getMetadata(entity.getClass());
+            for (CollectionMetadata collection : metadata.getCollections()) {
+                if (collection.getValue(entity) instanceof PersistentList<?> persistentList) {
+                    if (persistentList.isInitialized()) {
+                        remaining.addAll(persistentList);
+                    } else {
+                        collection.setValue(entity, null);
+                    }
+                }
+            }
+            for (ColumnMetadata column : metadata.getAssociationColumns()) {
+                Object target = column.getAccessor().get(entity);
+                if (target != null) {
+                    remaining.add(target);
                 }
             }
         }
-        return columnValues;
     }
 
-    private int getColumnIndex(String columnName, Field[] fields) {
-        for (int i = 0; i < fields.length; i++) {
-            if (fields[i].getAnnotation(Column.class).name().equals(columnName)) {
-                return i;
+    /**
+     * Initializes {@code persistentList} together with up to {@link Configuration#getBatchFetchSize()} other
+     * uninitialized lists of the same field.
+     */
+    void initializeCollection(PersistentList<?> persistentList) {
+        CollectionMetadata collection = persistentList.getCollection();
+        if (closed) {
+            throw new OrmException("Failed to initialize " + collection.getName() + ": the session is closed");
+        }
+        logger.debug("Initializing collection {}", collection.getName());
+        flush();
+
+        List<PersistentList<?>> batch = new ArrayList<>();
+        batch.add(persistentList);
+        Deque<PersistentList<?>> pending = pendingCollections.get(collection);
+        while (pending != null && !pending.isEmpty() && batch.size() < configuration.getBatchFetchSize()) {
+            PersistentList<?> candidate = pending.poll();
+            if (candidate != persistentList && !candidate.isInitialized()) {
+                batch.add(candidate);
             }
         }
-        throw new OrmException("Column not found: " + columnName);
+        loadCollections(collection, batch);
     }
 
-    private Object getIdValue(Object entity) {
-        Class<?> clazz = entity.getClass();
-        for (Field field : clazz.getDeclaredFields()) {
-            if (field.isAnnotationPresent(Id.class)) {
-                field.setAccessible(true);
-                try {
-                    return field.get(entity);
-                } catch (IllegalAccessException e) {
-                    throw new RuntimeException(e);
+    @SuppressWarnings("unchecked")
+    private void loadCollections(CollectionMetadata collection, List<PersistentList<?>> persistentLists) {
+        if (persistentLists.isEmpty()) {
+            return;
+        }
+        EntityMetadata ownerMetadata = metadataRegistry.getMetadata(collection.getField().getDeclaringClass());
+        EntityMetadata elementMetadata = metadataRegistry.getMetadata(collection.getElementClass());
+        ColumnMetadata joinColumn = elementMetadata.getColumn(collection.getMappedBy());
+        if (joinColumn.getTargetEntity() != ownerMetadata.getEntityClass()) {
+            throw new OrmException("mappedBy of " + collection.getName() + " must name a @ManyToOne field of "
+                    + elementMetadata.getEntityClass().getName() + " referencing " + ownerMetadata.getEntityClass().getName());
+        }
+
+        Map<Object, List<Object>> elementsByOwner = new HashMap<>();
+        for (PersistentList<?> persistentList : persistentLists) {
+            Object ownerId = ownerMetadata.getIdColumn().getValue(persistentList.getOwner());
+            elementsByOwner.put(PersistenceContext.normalizeId(ownerMetadata, ownerId), new ArrayList<>());
+        }
+
+        for (List<Object> chunk : partition(new ArrayList<>(elementsByOwner.keySet()), configuration.getMaxInClauseSize())) {
+            for (Object element : loadElements(elementMetadata, collection, padKeys(chunk))) {
+                Object ownerId = PersistenceContext.normalizeId(ownerMetadata, joinColumn.getValue(element));
+                List<Object> elements = elementsByOwner.get(ownerId);
+                if (elements != null) {
+                    elements.add(element);
                 }
             }
         }
-        throw new OrmException("No field annotated with @Id");
+
+        for (PersistentList<?> persistentList : persistentLists) {
+            Object ownerId = ownerMetadata.getIdColumn().getValue(persistentList.getOwner());
+            ((PersistentList<Object>) persistentList).setElements(
+                    elementsByOwner.get(PersistenceContext.normalizeId(ownerMetadata, ownerId)));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E> List<E> loadElements(EntityMetadata elementMetadata, CollectionMetadata collection, Object[] ownerIds) {
+        Class<E> elementClass = (Class<E>) collection.getElementClass();
+        Criteria<E> criteria = Criteria.forClass(elementClass)
+                .in(collection.getMappedBy(), List.of(ownerIds))
+                .orderBy(elementMetadata.getIdColumn().getField().getName());
+        List<Object> parameters = new ArrayList<>();
+        SelectQuery query = new SimpleSelectQueryBuilder<E>(metadataRegistry, dialect).buildQuery(criteria, parameters);
+        return list(elementMetadata, elementClass, query, parameters.toArray());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> RowMapper<T> getRowMapper(EntityMetadata metadata, Class<T> entityClass) {
+        return (RowMapper<T>) metadata.getRowMapper();
+    }
+
+    private <T> T assemble(EntityMetadata metadata, Class<T> entityClass, Object[] state) {
+        T entity = entityClass.cast(metadata.newInstance());
+        List<ColumnMetadata> columns = metadata.getColumns();
+        for (int i = 0; i < columns.size(); i++) {
+            columns.get(i).setValue(entity, state[i]);
+        }
+        return entity;
+    }
+
+    private void invalidateCache(EntityMetadata metadata, Object entity) {
+        EntityCache cache = secondLevelCache.getCache(metadata);
+        if (cache == null) {
+            return;
+        }
+        Object cacheKey = PersistenceContext.normalizeId(metadata, metadata.getIdColumn().getValue(entity));
+        cache.evict(cacheKey);
+        // Другие сессии могут успеть закешировать старое состояние до коммита, поэтому повторяем после него
+        if (transaction.isActive()) {
+            pendingCacheEvictions.computeIfAbsent(metadata.getEntityClass(), key -> new HashSet<>()).add(cacheKey);
+        }
     }
 
-    private Field getIdField(Class<?> clazz) {
-        for (Field field : clazz.getDeclaredFields()) {
-            if (field.isAnnotationPresent(Id.class)) {
-                return field;
+    private boolean isPendingCacheEviction(EntityMetadata metadata, Object cacheKey) {
+        Set<Object> ids = pendingCacheEvictions.get(metadata.getEntityClass());
+        return ids != null && ids.contains(cacheKey);
+    }
+
+    private void evictPendingFromCache() {
+        for (Map.Entry<Class<?>, Set<Object>> entry : pendingCacheEvictions.entrySet()) {
+            for (Object id : entry.getValue()) {
+                secondLevelCache.evict(entry.getKey(), id);
             }
         }
-        throw new OrmException("No field annotated with @Id");
+        pendingCacheEvictions.clear();
     }
 
-    private <T extends Query> void execute(T query, Object... params) throws SQLException {
+    // Сгенерированный процессором SQL написан на стандартном SQL и подходит не для всех диалектов
+    private EntityMapping<?> getGeneratedMapping(EntityMetadata metadata) {
+        return dialect.acceptsStandardSql() ? metadata.getGeneratedMapping() : null;
+    }
+
+    private <T> InsertQuery buildInsertQuery(EntityMetadata metadata, T entity) {
+        EntityMapping<?> generatedMapping = getGeneratedMapping(metadata);
+        if (generatedMapping != null && !dialect.supportsInsertReturning()) {
+            return new InsertQueryImpl(generatedMapping.getInsertSql());
+        }
+        InsertQueryBuilder<T> queryBuilder = new SimpleInsertQueryBuilder<>(metadataRegistry, dialect);
+        return (InsertQuery) queryBuilder.buildQuery(entity);
+    }
+
+    private <T> SelectQuery buildSelectQuery(EntityMetadata metadata, Class<T> entityClass, Object primaryKey) {
+        EntityMapping<?> generatedMapping = getGeneratedMapping(metadata);
+        if (generatedMapping != null) {
+            return new SelectQueryImpl(generatedMapping.getSelectSql());
+        }
+        SelectQueryBuilder<T> queryBuilder = new SimpleSelectQueryBuilder<>(metadataRegistry, dialect);
+        return (SelectQuery) queryBuilder.buildQuery(entityClass, primaryKey);
+    }
+
+    private <T> UpdateQuery buildUpdateQuery(EntityMetadata metadata, T entity) {
+        EntityMapping<?> generatedMapping = getGeneratedMapping(metadata);
+        if (generatedMapping != null) {
+            return new UpdateQueryImpl(generatedMapping.getUpdateSql());
+        }
+        UpdateQueryBuilder<T> queryBuilder = new SimpleUpdateQueryBuilder<>(metadataRegistry, dialect);
+        return (UpdateQuery) queryBuilder.buildQuery(entity);
+    }
+
+    private <T> DeleteQuery buildDeleteQuery(EntityMetadata metadata, Class<T> entityClass, Object primaryKey) {
+        EntityMapping<?> generatedMapping = getGeneratedMapping(metadata);
+        if (generatedMapping != null) {
+            return new DeleteQueryImpl(generatedMapping.getDeleteSql());
+        }
+        DeleteQueryBuilder<T> queryBuilder = new SimpleDeleteQueryBuilder<>(metadataRegistry, dialect);
+        return (DeleteQuery) queryBuilder.buildQuery(entityClass, primaryKey);
+    }
+
+    private <T> CreateTableQuery buildCreateTableQuery(EntityMetadata metadata, Class<T> entityClass) {
+        EntityMapping<?> generatedMapping = getGeneratedMapping(metadata);
+        if (generatedMapping != null) {
+            return new CreateTableQueryImpl(generatedMapping.getCreateTableSql());
+        }
+        CreateTableQueryBuilder<T> queryBuilder = new SimpleCreateTableQueryBuilder<>(metadataRegistry, dialect);
+        return (CreateTableQuery) queryBuilder.buildQuery(entityClass);
+    }
+
+    private void insertBatch(Class<?> entityClass, List<Object> entities) throws SQLException {
+        EntityMetadata metadata = metadataRegistry.getMetadata(entityClass);
+        boolean assignedIds = metadata.isIdAssignedBeforeInsert();
+        if (configuration.isMultiRowInsert() || (dialect.supportsInsertReturning() && !assignedIds)) {
+            insertMultiRow(metadata, entities);
+            return;
+        }
+        InsertQuery query = queryPlanCache.get(entityClass, QueryOperation.INSERT,
+                () -> buildInsertQuery(metadata, entities.getFirst()));
+
+        for (List<Object> chunk : partition(entities)) {
+            List<Object[]> batchParams = new ArrayList<>(chunk.size());
+            for (Object entity : chunk) {
+                initializeVersion(metadata, entity);
+                if (assignedIds) {
+                    assignId(metadata, entity);
+                }
+                batchParams.add(getInsertValues(metadata, entity));
+            }
+
+            if (assignedIds) {
+                // Идентификаторы уже назначены, поэтому пакет не запрашивает сгенерированные ключи
+                executeBatch(entityClass, query, batchParams);
+            } else {
+                List<Long> generatedIds = executeInsertBatchWithResultReturn(entityClass, query, batchParams);
+                for (int i = 0; i < chunk.size(); i++) {
+                    metadata.getIdColumn().setValue(chunk.get(i), generatedIds.get(i));
+                }
+            }
+            for (Object entity : chunk) {
+                persistenceContext.put(metadata, entity);
+            }
+        }
+    }
+
+    private void insertMultiRow(EntityMetadata metadata, List<Object> entities) throws SQLException {
+        Class<?> entityClass = metadata.getEntityClass();
+        boolean assignedIds = metadata.isIdAssignedBeforeInsert();
+        int columnCount = metadata.getInsertColumns().size();
+        for (List<Object> chunk : partition(entities, rowsPerStatement(columnCount))) {
+            int rowCount = chunk.size();
+            InsertQuery query = queryPlanCache.get(entityClass, QueryOperation.INSERT, rowCount,
+                    () -> new SimpleInsertQueryBuilder<>(metadataRegistry, dialect).buildQuery((Class<Object>) entityClass, rowCount));
+
+            Object[] params = new Object[rowCount * columnCount];
+            for (int i = 0; i < rowCount; i++) {
+                initializeVersion(metadata, chunk.get(i));
+                if (assignedIds) {
+                    assignId(metadata, chunk.get(i));
+                }
+                System.arraycopy(getInsertValues(metadata, chunk.get(i)), 0, params, i * columnCount, columnCount);
+            }
+
+            if (assignedIds) {
+                execute(entityClass, query, params);
+            } else {
+                List<Long> generatedIds = executeInsertMultiRowWithResultReturn(entityClass, query, rowCount, params);
+                for (int i = 0; i < rowCount; i++) {
+                    metadata.getIdColumn().setValue(chunk.get(i), generatedIds.get(i));
+                }
+            }
+            for (Object entity : chunk) {
+                persistenceContext.put(metadata, entity);
+            }
+        }
+    }
+
+    private void upsertBatch(Class<?> entityClass, List<Object> entities) throws SQLException {
+        EntityMetadata metadata = metadataRegistry.getMetadata(entityClass);
+        int columnCount = metadata.getColumns().size();
+        for (List<Object> chunk : partition(entities, rowsPerStatement(columnCount))) {
+            int rowCount = chunk.size();
+            InsertQuery query = queryPlanCache.get(entityClass, QueryOperation.UPSERT, rowCount,
+                    () -> new SimpleInsertQueryBuilder<>(metadataRegistry, dialect)
+                            .buildUpsertQuery((Class<Object>) entityClass, rowCount));
+
+            Object[] params = new Object[rowCount * columnCount];
+            int index = 0;
+            for (Object entity : chunk) {
+                Object id = metadata.getIdColumn().getValue(entity);
+                if (id == null) {
+                    throw new OrmException("Cannot upsert " + entityClass.getName() + " without an id");
+                }
+                initializeVersion(metadata, entity);
+                params[index++] = id;
+                for (ColumnMetadata column : metadata.getNonIdColumns()) {
+                    params[index++] = column.getValue(entity);
+                }
+            }
+
+            execute(entityClass, query, params);
+            for (Object entity : chunk) {
+                persistenceContext.put(metadata, entity);
+                invalidateCache(metadata, entity);
+            }
+        }
+    }
+
+    private int rowsPerStatement(int columnCount) {
+        return Math.max(1, Math.min(configuration.getBatchSize(),
+                getMaxBindParameters() / Math.max(1, columnCount)));
+    }
+
+    private int getMaxBindParameters() {
+        int maxBindParameters = configuration.getMaxBindParameters();
+        return maxBindParameters > 0 ? maxBindParameters : dialect.getMaxBindParameters();
+    }
+
+
+    private void updateBatch(Class<?> entityClass, List<Object> candidates) throws SQLException {
+        EntityMetadata metadata = metadataRegistry.getMetadata(entityClass);
+        List<Object> entities = new ArrayList<>(candidates.size());
+        for (Object entity : candidates) {
+            Object[] snapshot = persistenceContext.getSnapshot(metadata, entity);
+            if (snapshot == null || !getDirtyColumns(metadata, snapshot, metadata.getState(entity)).isEmpty()) {
+                entities.add(entity);
+            }
+        }
+        if (entities.isEmpty()) {
+            logger.debug("None of {} entities of class {} are modified, skipping update", candidates.size(),
+                    entityClass.getName());
+            return;
+        }
+
+        UpdateQuery query = queryPlanCache.get(entityClass, QueryOperation.UPDATE,
+                () -> buildUpdateQuery(metadata, entities.getFirst()));
+
+        for (List<Object> chunk : partition(entities)) {
+            List<Object[]> batchParams = new ArrayList<>(chunk.size());
+            for (Object entity : chunk) {
+                batchParams.add(getUpdateParameters(metadata, entity));
+            }
+            ColumnMetadata versionColumn = metadata.getVersionColumn();
+            if (versionColumn == null) {
+                executeBatch(entityClass, query, batchParams);
+            } else {
+                int[] rowCounts = executeVersionedBatch(entityClass, query, batchParams);
+                checkVersionedRowCounts(metadata, chunk, rowCounts);
+                for (Object entity : chunk) {
+                    versionColumn.setValue(entity, nextVersion(versionColumn, entity));
+                }
+            }
+            for (Object entity : chunk) {
+                persistenceContext.put(metadata, entity);
+                invalidateCache(metadata, entity);
+            }
+        }
+    }
+
+    private void deleteBatch(Class<?> entityClass, List<Object> entities) throws SQLException {
+        EntityMetadata metadata = metadataRegistry.getMetadata(entityClass);
+        DeleteQuery query = queryPlanCache.get(entityClass, QueryOperation.DELETE,
+                () -> buildDeleteQuery(metadata, entityClass, null));
+
+        for (List<Object> chunk : partition(entities)) {
+            List<Object[]> batchParams = new ArrayList<>(chunk.size());
+            for (Object entity : chunk) {
+                batchParams.add(getDeleteParameters(metadata, entity));
+            }
+            if (metadata.getVersionColumn() == null) {
+                executeBatch(entityClass, query, batchParams);
+            } else {
+                int[] rowCounts = executeVersionedBatch(entityClass, query, batchParams);
+                checkVersionedRowCounts(metadata, chunk, rowCounts);
+            }
+            for (Object entity : chunk) {
+                persistenceContext.remove(metadata, entity);
+                invalidateCache(metadata, entity);
+            }
+        }
+    }
+
+    private Map<Class<?>, List<Object>> groupByClass(Collection<?> entities) {
+        Map<Class<?>, List<Object>> groups = new LinkedHashMap<>();
+        for (Object entity : entities) {
+            groups.computeIfAbsent(entity.getClass(), key -> new ArrayList<>()).add(entity);
+        }
+        return groups;
+    }
+
+    // Выравниваем число параметров до степени двойки, чтобы переиспользовать подготовленные выражения
+    private Object[] padKeys(List<Object> keys) {
+        Object[] params = new Object[paddedKeyCount(keys.size())];
+        for (int i = 0; i < params.length; i++) {
+            params[i] = keys.get(Math.min(i, keys.size() - 1));
+        }
+        return params;
+    }
+
+    private int paddedKeyCount(int keyCount) {
+        int padded = Integer.highestOneBit(keyCount);
+        if (padded < keyCount) {
+            padded <<= 1;
+        }
+        return Math.min(padded, Math.max(keyCount, configuration.getMaxInClauseSize()));
+    }
+
+    private List<List<Object>> partition(List<Object> entities) {
+        return partition(entities, configuration.getBatchSize());
+    }
+
+    private List<List<Object>> partition(List<Object> values, int chunkSize) {
+        int size = Math.max(1, chunkSize);
+        List<List<Object>> chunks = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += size) {
+            chunks.add(values.subList(from, Math.min(values.size(), from + size)));
+        }
+        return chunks;
+    }
+
+    private BitSet getDirtyColumns(EntityMetadata metadata, Object[] snapshot, Object[] state) {
+        BitSet dirtyColumns = new BitSet(state.length);
+        List<ColumnMetadata> columns = metadata.getColumns();
+        for (int i = 0; i < state.length; i++) {
+            if (!columns.get(i).isId() && !columns.get(i).isVersion() && !Objects.equals(snapshot[i], state[i])) {
+                dirtyColumns.set(i);
+            }
+        }
+        return dirtyColumns;
+    }
+
+    private Object[] getUpdateParameters(EntityMetadata metadata, Object entity) {
+        return getUpdateParameters(metadata, entity, metadata.getNonIdColumns());
+    }
+
+    private Object[] getUpdateParameters(EntityMetadata metadata, Object entity, List<ColumnMetadata> columns) {
+        ColumnMetadata versionColumn = metadata.getVersionColumn();
+        Object[] params = new Object[columns.size() + (versionColumn != null ? 2 : 1)];
+
+        int i = 0;
+        for (ColumnMetadata column : columns) {
+            params[i++] = column == versionColumn ? nextVersion(versionColumn, entity) : column.getValue(entity);
+        }
+        params[i++] = metadata.getIdColumn().getValue(entity);  // Добавляем id в параметры в конце
+        if (versionColumn != null) {
+            params[i] = versionColumn.getValue(entity);  // и версию, с которой сущность была прочитана
+        }
+        return params;
+    }
+
+    private Object[] getDeleteParameters(EntityMetadata metadata, Object entity) {
+        Object idValue = metadata.getIdColumn().getValue(entity);
+        ColumnMetadata versionColumn = metadata.getVersionColumn();
+        return versionColumn != null ? new Object[]{idValue, versionColumn.getValue(entity)} : new Object[]{idValue};
+    }
+
+    private void initializeVersion(EntityMetadata metadata, Object entity) {
+        ColumnMetadata versionColumn = metadata.getVersionColumn();
+        if (versionColumn != null && versionColumn.getValue(entity) == null) {
+            versionColumn.setValue(entity, toVersionType(versionColumn, 0));
+        }
+    }
+
+    private Object nextVersion(ColumnMetadata versionColumn, Object entity) {
+        Object version = versionColumn.getValue(entity);
+        return toVersionType(versionColumn, version == null ? 1 : ((Number) version).longValue() + 1);
+    }
+
+    private Object toVersionType(ColumnMetadata versionColumn, long version) {
+        Class<?> type = versionColumn.getJavaType();
+        return type == long.class || type == Long.class ? (Object) version : (Object) (int) version;
+    }
+
+    private void checkVersionedRowCount(EntityMetadata metadata, Object entity, int rowCount) {
+        if (rowCount == 0) {
+            throw new OptimisticLockException(metadata.getEntityClass().getName() + " with id "
+                    + metadata.getIdColumn().getValue(entity) + " and version "
+                    + metadata.getVersionColumn().getValue(entity) + " was changed or deleted by another transaction", entity);
+        }
+    }
+
+    private void checkVersionedRowCounts(EntityMetadata metadata, List<Object> entities, int[] rowCounts) {
+        for (int i = 0; i < rowCounts.length; i++) {
+            if (rowCounts[i] != Statement.SUCCESS_NO_INFO) {
+                checkVersionedRowCount(metadata, entities.get(i), rowCounts[i]);
+            }
+        }
+    }
+
+    /**
+     * Executes a batch whose row counts carry the optimistic lock check. Once the driver has answered a batch with
+     * {@link Statement#SUCCESS_NO_INFO}, that batch could not be verified and later versioned batches of the factory
+     * run statement by statement, which always report their row count.
+     */
+    private <T extends Query> int[] executeVersionedBatch(Class<?> entityClass, T query, List<Object[]> batchParams)
+            throws SQLException {
+        if (!sessionFactory.isBatchRowCountReported()) {
+            int[] rowCounts = new int[batchParams.size()];
+            for (int i = 0; i < rowCounts.length; i++) {
+                rowCounts[i] = execute(entityClass, query, batchParams.get(i));
+            }
+            return rowCounts;
+        }
+        int[] rowCounts = executeBatch(entityClass, query, batchParams);
+        for (int rowCount : rowCounts) {
+            if (rowCount == Statement.SUCCESS_NO_INFO) {
+                sessionFactory.setBatchRowCountReported(false);
+                logger.warn("The JDBC driver does not report batch row counts: versions of {} {} entities were not "
+                        + "checked, versioned batches now run statement by statement", rowCounts.length,
+                        entityClass.getName());
+                break;
+            }
+        }
+        return rowCounts;
+    }
+
+    private void assignId(EntityMetadata metadata, Object entity) throws SQLException {
+        ColumnMetadata idColumn = metadata.getIdColumn();
+        if (idColumn.getValue(entity) != null) {
+            return;
+        }
+        switch (metadata.getGenerationType()) {
+            case SEQUENCE -> idColumn.setValue(entity,
+                    sessionFactory.getSequenceAllocator(metadata).next(() -> nextSequenceValue(metadata)));
+            case UUID -> {
+                UUID id = UuidV7.next();
+                idColumn.setValue(entity, idColumn.getJavaType() == String.class ? id.toString() : id);
+            }
+            case IDENTITY -> {
+            }
+        }
+    }
+
+    private long nextSequenceValue(EntityMetadata metadata) throws SQLException {
+        SelectQuery query = new SelectQueryImpl(dialect.getSequenceNextValueSql(metadata.getSequenceName()));
+        return executeSelectWithRowMapper(metadata.getEntityClass(), query, resultSet -> resultSet.getLong(1)).getFirst();
+    }
+
+    private Object[] getInsertValues(EntityMetadata metadata, Object entity) {
+        List<ColumnMetadata> columns = metadata.getInsertColumns();
+        Object[] values = new Object[columns.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = columns.get(i).getValue(entity);
+        }
+        return values;
+    }
+
+    private <T extends Query> int execute(Class<?> entityClass, T query, Object... params) throws SQLException {
         QueryExecutor<T> executor = (QueryExecutor<T>) executors.get(query.getClass());
         if (executor == null) {
             throw new OrmException("No executor found for query type: " + query.getClass().getName());
         }
-        executor.execute(query, params);
+        if (queryListener == null) {
+            return executor.execute(query, params);
+        }
+        return instrument(entityClass, query, 1, () -> executor.execute(query, params), rowCount -> rowCount);
     }
 
-    private List<Object[]> executeSelectWithResultReturn(SelectQuery query, Object... params) throws SQLException {
-        QueryExecutor<SelectQuery> executor = (QueryExecutor<SelectQuery>) executors.get(query.getClass());
+    private <T extends Query> int[] executeBatch(Class<?> entityClass, T query, List<Object[]> batchParams) throws SQLException {
+        QueryExecutor<T> executor = (QueryExecutor<T>) executors.get(query.getClass());
         if (executor == null) {
             throw new OrmException("No executor found for query type: " + query.getClass().getName());
         }
-        return (List<Object[]>) executor.executeWithResultReturn(query, params);
+        if (queryListener == null) {
+            return executor.executeBatch(query, batchParams);
+        }
+        return instrument(entityClass, query, batchParams.size(), () -> executor.executeBatch(query, batchParams),
+                Session::sumUpdateCounts);
     }
 
-    private Long executeInsertWithResultReturn(InsertQuery query, Object... params) throws SQLException {
+    private <R> List<R> executeSelectWithRowMapper(Class<?> entityClass, SelectQuery query, RowMapper<R> rowMapper, Object... params) throws SQLException {
+        SelectQueryExecutor executor = (SelectQueryExecutor) executors.get(query.getClass());
+        if (executor == null) {
+            throw new OrmException("No executor found for query type: " + query.getClass().getName());
+        }
+        if (queryListener == null) {
+            return executor.executeWithRowMapper(query, rowMapper, params);
+        }
+        return instrument(entityClass, query, 1, () -> executor.executeWithRowMapper(query, rowMapper, params), List::size);
+    }
+
+    private <R> List<R> executeNativeSelect(Class<?> entityClass, NativeSelectQuery query, RowMapper<R> rowMapper,
+                                            ParameterBinder[] binders, Object[] params, QueryHints hints)
+            throws SQLException {
+        SelectQueryExecutor executor = (SelectQueryExecutor) executors.get(SelectQueryImpl.class);
+        if (queryListener == null) {
+            return executor.executeWithRowMapper(query, rowMapper, binders, params, hints);
+        }
+        return instrument(entityClass, query, 1,
+                () -> executor.executeWithRowMapper(query, rowMapper, binders, params, hints), List::size);
+    }
+
+    private <R> Stream<R> executeSelectStream(Class<?> entityClass, SelectQuery query, RowMapper<R> rowMapper, Object... params) throws SQLException {
+        SelectQueryExecutor executor = (SelectQueryExecutor) executors.get(query.getClass());
+        if (executor == null) {
+            throw new OrmException("No executor found for query type: " + query.getClass().getName());
+        }
+        int fetchSize = dialect.getStreamingFetchSize(configuration.getFetchSize());
+        if (queryListener == null) {
+            return executor.stream(query, rowMapper, fetchSize, params);
+        }
+        return instrument(entityClass, query, 1,
+                () -> executor.stream(query, rowMapper, fetchSize, params), stream -> -1);
+    }
+
+    private Long executeInsertWithResultReturn(Class<?> entityClass, InsertQuery query, Object... params) throws SQLException {
         QueryExecutor<InsertQuery> executor = (QueryExecutor<InsertQuery>) executors.get(query.getClass());
         if (executor == null) {
             throw new OrmException("No executor found for query type: " + query.getClass().getName());
         }
-        return (Long) executor.executeWithResultReturn(query, params);
+        if (queryListener == null) {
+            return (Long) executor.executeWithResultReturn(query, params);
+        }
+        return instrument(entityClass, query, 1, () -> (Long) executor.executeWithResultReturn(query, params), id -> 1);
+    }
+
+    private List<Long> executeInsertBatchWithResultReturn(Class<?> entityClass, InsertQuery query, List<Object[]> batchParams) throws SQLException {
+        QueryExecutor<InsertQuery> executor = (QueryExecutor<InsertQuery>) executors.get(query.getClass());
+        if (executor == null) {
+            throw new OrmException("No executor found for query type: " + query.getClass().getName());
+        }
+        if (queryListener == null) {
+            return (List<Long>) executor.executeBatchWithResultReturn(query, batchParams);
+        }
+        return instrument(entityClass, query, batchParams.size(),
+                () -> (List<Long>) executor.executeBatchWithResultReturn(query, batchParams), List::size);
+    }
+
+    private List<Long> executeInsertMultiRowWithResultReturn(Class<?> entityClass, InsertQuery query, int rowCount,
+                                                            Object... params) throws SQLException {
+        InsertQueryExecutor executor = (InsertQueryExecutor) executors.get(query.getClass());
+        if (executor == null) {
+            throw new OrmException("No executor found for query type: " + query.getClass().getName());
+        }
+        if (queryListener == null) {
+            return executor.executeMultiRowWithResultReturn(query, rowCount, params);
+        }
+        return instrument(entityClass, query, rowCount,
+                () -> executor.executeMultiRowWithResultReturn(query, rowCount, params), List::size);
+    }
+
+    /**
+     * Runs {@code call} and reports it to the query listener. Callers check for a listener first, so sessions without
+     * one never allocate the lambdas or read the clock.
+     */
+    private <R> R instrument(Class<?> entityClass, Query query, int batchSize, SqlCall<R> call,
+                             ToIntFunction<R> rowCounter) throws SQLException {
+        long statementCacheHits = statementCache.getHitCount();
+        long start = System.nanoTime();
+        R result;
+        try {
+            result = call.call();
+        } catch (SQLException | RuntimeException e) {
+            queryListener.onQuery(new QueryEvent(query.getSql(), operationOf(query), entityClass, System.nanoTime() - start,
+                    -1, batchSize, statementCache.getHitCount() > statementCacheHits, e));
+            throw e;
+        }
+        queryListener.onQuery(new QueryEvent(query.getSql(), operationOf(query), entityClass, System.nanoTime() - start,
+                rowCounter.applyAsInt(result), batchSize, statementCache.getHitCount() > statementCacheHits, null));
+        return result;
+    }
+
+    private static QueryOperation operationOf(Query query) {
+        if (query instanceof SelectQuery) {
+            return QueryOperation.SELECT;
+        } else if (query instanceof InsertQuery) {
+            return QueryOperation.INSERT;
+        } else if (query instanceof UpdateQuery) {
+            return QueryOperation.UPDATE;
+        } else if (query instanceof DeleteQuery) {
+            return QueryOperation.DELETE;
+        }
+        return QueryOperation.CREATE_TABLE;
+    }
+
+    private static int sumUpdateCounts(int[] updateCounts) {
+        int sum = 0;
+        for (int updateCount : updateCounts) {
+            if (updateCount > 0) {
+                sum += updateCount;
+            }
+        }
+        return sum;
+    }
+
+    @FunctionalInterface
+    private interface SqlCall<R> {
+        R call() throws SQLException;
     }
 
     @Override
     public void close() throws SQLException {
+        if (!actionQueue.isEmpty()) {
+            logger.warn("Discarding {} pending actions that were not flushed", actionQueue.size());
+            actionQueue.clear();
+        }
+        closed = true;
+        pendingCollections.clear();
+        for (Stream<?> stream : new ArrayList<>(openStreams)) {
+            try {
+                stream.close();
+            } catch (RuntimeException e) {
+                logger.warn("Failed to close stream", e);
+            }
+        }
+        statementCache.close();
         if (connection != null && !connection.isClosed()) {
             connection.close();
         }
+        if (ownsSessionFactory) {
+            sessionFactory.close();
+        }
     }
 }
@@ -1,25 +1,278 @@
 package com.aiivar.sjorm.session;
 
+import com.aiivar.sjorm.cache.SecondLevelCache;
+import com.aiivar.sjorm.cache.SegmentedLruCacheProvider;
 import com.aiivar.sjorm.config.Configuration;
+import com.aiivar.sjorm.dialect.Dialect;
+import com.aiivar.sjorm.dialect.Dialects;
+import com.aiivar.sjorm.exceptions.OrmException;
+import com.aiivar.sjorm.id.SequenceAllocator;
+import com.aiivar.sjorm.metadata.EntityMetadata;
+import com.aiivar.sjorm.metadata.EntityMetadataRegistry;
+import com.aiivar.sjorm.metrics.CompositeQueryListener;
+import com.aiivar.sjorm.metrics.QueryListener;
+import com.aiivar.sjorm.metrics.SlowQueryLogger;
+import com.aiivar.sjorm.pool.ConnectionFactory;
+import com.aiivar.sjorm.pool.ConnectionPool;
+import com.aiivar.sjorm.query.plan.QueryPlanCache;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
-public class SessionFactory {
+/**
+ * Thread-safe entry point shared by the whole application. It owns the state that is expensive to build and safe to
+ * share: entity metadata, the query plan cache, the second-level cache and the connection pool. {@link Session}s
+ * opened from it are cheap, single-threaded units of work and must not be shared between threads.
+ */
+public class SessionFactory implements AutoCloseable {
 
     private final Configuration configuration;
+    private final ConnectionFactory connectionFactory;
+    private final EntityMetadataRegistry metadataRegistry;
+    private final QueryPlanCache queryPlanCache;
+    private final SecondLevelCache secondLevelCache;
+    private final QueryListener queryListener;
+    private final Map<String, SequenceAllocator> sequenceAllocators = new ConcurrentHashMap<>();
+    private volatile Dialect dialect;
+    private volatile boolean batchRowCountReported = true;
+    private volatile ConnectionPool connectionPool;
+    private volatile ExecutorService ownedAsyncExecutor;
 
     public SessionFactory(Configuration configuration) {
+        this(() -> DriverManager.getConnection(
+                configuration.getJdbcUrl(),
+                configuration.getUsername(),
+                configuration.getPassword()
+        ), configuration);
+    }
+
+    public SessionFactory(DataSource dataSource) {
+        this(dataSource, new Configuration());
+    }
+
+    public SessionFactory(DataSource dataSource, Configuration configuration) {
+        this(dataSource::getConnection, configuration);
+    }
+
+    private SessionFactory(ConnectionFactory connectionFactory, Configuration configuration) {
         this.configuration = configuration;
+        this.connectionFactory = connectionFactory;
+        this.metadataRegistry = new EntityMetadataRegistry(configuration.getPropertyAccessorFactory());
+        this.queryPlanCache = new QueryPlanCache(configuration.getNativeQueryCacheSize());
+        this.secondLevelCache = new SecondLevelCache(configuration.getCacheProvider() != null
+                ? configuration.getCacheProvider()
+                : new SegmentedLruCacheProvider(configuration.getCacheMaxSize(), configuration.getCacheTtlMillis()));
+        this.queryListener = createQueryListener(configuration);
+    }
+
+    private static QueryListener createQueryListener(Configuration configuration) {
+        List<QueryListener> listeners = new ArrayList<>(configuration.getQueryListeners());
+        if (configuration.getSlowQueryThresholdMillis() > 0) {
+            listeners.add(new SlowQueryLogger(configuration.getSlowQueryThresholdMillis()));
+        }
+        return CompositeQueryListener.of(listeners);
+    }
+
+    public Configuration getConfiguration() {
+        return configuration;
+    }
+
+    public EntityMetadataRegistry getMetadataRegistry() {
+        return metadataRegistry;
+    }
+
+    public QueryPlanCache getQueryPlanCache() {
+        return queryPlanCache;
+    }
+
+    public SecondLevelCache getSecondLevelCache() {
+        return secondLevelCache;
+    }
+
+    /**
+     * Returns the listener notified of every statement, or {@code null} when no listener is configured.
+     */
+    public QueryListener getQueryListener() {
+        return queryListener;
+    }
+
+    /**
+     * Returns the dialect of {@link Configuration#getDialect()}, falling back to the product name of the first
+     * connection's database.
+     */
+    Dialect getDialect(Connection connection) {
+        Dialect resolved = dialect;
+        if (resolved == null) {
+            resolved = configuration.getDialect();
+            if (resolved == null) {
+                try {
+                    resolved = Dialects.forDatabaseProductName(connection.getMetaData().getDatabaseProductName());
+                } catch (SQLException e) {
+                    throw new OrmException("Failed to resolve the SQL dialect", e);
+                }
+            }
+            dialect = resolved;
+        }
+        return resolved;
+    }
+
+    /**
+     * Whether the driver reports per-statement row counts for batches, which versioned batches rely on.
+     */
+    boolean isBatchRowCountReported() {
+        return batchRowCountReported;
+    }
+
+    void setBatchRowCountReported(boolean batchRowCountReported) {
+        this.batchRowCountReported = batchRowCountReported;
+    }
+
+    /**
+     * Returns the allocator of the entity's id sequence, shared by all sessions so a reserved block of ids is used up
+     * before the next sequence call.
+     */
+    public SequenceAllocator getSequenceAllocator(EntityMetadata metadata) {
+        return sequenceAllocators.computeIfAbsent(metadata.getSequenceName(),
+                name -> new SequenceAllocator(metadata.getAllocationSize()));
+    }
+
+    public ConnectionPool getConnectionPool() {
+        ConnectionPool pool = connectionPool;
+        if (pool == null && configuration.getPoolMaxSize() > 0) {
+            synchronized (this) {
+                pool = connectionPool;
+                if (pool == null) {
+                    pool = new ConnectionPool(connectionFactory, configuration, queryListener);
+                    connectionPool = pool;
+                }
+            }
+        }
+        return pool;
     }
 
     public Session openSession() throws SQLException {
-        Connection connection = DriverManager.getConnection(
-                configuration.getJdbcUrl(),
-                configuration.getUsername(),
-                configuration.getPassword()
-        );
-        return new Session(connection);
+        ConnectionPool pool = getConnectionPool();
+        Connection connection = pool != null ? pool.acquire() : connectionFactory.createConnection();
+        return new Session(connection, this);
+    }
+
+    /**
+     * Opens an {@link AsyncSession} running on {@link Configuration#getAsyncExecutor()}, or on a virtual thread per
+     * task when no executor is configured.
+     */
+    public AsyncSession openAsyncSession() {
+        Executor executor = configuration.getAsyncExecutor();
+        if (executor == null) {
+            executor = ownedAsyncExecutor;
+            if (executor == null) {
+                synchronized (this) {
+                    if (ownedAsyncExecutor == null) {
+                        ownedAsyncExecutor = Executors.newVirtualThreadPerTaskExecutor();
+                    }
+                    executor = ownedAsyncExecutor;
+                }
+            }
+        }
+        return new AsyncSession(this, executor);
+    }
+
+    /**
+     * Loads the entities with the given primary keys by splitting the keys across several sessions, each with its own
+     * pooled connection, running on virtual threads. Results are merged in the order of {@code primaryKeys}; unknown
+     * keys are skipped. If any part fails, the remaining parts are cancelled and the failure is rethrown. The sessions
+     * are closed before returning, so {@code @OneToMany} fields of the results are left unset.
+     */
+    public <T> List<T> parallelFind(Class<T> entityClass, Collection<?> primaryKeys) {
+        List<Object> keys = new ArrayList<>(new LinkedHashSet<>(primaryKeys));
+        int chunkSize = Math.max(1, configuration.getMaxInClauseSize());
+        int parallelism = configuration.getPoolMaxSize() > 0
+                ? configuration.getPoolMaxSize()
+                : Runtime.getRuntime().availableProcessors();
+        int partCount = Math.min(parallelism, (keys.size() + chunkSize - 1) / chunkSize);
+        if (partCount <= 1) {
+            try (Session session = openSession()) {
+                return detached(session, session.findByIds(entityClass, primaryKeys));
+            } catch (SQLException e) {
+                throw new OrmException("Failed to find entities", e);
+            }
+        }
+
+        List<Future<List<T>>> parts = new ArrayList<>(partCount);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            int partSize = (keys.size() + partCount - 1) / partCount;
+            for (int from = 0; from < keys.size(); from += partSize) {
+                List<Object> part = keys.subList(from, Math.min(keys.size(), from + partSize));
+                parts.add(executor.submit(() -> {
+                    try (Session session = openSession()) {
+                        return detached(session, session.findByIds(entityClass, part));
+                    }
+                }));
+            }
+
+            EntityMetadata metadata = metadataRegistry.getMetadata(entityClass);
+            Map<Object, T> found = new HashMap<>();
+            for (Future<List<T>> part : parts) {
+                for (T entity : awaitPart(part, parts)) {
+                    found.put(PersistenceContext.normalizeId(metadata, metadata.getIdColumn().getValue(entity)), entity);
+                }
+            }
+
+            List<T> result = new ArrayList<>(primaryKeys.size());
+            for (Object primaryKey : primaryKeys) {
+                T entity = found.get(PersistenceContext.normalizeId(metadata, primaryKey));
+                if (entity != null) {
+                    result.add(entity);
+                }
+            }
+            return result;
+        }
+    }
+
+    private static <T> List<T> detached(Session session, List<T> entities) {
+        session.detach(entities);
+        return entities;
+    }
+
+    private <T> List<T> awaitPart(Future<List<T>> part, List<Future<List<T>>> parts) {
+        try {
+            return part.get();
+        } catch (InterruptedException e) {
+            parts.forEach(other -> other.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new OrmException("Interrupted while finding entities", e);
+        } catch (ExecutionException e) {
+            parts.forEach(other -> other.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new OrmException("Failed to find entities", e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        ExecutorService asyncExecutor = ownedAsyncExecutor;
+        if (asyncExecutor != null) {
+            asyncExecutor.close();
+        }
+        ConnectionPool pool = connectionPool;
+        if (pool != null) {
+            pool.close();
+        }
+        secondLevelCache.close();
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,8 @@ import com.aiivar.sjorm.exceptions.TransactionException;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -12,15 +14,26 @@ public class  Transaction {
     private static final Logger logger = LoggerFactory.getLogger(Transaction.class);
 
     private Connection connection;
+    private final List<TransactionListener> listeners = new ArrayList<>();
+    private boolean active;
 
     public Transaction(Connection connection) {
         this.connection = connection;
     }
 
+    public void addListener(TransactionListener listener) {
+        listeners.add(listener);
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
     public void begin() {
         logger.debug("Beginning transaction");
         try {
             connection.setAutoCommit(false);
+            active = true;
         } catch (SQLException e) {
             logger.error("Failed to begin transaction", e);
             throw new TransactionException("Failed to begin transaction", e);
@@ -29,13 +42,20 @@ public class  Transaction {
 
     public void commit() {
         logger.debug("Committing transaction");
+        for (TransactionListener listener : listeners) {
+            listener.beforeCommit();
+        }
         try {
             connection.commit();
             connection.setAutoCommit(true);
+            active = false;
         } catch (SQLException e) {
             logger.error("Failed to commit transaction", e);
             throw new TransactionException("Failed to commit transaction", e);
         }
+        for (TransactionListener listener : listeners) {
+            listener.afterCommit();
+        }
     }
 
     public void rollback() {
@@ -43,9 +63,13 @@ public class  Transaction {
         try {
             connection.rollback();
             connection.setAutoCommit(true);
+            active = false;
         } catch (SQLException e) {
             logger.error("Failed to rollback transaction", e);
             throw new TransactionException("Failed to rollback transaction", e);
         }
+        for (TransactionListener listener : listeners) {
+            listener.afterRollback();
+        }
     }
 }
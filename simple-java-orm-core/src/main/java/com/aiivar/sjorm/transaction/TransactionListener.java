@@ -0,0 +1,13 @@
+package com.aiivar.sjorm.transaction;
+
+public interface TransactionListener {
+
+    default void beforeCommit() {
+    }
+
+    default void afterCommit() {
+    }
+
+    default void afterRollback() {
+    }
+}
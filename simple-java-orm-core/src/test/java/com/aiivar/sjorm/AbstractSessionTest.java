@@ -0,0 +1,61 @@
+package com.aiivar.sjorm;
+
+import com.aiivar.sjorm.config.Configuration;
+import com.aiivar.sjorm.session.Session;
+import com.aiivar.sjorm.session.SessionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.Before;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Fixture shared by the session tests: an H2 in-memory database named after the test class, a {@link SessionFactory}
+ * with the configuration from {@link #configure(Configuration)} and the tables of the given entity classes. Everything
+ * is dropped after each test, so subclasses only declare their entities, configuration and test data.
+ */
+public abstract class AbstractSessionTest {
+
+    private final List<Class<?>> entityClasses;
+    protected JdbcDataSource dataSource;
+    protected SessionFactory sessionFactory;
+
+    protected AbstractSessionTest(Class<?>... entityClasses) {
+        this.entityClasses = List.of(entityClasses);
+    }
+
+    /**
+     * Adjusts the configuration before the factory is created.
+     */
+    protected void configure(Configuration configuration) {
+    }
+
+    @Before
+    public void createDatabase() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + getClass().getSimpleName() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        dataSource.setPassword("sa");
+
+        Configuration configuration = new Configuration();
+        configure(configuration);
+        sessionFactory = new SessionFactory(dataSource, configuration);
+        try (Session session = sessionFactory.openSession()) {
+            for (Class<?> entityClass : entityClasses) {
+                session.createTable(entityClass);
+            }
+        }
+    }
+
+    @After
+    public void dropDatabase() throws SQLException {
+        sessionFactory.close();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+    }
+}
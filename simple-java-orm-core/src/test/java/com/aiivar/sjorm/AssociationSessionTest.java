@@ -0,0 +1,161 @@
+package com.aiivar.sjorm;
+
+import com.aiivar.sjorm.config.Configuration;
+import com.aiivar.sjorm.entity.Author;
+import com.aiivar.sjorm.entity.Book;
+import com.aiivar.sjorm.entity.Chapter;
+import com.aiivar.sjorm.exceptions.OrmException;
+import com.aiivar.sjorm.metrics.OrmMetrics;
+import com.aiivar.sjorm.query.criteria.Criteria;
+import com.aiivar.sjorm.query.plan.QueryOperation;
+import com.aiivar.sjorm.session.Session;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class AssociationSessionTest extends AbstractSessionTest {
+
+    private final OrmMetrics metrics = new OrmMetrics();
+    private List<Long> authorIds;
+
+    public AssociationSessionTest() {
+        super(Author.class, Book.class, Chapter.class);
+    }
+
+    @Override
+    protected void configure(Configuration configuration) {
+        configuration.addQueryListener(metrics);
+    }
+
+    @Before
+    public void saveAuthors() throws SQLException {
+        authorIds = new ArrayList<>();
+        try (Session session = sessionFactory.openSession()) {
+            for (int i = 0; i < 3; i++) {
+                Author author = new Author();
+                author.setName("Author " + i);
+                session.save(author);
+                authorIds.add(author.getId());
+                for (int j = 0; j <= i; j++) {
+                    Book book = new Book();
+                    book.setTitle("Book " + i + "." + j);
+                    book.setAuthor(author);
+                    session.save(book);
+                }
+            }
+        }
+        metrics.reset();
+    }
+
+    @Test
+    public void testManyToOneIsBatchFetched() throws SQLException {
+        try (Session session = sessionFactory.openSession()) {
+            List<Book> books = session.findAll(Book.class);
+
+            assertEquals(6, books.size());
+            for (Book book : books) {
+                assertTrue(book.getTitle().startsWith(book.getAuthor().getName().replace("Author", "Book")));
+            }
+            assertSame(books.get(1).getAuthor(), books.get(2).getAuthor());
+            assertEquals(2, metrics.getStats(QueryOperation.SELECT).getCount());
+        }
+    }
+
+    @Test
+    public void testOneToManyIsLoadedLazilyInBatches() throws SQLException {
+        try (Session session = sessionFactory.openSession()) {
+            List<Author> authors = session.findByIds(Author.class, authorIds);
+            assertEquals(1, metrics.getStats(QueryOperation.SELECT).getCount());
+
+            assertEquals(3, authors.get(2).getBooks().size());
+            assertEquals(2, metrics.getStats(QueryOperation.SELECT).getCount());
+
+            assertEquals(1, authors.get(0).getBooks().size());
+            assertEquals(2, authors.get(1).getBooks().size());
+            assertSame(authors.get(1), authors.get(1).getBooks().getFirst().getAuthor());
+            assertEquals(2, metrics.getStats(QueryOperation.SELECT).getCount());
+        }
+    }
+
+    @Test
+    public void testCriteriaFetchInitializesCollections() throws SQLException {
+        List<Author> authors;
+        try (Session session = sessionFactory.openSession()) {
+            authors = session.findAll(Criteria.forClass(Author.class).fetch("books").orderBy("id"));
+            assertEquals(2, metrics.getStats(QueryOperation.SELECT).getCount());
+        }
+
+        assertEquals(List.of("Book 2.0", "Book 2.1", "Book 2.2"),
+                authors.get(2).getBooks().stream().map(Book::getTitle).toList());
+    }
+
+    @Test(expected = OrmException.class)
+    public void testUninitializedCollectionFailsAfterClose() throws SQLException {
+        Author author;
+        try (Session session = sessionFactory.openSession()) {
+            author = session.find(Author.class, authorIds.getFirst());
+        }
+        author.getBooks().size();
+    }
+
+    @Test
+    public void testReassignReferenceAndQueryByEntity() throws SQLException {
+        try (Session session = sessionFactory.openSession()) {
+            Author first = session.find(Author.class, authorIds.get(0));
+            Author last = session.find(Author.class, authorIds.get(2));
+            Book book = first.getBooks().getFirst();
+            book.setAuthor(last);
+            session.update(book);
+        }
+
+        try (Session session = sessionFactory.openSession()) {
+            Author last = session.find(Author.class, authorIds.get(2));
+            List<Book> books = session.findAll(Criteria.forClass(Book.class).eq("author", last));
+            assertEquals(4, books.size());
+            assertEquals(4, last.getBooks().size());
+        }
+    }
+
+    @Test
+    public void testOnlyFirstLevelOfReferencesIsResolved() throws SQLException {
+        Long chapterId;
+        try (Session session = sessionFactory.openSession()) {
+            Chapter chapter = new Chapter();
+            chapter.setTitle("Chapter 1");
+            chapter.setBook(session.findAll(Book.class).getFirst());
+            session.save(chapter);
+            chapterId = chapter.getId();
+        }
+        metrics.reset();
+
+        try (Session session = sessionFactory.openSession()) {
+            Chapter chapter = session.find(Chapter.class, chapterId);
+
+            assertEquals("Book 0.0", chapter.getBook().getTitle());
+            assertEquals(authorIds.getFirst(), chapter.getBook().getAuthor().getId());
+            assertNull(chapter.getBook().getAuthor().getName());
+            assertEquals(2, metrics.getStats(QueryOperation.SELECT).getCount());
+        }
+    }
+
+    @Test
+    public void testDetachedResultsLeaveCollectionsUnset() throws SQLException {
+        List<Author> authors = sessionFactory.parallelFind(Author.class, authorIds);
+        assertEquals(3, authors.size());
+        for (Author author : authors) {
+            assertNull(author.getBooks());
+        }
+
+        try (Session session = sessionFactory.openSession()) {
+            Long bookId = session.findAll(Book.class).getFirst().getId();
+            Book book = sessionFactory.openAsyncSession().findAsync(Book.class, bookId).join();
+            assertNotNull(book.getAuthor().getName());
+            assertNull(book.getAuthor().getBooks());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.aiivar.sjorm;
+
+import com.aiivar.sjorm.config.Configuration;
+import com.aiivar.sjorm.entity.TestEntity;
+import com.aiivar.sjorm.exceptions.OrmException;
+import com.aiivar.sjorm.session.AsyncSession;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.Assert.*;
+
+public class AsyncSessionTest extends AbstractSessionTest {
+
+    public AsyncSessionTest() {
+        super(TestEntity.class);
+    }
+
+    @Override
+    protected void configure(Configuration configuration) {
+        configuration.setPoolMaxSize(4);
+    }
+
+    @Test
+    public void testParallelSavesAndFinds() {
+        AsyncSession asyncSession = sessionFactory.openAsyncSession();
+        List<CompletableFuture<TestEntity>> saves = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            TestEntity entity = new TestEntity();
+            entity.setName("Async " + i);
+            entity.setValue("Value " + i);
+            saves.add(asyncSession.saveAsync(entity));
+        }
+
+        List<CompletableFuture<TestEntity>> finds = saves.stream()
+                .map(save -> save.thenCompose(saved -> asyncSession.findAsync(TestEntity.class, saved.getId())))
+                .toList();
+        CompletableFuture.allOf(finds.toArray(CompletableFuture[]::new)).join();
+
+        for (int i = 0; i < finds.size(); i++) {
+            assertEquals("Async " + i, finds.get(i).join().getName());
+        }
+        assertTrue(sessionFactory.getConnectionPool().getTotalCount() <= 4);
+    }
+
+    @Test
+    public void testUpdateAndDelete() {
+        AsyncSession asyncSession = sessionFactory.openAsyncSession();
+        TestEntity entity = new TestEntity();
+        entity.setName("Before");
+        asyncSession.saveAsync(entity).join();
+
+        entity.setName("After");
+        asyncSession.updateAsync(entity).join();
+        assertEquals("After", asyncSession.findAsync(TestEntity.class, entity.getId()).join().getName());
+
+        asyncSession.deleteAsync(entity).join();
+        try {
+            asyncSession.findAsync(TestEntity.class, entity.getId()).join();
+            fail("Expected the lookup to fail");
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof OrmException);
+        }
+    }
+}
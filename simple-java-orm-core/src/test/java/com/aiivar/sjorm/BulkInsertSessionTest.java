@@ -0,0 +1,104 @@
+package com.aiivar.sjorm;
+
+import com.aiivar.sjorm.config.Configuration;
+import com.aiivar.sjorm.entity.TestEntity;
+import com.aiivar.sjorm.entity.VersionedEntity;
+import com.aiivar.sjorm.exceptions.OrmException;
+import com.aiivar.sjorm.session.Session;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class BulkInsertSessionTest extends AbstractSessionTest {
+
+    public BulkInsertSessionTest() {
+        super(TestEntity.class, VersionedEntity.class);
+    }
+
+    @Override
+    protected void configure(Configuration configuration) {
+        configuration.setMultiRowInsert(true);
+        configuration.setMaxBindParameters(5);
+    }
+
+    @Test
+    public void testMultiRowInsertAssignsIds() throws SQLException {
+        List<TestEntity> entities = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            entities.add(newEntity(null, "name" + i));
+        }
+
+        try (Session session = sessionFactory.openSession()) {
+            session.saveAll(entities);
+        }
+
+        Set<Long> ids = new HashSet<>();
+        try (Session session = sessionFactory.openSession()) {
+            for (TestEntity entity : entities) {
+                assertNotNull(entity.getId());
+                ids.add(entity.getId());
+                assertEquals(entity.getName(), session.find(TestEntity.class, entity.getId()).getName());
+            }
+            assertEquals(5, session.findAll(TestEntity.class).size());
+        }
+        assertEquals(5, ids.size());
+    }
+
+    @Test
+    public void testUpsertInsertsAndUpdates() throws SQLException {
+        TestEntity existing = newEntity(null, "old");
+        try (Session session = sessionFactory.openSession()) {
+            session.save(existing);
+        }
+
+        existing.setName("new");
+        TestEntity created = newEntity(100L, "created");
+        try (Session session = sessionFactory.openSession()) {
+            session.upsertAll(List.of(existing, created));
+        }
+
+        try (Session session = sessionFactory.openSession()) {
+            assertEquals("new", session.find(TestEntity.class, existing.getId()).getName());
+            assertEquals("created", session.find(TestEntity.class, 100L).getName());
+            assertEquals(2, session.findAll(TestEntity.class).size());
+        }
+    }
+
+    @Test
+    public void testUpsertInitializesVersion() throws SQLException {
+        VersionedEntity entity = new VersionedEntity();
+        entity.setId(7L);
+        entity.setBalance(10);
+
+        try (Session session = sessionFactory.openSession()) {
+            session.upsertAll(List.of(entity));
+        }
+
+        try (Session session = sessionFactory.openSession()) {
+            VersionedEntity found = session.find(VersionedEntity.class, 7L);
+            assertEquals(10, found.getBalance());
+            assertEquals(Integer.valueOf(0), found.getVersion());
+        }
+    }
+
+    @Test(expected = OrmException.class)
+    public void testUpsertRequiresId() throws SQLException {
+        try (Session session = sessionFactory.openSession()) {
+            session.upsertAll(List.of(newEntity(null, "name")));
+        }
+    }
+
+    private TestEntity newEntity(Long id, String name) {
+        TestEntity entity = new TestEntity();
+        entity.setId(id);
+        entity.setName(name);
+        entity.setValue("value");
+        return entity;
+    }
+}
@@ -0,0 +1,131 @@
+package com.aiivar.sjorm;
+
+import com.aiivar.sjorm.config.Configuration;
+import com.aiivar.sjorm.entity.PrimitiveEntity;
+import com.aiivar.sjorm.query.criteria.Criteria;
+import com.aiivar.sjorm.session.Session;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FinderSessionTest extends AbstractSessionTest {
+
+    private Session session;
+    private List<PrimitiveEntity> entities;
+
+    public FinderSessionTest() {
+        super(PrimitiveEntity.class);
+    }
+
+    @Override
+    protected void configure(Configuration configuration) {
+        configuration.setPoolMaxSize(3);
+        configuration.setMaxInClauseSize(4);
+    }
+
+    @Before
+    public void saveEntities() throws SQLException {
+        session = sessionFactory.openSession();
+        entities = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            PrimitiveEntity entity = new PrimitiveEntity();
+            entity.setCount(i);
+            entity.setTotal(i * 100L);
+            entity.setActive(i % 2 == 0);
+            entities.add(entity);
+        }
+        session.saveAll(entities);
+        session.clear();
+    }
+
+    @After
+    public void closeSession() throws SQLException {
+        session.close();
+    }
+
+    @Test
+    public void testFindAll() {
+        List<PrimitiveEntity> found = session.findAll(PrimitiveEntity.class);
+
+        assertEquals(10, found.size());
+        assertSame(found.get(3), session.find(PrimitiveEntity.class, found.get(3).getId()));
+    }
+
+    @Test
+    public void testFindByIdsKeepsRequestedOrderAcrossChunks() {
+        PrimitiveEntity managed = session.find(PrimitiveEntity.class, entities.get(5).getId());
+        List<Long> ids = List.of(
+                entities.get(9).getId(), entities.get(0).getId(), -1L, entities.get(5).getId(),
+                entities.get(2).getId(), entities.get(7).getId(), entities.get(1).getId());
+
+        List<PrimitiveEntity> found = session.findByIds(PrimitiveEntity.class, ids);
+
+        assertEquals(6, found.size());
+        assertEquals(9, found.get(0).getCount());
+        assertEquals(0, found.get(1).getCount());
+        assertSame(managed, found.get(2));
+        assertEquals(1, found.get(5).getCount());
+    }
+
+    @Test
+    public void testFindByIdsReusesInQueryPlans() {
+        session.findByIds(PrimitiveEntity.class, List.of(entities.get(0).getId(), entities.get(1).getId(),
+                entities.get(2).getId()));
+        session.clear();
+        long misses = sessionFactory.getQueryPlanCache().getMissCount();
+
+        List<PrimitiveEntity> found = session.findByIds(PrimitiveEntity.class, List.of(entities.get(3).getId(),
+                entities.get(4).getId(), entities.get(5).getId(), entities.get(6).getId()));
+
+        assertEquals(4, found.size());
+        assertEquals(misses, sessionFactory.getQueryPlanCache().getMissCount());
+    }
+
+    @Test
+    public void testParallelFindSplitsKeysAcrossSessions() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = entities.size() - 1; i >= 0; i--) {
+            ids.add(entities.get(i).getId());
+        }
+        ids.add(-1L);
+
+        List<PrimitiveEntity> found = sessionFactory.parallelFind(PrimitiveEntity.class, ids);
+
+        assertEquals(10, found.size());
+        for (int i = 0; i < found.size(); i++) {
+            assertEquals(9 - i, found.get(i).getCount());
+        }
+    }
+
+    @Test
+    public void testCriteria() {
+        List<PrimitiveEntity> found = session.findAll(Criteria.forClass(PrimitiveEntity.class)
+                .eq("active", true)
+                .between("count", 2, 8)
+                .orderByDesc("total")
+                .limit(2)
+                .offset(1));
+
+        assertEquals(2, found.size());
+        assertEquals(6, found.get(0).getCount());
+        assertEquals(4, found.get(1).getCount());
+    }
+
+    @Test
+    public void testCriteriaIn() {
+        List<PrimitiveEntity> found = session.findAll(Criteria.forClass(PrimitiveEntity.class)
+                .in("count", List.of(1, 3, 42))
+                .orderBy("count"));
+
+        assertEquals(2, found.size());
+        assertEquals(1, found.get(0).getCount());
+        assertEquals(3, found.get(1).getCount());
+        assertTrue(session.findAll(Criteria.forClass(PrimitiveEntity.class).in("count", List.of())).isEmpty());
+    }
+}
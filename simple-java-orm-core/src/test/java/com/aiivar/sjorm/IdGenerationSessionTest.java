@@ -0,0 +1,70 @@
+package com.aiivar.sjorm;
+
+import com.aiivar.sjorm.config.Configuration;
+import com.aiivar.sjorm.entity.SequenceEntity;
+import com.aiivar.sjorm.metrics.QueryEvent;
+import com.aiivar.sjorm.query.plan.QueryOperation;
+import com.aiivar.sjorm.session.Session;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.*;
+
+public class IdGenerationSessionTest extends AbstractSessionTest {
+
+    private final List<QueryEvent> events = new CopyOnWriteArrayList<>();
+
+    public IdGenerationSessionTest() {
+        super(SequenceEntity.class);
+    }
+
+    @Override
+    protected void configure(Configuration configuration) {
+        configuration.addQueryListener(events::add);
+    }
+
+    @Before
+    public void clearEvents() {
+        events.clear();
+    }
+
+    @Test
+    public void testIdsAreAllocatedInBlocks() throws SQLException {
+        List<SequenceEntity> entities = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            SequenceEntity entity = new SequenceEntity();
+            entity.setName("name" + i);
+            entities.add(entity);
+        }
+
+        try (Session session = sessionFactory.openSession()) {
+            session.saveAll(entities);
+        }
+
+        for (int i = 0; i < entities.size(); i++) {
+            assertEquals(Long.valueOf(i + 1), entities.get(i).getId());
+        }
+        // 12 идентификаторов при allocationSize = 5 занимают три блока
+        assertEquals(3, events.stream().filter(event -> event.operation() == QueryOperation.SELECT).count());
+    }
+
+    @Test
+    public void testBlocksAreSharedBetweenSessions() throws SQLException {
+        SequenceEntity first = new SequenceEntity();
+        SequenceEntity second = new SequenceEntity();
+        try (Session session = sessionFactory.openSession()) {
+            session.save(first);
+        }
+        try (Session session = sessionFactory.openSession()) {
+            session.save(second);
+            assertEquals(second.getId(), session.find(SequenceEntity.class, second.getId()).getId());
+        }
+
+        assertEquals(first.getId() + 1, second.getId().longValue());
+    }
+}
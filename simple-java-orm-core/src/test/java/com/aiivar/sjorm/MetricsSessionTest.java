@@ -0,0 +1,113 @@
+package com.aiivar.sjorm;
+
+import com.aiivar.sjorm.config.Configuration;
+import com.aiivar.sjorm.entity.TestEntity;
+import com.aiivar.sjorm.metrics.OrmMetrics;
+import com.aiivar.sjorm.metrics.QueryEvent;
+import com.aiivar.sjorm.query.plan.QueryOperation;
+import com.aiivar.sjorm.session.Session;
+import org.junit.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.*;
+
+public class MetricsSessionTest extends AbstractSessionTest {
+
+    private final OrmMetrics metrics = new OrmMetrics();
+    private final List<QueryEvent> events = new CopyOnWriteArrayList<>();
+
+    public MetricsSessionTest() {
+        super(TestEntity.class);
+    }
+
+    @Override
+    protected void configure(Configuration configuration) {
+        configuration.addQueryListener(metrics);
+        configuration.addQueryListener(events::add);
+        configuration.addQueryListener(event -> {
+            throw new IllegalStateException("Listener failures must not break queries");
+        });
+    }
+
+    @Test
+    public void testEveryStatementIsReported() throws SQLException {
+        try (Session session = sessionFactory.openSession()) {
+            TestEntity entity = new TestEntity();
+            entity.setName("Name");
+            session.save(entity);
+            entity.setValue("Value");
+            session.update(entity);
+            session.clear();
+            session.find(TestEntity.class, entity.getId());
+            session.find(TestEntity.class, entity.getId());
+            session.delete(session.find(TestEntity.class, entity.getId()));
+        }
+
+        assertEquals(1, metrics.getStats(QueryOperation.CREATE_TABLE).getCount());
+        assertEquals(1, metrics.getStats(QueryOperation.INSERT).getCount());
+        assertEquals(1, metrics.getStats(QueryOperation.UPDATE).getCount());
+        assertEquals(1, metrics.getStats(QueryOperation.SELECT).getCount());
+        assertEquals(1, metrics.getStats(QueryOperation.DELETE).getCount());
+        assertEquals(5, metrics.getStats(TestEntity.class).getCount());
+        assertEquals(0, metrics.getFailedQueryCount());
+
+        QueryEvent select = events.stream()
+                .filter(event -> event.operation() == QueryOperation.SELECT)
+                .findFirst().orElseThrow();
+        assertEquals(1, select.rowCount());
+        assertTrue(select.sql().contains("?"));
+        assertEquals(1, metrics.getStats(select.sql()).getCount());
+        assertTrue(metrics.getConnectionAcquireCount() >= 2);
+    }
+
+    @Test
+    public void testFailedStatementIsReported() throws SQLException {
+        try (Session session = sessionFactory.openSession()) {
+            session.find(TestEntity.class, 404L);
+            fail("Expected missing entity to fail");
+        } catch (RuntimeException expected) {
+            // Сущности нет — запрос выполнен, но вернул ноль строк
+        }
+        assertEquals(0, events.getLast().rowCount());
+
+        try (Session session = sessionFactory.openSession()) {
+            session.createTable(TestEntity.class);
+            fail("Expected duplicate table to fail");
+        } catch (RuntimeException expected) {
+            // Таблица уже существует
+        }
+        assertTrue(events.getLast().isFailed());
+        assertEquals(-1, events.getLast().rowCount());
+        assertEquals(1, metrics.getFailedQueryCount());
+    }
+
+    @Test
+    public void testStatementCacheHitsAreReported() throws SQLException {
+        try (Session session = sessionFactory.openSession()) {
+            for (int i = 0; i < 3; i++) {
+                TestEntity entity = new TestEntity();
+                entity.setName("Name " + i);
+                session.save(entity);
+            }
+        }
+
+        assertEquals(2, metrics.getStatementCacheHitCount());
+    }
+
+    @Test
+    public void testMetricsAreExposedOverJmx() throws Exception {
+        ObjectName name = metrics.registerMBean("metricsdb");
+        try {
+            Object queryCount = ManagementFactory.getPlatformMBeanServer().getAttribute(name, "QueryCount");
+            assertEquals(1L, queryCount);
+        } finally {
+            metrics.unregisterMBean("metricsdb");
+        }
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+    }
+}
@@ -0,0 +1,120 @@
+package com.aiivar.sjorm;
+
+import com.aiivar.sjorm.config.Configuration;
+import com.aiivar.sjorm.entity.PrimitiveEntity;
+import com.aiivar.sjorm.exceptions.OrmException;
+import com.aiivar.sjorm.metrics.QueryEvent;
+import com.aiivar.sjorm.session.Session;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.*;
+
+public class NativeQuerySessionTest extends AbstractSessionTest {
+
+    private static final String RANGE_SQL =
+            "SELECT \"total\", \"active\", \"count\", \"id\" FROM PRIMITIVE_ENTITY "
+                    + "WHERE \"count\" >= :min AND \"total\" <= :max * 100 AND \"count\" <> :max ORDER BY \"count\"";
+
+    private Session session;
+    private List<PrimitiveEntity> entities;
+    private final List<QueryEvent> events = new CopyOnWriteArrayList<>();
+
+    public NativeQuerySessionTest() {
+        super(PrimitiveEntity.class);
+    }
+
+    @Override
+    protected void configure(Configuration configuration) {
+        configuration.addQueryListener(events::add);
+    }
+
+    @Before
+    public void saveEntities() throws SQLException {
+        session = sessionFactory.openSession();
+        entities = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            PrimitiveEntity entity = new PrimitiveEntity();
+            entity.setCount(i);
+            entity.setTotal(i * 100L);
+            entity.setActive(i % 2 == 0);
+            entities.add(entity);
+        }
+        session.saveAll(entities);
+        events.clear();
+    }
+
+    @After
+    public void closeSession() throws SQLException {
+        session.close();
+    }
+
+    @Test
+    public void testEntitiesAreMappedByLabelAndManaged() {
+        List<PrimitiveEntity> found = session.createNativeQuery(RANGE_SQL, PrimitiveEntity.class)
+                .setParameter("min", 2)
+                .setParameter("max", 4)
+                .getResultList();
+
+        assertEquals(2, found.size());
+        assertSame(entities.get(2), found.get(0));
+        assertSame(entities.get(3), found.get(1));
+
+        session.clear();
+        PrimitiveEntity loaded = session.createNativeQuery(RANGE_SQL, PrimitiveEntity.class)
+                .setParameter("min", 3)
+                .setParameter("max", 3)
+                .getSingleResult();
+        assertNull(loaded);
+
+        loaded = session.createNativeQuery("SELECT * FROM PRIMITIVE_ENTITY WHERE \"id\" = :id", PrimitiveEntity.class)
+                .setParameter("id", entities.get(5).getId())
+                .getSingleResult();
+        assertEquals(500L, loaded.getTotal());
+        assertFalse(loaded.isActive());
+        assertSame(loaded, session.find(PrimitiveEntity.class, loaded.getId()));
+    }
+
+    @Test
+    public void testScalarResultAndTypedNull() {
+        Long active = session.createNativeQuery(
+                        "SELECT COUNT(*) FROM PRIMITIVE_ENTITY WHERE \"active\" = :active OR \"count\" = :count",
+                        Long.class)
+                .setParameter("active", true)
+                .setParameter("count", null, Integer.class)
+                .getSingleResult();
+
+        assertEquals(Long.valueOf(3), active);
+    }
+
+    @Test
+    public void testHintsDoNotLeakIntoCachedStatement() {
+        String sql = "SELECT \"count\" FROM PRIMITIVE_ENTITY WHERE \"count\" >= :min ORDER BY \"count\"";
+        List<Integer> limited = session.createNativeQuery(sql, Integer.class)
+                .setParameter("min", 0)
+                .setMaxRows(2)
+                .setFetchSize(10)
+                .setTimeout(5)
+                .getResultList();
+        List<Integer> all = session.createNativeQuery(sql, Integer.class)
+                .setParameter("min", 0)
+                .getResultList();
+
+        assertEquals(List.of(0, 1), limited);
+        assertEquals(6, all.size());
+        assertEquals(2, events.size());
+        assertEquals("SELECT \"count\" FROM PRIMITIVE_ENTITY WHERE \"count\" >= ? ORDER BY \"count\"", events.get(1).sql());
+        assertTrue(events.get(1).statementCacheHit());
+    }
+
+    @Test(expected = OrmException.class)
+    public void testUnboundParameterIsRejected() {
+        session.createNativeQuery(RANGE_SQL, PrimitiveEntity.class).setParameter("min", 1).getResultList();
+    }
+}
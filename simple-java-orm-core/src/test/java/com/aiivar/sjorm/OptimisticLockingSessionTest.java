@@ -0,0 +1,157 @@
+package com.aiivar.sjorm;
+
+import com.aiivar.sjorm.entity.VersionedEntity;
+import com.aiivar.sjorm.exceptions.OptimisticLockException;
+import com.aiivar.sjorm.session.Session;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class OptimisticLockingSessionTest extends AbstractSessionTest {
+
+    private Long id;
+
+    public OptimisticLockingSessionTest() {
+        super(VersionedEntity.class);
+    }
+
+    @Before
+    public void saveEntity() throws SQLException {
+        try (Session session = sessionFactory.openSession()) {
+            VersionedEntity entity = new VersionedEntity();
+            entity.setBalance(100);
+            session.save(entity);
+            assertEquals(Integer.valueOf(0), entity.getVersion());
+            id = entity.getId();
+        }
+    }
+
+    @Test
+    public void testUpdateIncrementsVersion() throws SQLException {
+        try (Session session = sessionFactory.openSession()) {
+            VersionedEntity entity = session.find(VersionedEntity.class, id);
+            session.update(entity);
+            assertEquals(Integer.valueOf(0), entity.getVersion());
+
+            entity.setBalance(150);
+            session.update(entity);
+            assertEquals(Integer.valueOf(1), entity.getVersion());
+        }
+
+        try (Session session = sessionFactory.openSession()) {
+            VersionedEntity entity = session.find(VersionedEntity.class, id);
+            assertEquals(150, entity.getBalance());
+            assertEquals(Integer.valueOf(1), entity.getVersion());
+        }
+    }
+
+    @Test
+    public void testConcurrentUpdateIsRejected() throws SQLException {
+        try (Session first = sessionFactory.openSession();
+             Session second = sessionFactory.openSession()) {
+            VersionedEntity firstCopy = first.find(VersionedEntity.class, id);
+            VersionedEntity secondCopy = second.find(VersionedEntity.class, id);
+
+            firstCopy.setBalance(200);
+            first.update(firstCopy);
+
+            secondCopy.setBalance(300);
+            try {
+                second.update(secondCopy);
+                fail("Expected stale update to be rejected");
+            } catch (OptimisticLockException e) {
+                assertSame(secondCopy, e.getEntity());
+            }
+        }
+
+        try (Session session = sessionFactory.openSession()) {
+            assertEquals(200, session.find(VersionedEntity.class, id).getBalance());
+        }
+    }
+
+    @Test(expected = OptimisticLockException.class)
+    public void testStaleDeleteIsRejected() throws SQLException {
+        try (Session first = sessionFactory.openSession();
+             Session second = sessionFactory.openSession()) {
+            VersionedEntity firstCopy = first.find(VersionedEntity.class, id);
+            VersionedEntity secondCopy = second.find(VersionedEntity.class, id);
+
+            firstCopy.setBalance(200);
+            first.update(firstCopy);
+            second.delete(secondCopy);
+        }
+    }
+
+    @Test(expected = OptimisticLockException.class)
+    public void testStaleBatchUpdateIsRejected() throws SQLException {
+        try (Session first = sessionFactory.openSession();
+             Session second = sessionFactory.openSession()) {
+            VersionedEntity firstCopy = first.find(VersionedEntity.class, id);
+            VersionedEntity secondCopy = second.find(VersionedEntity.class, id);
+
+            firstCopy.setBalance(200);
+            first.updateAll(List.of(firstCopy));
+            assertEquals(Integer.valueOf(1), firstCopy.getVersion());
+
+            secondCopy.setBalance(300);
+            second.updateAll(List.of(secondCopy));
+        }
+    }
+
+    @Test(expected = OptimisticLockException.class)
+    public void testBatchesWithoutRowCountsFallBackToSingleStatements() throws SQLException {
+        try (Session first = new Session(withoutBatchRowCounts(dataSource.getConnection()), sessionFactory);
+             Session second = new Session(withoutBatchRowCounts(dataSource.getConnection()), sessionFactory)) {
+            VersionedEntity firstCopy = first.find(VersionedEntity.class, id);
+            VersionedEntity secondCopy = second.find(VersionedEntity.class, id);
+
+            // Первый пакет драйвер подтверждает без числа строк, и версия не проверяется
+            firstCopy.setBalance(200);
+            first.updateAll(List.of(firstCopy));
+
+            secondCopy.setBalance(300);
+            second.updateAll(List.of(secondCopy));
+        }
+    }
+
+    /**
+     * Wraps the connection so that its statements answer executeBatch with SUCCESS_NO_INFO, as some drivers do.
+     */
+    private static Connection withoutBatchRowCounts(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (!(result instanceof PreparedStatement statement)) {
+                        return result;
+                    }
+                    return Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                            new Class<?>[]{PreparedStatement.class}, (statementProxy, statementMethod, statementArgs) -> {
+                                Object statementResult = invoke(statement, statementMethod, statementArgs);
+                                if (statementMethod.getName().equals("executeBatch")) {
+                                    int[] rowCounts = (int[]) statementResult;
+                                    Arrays.fill(rowCounts, Statement.SUCCESS_NO_INFO);
+                                }
+                                return statementResult;
+                            });
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
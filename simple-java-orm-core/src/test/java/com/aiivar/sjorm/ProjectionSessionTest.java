@@ -0,0 +1,102 @@
+package com.aiivar.sjorm;
+
+import com.aiivar.sjorm.config.Configuration;
+import com.aiivar.sjorm.entity.PrimitiveEntity;
+import com.aiivar.sjorm.exceptions.OrmException;
+import com.aiivar.sjorm.metrics.QueryEvent;
+import com.aiivar.sjorm.query.criteria.Criteria;
+import com.aiivar.sjorm.session.Session;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.*;
+
+public class ProjectionSessionTest extends AbstractSessionTest {
+
+    public record CountTotal(int count, long total) {
+    }
+
+    public interface ActiveCount {
+        boolean isActive();
+
+        Integer getCount();
+
+        default String label() {
+            return (isActive() ? "active " : "inactive ") + getCount();
+        }
+    }
+
+    public record WrongType(String count) {
+    }
+
+    private Session session;
+    private final List<QueryEvent> events = new CopyOnWriteArrayList<>();
+
+    public ProjectionSessionTest() {
+        super(PrimitiveEntity.class);
+    }
+
+    @Override
+    protected void configure(Configuration configuration) {
+        configuration.addQueryListener(events::add);
+    }
+
+    @Before
+    public void saveEntities() throws SQLException {
+        session = sessionFactory.openSession();
+        List<PrimitiveEntity> entities = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            PrimitiveEntity entity = new PrimitiveEntity();
+            entity.setCount(i);
+            entity.setTotal(i * 100L);
+            entity.setActive(i % 2 == 0);
+            entities.add(entity);
+        }
+        session.saveAll(entities);
+        session.clear();
+        events.clear();
+    }
+
+    @After
+    public void closeSession() throws SQLException {
+        session.close();
+    }
+
+    @Test
+    public void testSelectIntoRecord() {
+        List<CountTotal> rows = session.select(CountTotal.class,
+                Criteria.forClass(PrimitiveEntity.class).ge("count", 3).orderBy("count"));
+
+        assertEquals(List.of(new CountTotal(3, 300L), new CountTotal(4, 400L)), rows);
+        assertEquals("SELECT \"count\", \"total\" FROM PRIMITIVE_ENTITY WHERE \"count\" >= ? ORDER BY \"count\" ASC",
+                events.getFirst().sql());
+    }
+
+    @Test
+    public void testSelectIntoInterface() {
+        List<ActiveCount> rows = session.select(ActiveCount.class,
+                Criteria.forClass(PrimitiveEntity.class).eq("active", true).orderByDesc("count").limit(2));
+
+        assertEquals(2, rows.size());
+        assertEquals(Integer.valueOf(4), rows.get(0).getCount());
+        assertTrue(rows.get(0).isActive());
+        assertEquals("active 2", rows.get(1).label());
+    }
+
+    @Test
+    public void testMapperIsCompiledOncePerType() {
+        assertSame(sessionFactory.getMetadataRegistry().getMetadata(PrimitiveEntity.class).getProjectionMapper(CountTotal.class),
+                sessionFactory.getMetadataRegistry().getMetadata(PrimitiveEntity.class).getProjectionMapper(CountTotal.class));
+    }
+
+    @Test(expected = OrmException.class)
+    public void testMismatchedTypeIsRejected() {
+        session.select(WrongType.class, Criteria.forClass(PrimitiveEntity.class));
+    }
+}
@@ -0,0 +1,92 @@
+package com.aiivar.sjorm;
+
+import com.aiivar.sjorm.entity.CachedEntity;
+import com.aiivar.sjorm.session.Session;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.Assert.*;
+
+public class SecondLevelCacheSessionTest extends AbstractSessionTest {
+
+    public SecondLevelCacheSessionTest() {
+        super(CachedEntity.class);
+    }
+
+    @Test
+    public void testFindIsServedFromCacheAcrossSessions() throws SQLException {
+        Long id = saveEntity("EUR", "Euro");
+
+        try (Session session = sessionFactory.openSession()) {
+            assertEquals("Euro", session.find(CachedEntity.class, id).getLabel());
+        }
+        updateLabelBehindOrm(id, "Changed outside");
+
+        try (Session session = sessionFactory.openSession()) {
+            CachedEntity cached = session.find(CachedEntity.class, id);
+            assertEquals("Euro", cached.getLabel());
+            assertEquals("EUR", cached.getCode());
+        }
+    }
+
+    @Test
+    public void testUpdateInvalidatesCacheOnCommit() throws SQLException {
+        Long id = saveEntity("USD", "Dollar");
+
+        try (Session session = sessionFactory.openSession()) {
+            session.find(CachedEntity.class, id);
+        }
+
+        try (Session writer = sessionFactory.openSession()) {
+            writer.getTransaction().begin();
+            CachedEntity entity = writer.find(CachedEntity.class, id);
+            entity.setLabel("US Dollar");
+            writer.update(entity);
+
+            try (Session reader = sessionFactory.openSession()) {
+                assertEquals("Dollar", reader.find(CachedEntity.class, id).getLabel());
+            }
+
+            writer.getTransaction().commit();
+        }
+
+        try (Session session = sessionFactory.openSession()) {
+            assertEquals("US Dollar", session.find(CachedEntity.class, id).getLabel());
+        }
+    }
+
+    @Test
+    public void testDeleteEvictsFromCache() throws SQLException {
+        Long id = saveEntity("GBP", "Pound");
+
+        try (Session session = sessionFactory.openSession()) {
+            session.find(CachedEntity.class, id);
+        }
+        try (Session session = sessionFactory.openSession()) {
+            session.delete(session.find(CachedEntity.class, id));
+        }
+
+        assertEquals(0, sessionFactory.getSecondLevelCache()
+                .getCache(sessionFactory.getMetadataRegistry().getMetadata(CachedEntity.class)).size());
+    }
+
+    private Long saveEntity(String code, String label) throws SQLException {
+        try (Session session = sessionFactory.openSession()) {
+            CachedEntity entity = new CachedEntity();
+            entity.setCode(code);
+            entity.setLabel(label);
+            session.save(entity);
+            return entity.getId();
+        }
+    }
+
+    private void updateLabelBehindOrm(Long id, String label) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("UPDATE CACHED_ENTITY SET \"label\" = '" + label + "' WHERE \"id\" = " + id);
+        }
+    }
+}
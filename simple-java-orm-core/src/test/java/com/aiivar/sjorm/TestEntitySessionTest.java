@@ -9,7 +9,13 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
 
@@ -90,4 +96,167 @@ public class TestEntitySessionTest {
             assertEquals("Failed to find entity", e.getMessage());
         }
     }
+
+    @Test
+    public void testSaveAllAssignsGeneratedIds() {
+        List<TestEntity> entities = createEntities(5);
+
+        session.saveAll(entities);
+
+        for (TestEntity entity : entities) {
+            assertNotNull(entity.getId());
+            assertEquals(entity.getName(), session.find(TestEntity.class, entity.getId()).getName());
+        }
+    }
+
+    @Test
+    public void testUpdateAllAndDeleteAll() {
+        List<TestEntity> entities = createEntities(3);
+        session.saveAll(entities);
+
+        for (TestEntity entity : entities) {
+            entity.setValue("Batch Updated");
+        }
+        session.updateAll(entities);
+        assertEquals("Batch Updated", session.find(TestEntity.class, entities.get(1).getId()).getValue());
+
+        session.deleteAll(entities);
+        try {
+            session.find(TestEntity.class, entities.get(2).getId());
+            fail("Expected an OrmException to be thrown");
+        } catch (OrmException e) {
+            assertEquals("Failed to find entity", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testFindReturnsManagedInstance() {
+        TestEntity entity = new TestEntity();
+        entity.setName("Managed Name");
+        entity.setValue("Managed Value");
+        session.save(entity);
+
+        assertSame(entity, session.find(TestEntity.class, entity.getId()));
+        assertTrue(session.contains(entity));
+
+        session.evict(entity);
+        assertFalse(session.contains(entity));
+
+        TestEntity loaded = session.find(TestEntity.class, entity.getId());
+        assertNotSame(entity, loaded);
+        assertEquals("Managed Name", loaded.getName());
+        assertSame(loaded, session.find(TestEntity.class, entity.getId()));
+
+        session.clear();
+        assertFalse(session.contains(loaded));
+        assertNotSame(loaded, session.find(TestEntity.class, entity.getId()));
+    }
+
+    @Test
+    public void testStreamMapsRowsLazily() {
+        List<TestEntity> entities = createEntities(4);
+        for (TestEntity entity : entities) {
+            entity.setValue("Streamed");
+        }
+        session.saveAll(entities);
+        session.evict(entities.get(0));
+
+        try (Stream<TestEntity> stream = session.stream(TestEntity.class)) {
+            List<TestEntity> streamed = stream
+                    .filter(entity -> "Streamed".equals(entity.getValue()))
+                    .toList();
+
+            assertEquals(4, streamed.size());
+            assertNotSame(entities.get(0), streamed.get(0));
+            assertSame(entities.get(1), streamed.get(1));
+        }
+
+        int cachedStatements = session.getStatementCache().size();
+        try (Stream<TestEntity> stream = session.stream(TestEntity.class)) {
+            assertTrue(stream.findFirst().isPresent());
+        }
+        assertEquals(cachedStatements, session.getStatementCache().size());
+    }
+
+    @Test
+    public void testSessionCloseClosesOpenStreams() throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        dataSource.setPassword("sa");
+
+        Session other = new Session(dataSource.getConnection());
+        other.saveAll(createEntities(2));
+        Iterator<TestEntity> iterator = other.stream(TestEntity.class).iterator();
+        assertNotNull(iterator.next());
+
+        other.close();
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testUpdateWritesOnlyDirtyColumns() throws SQLException {
+        TestEntity entity = new TestEntity();
+        entity.setName("Dirty Name");
+        entity.setValue("Dirty Value");
+        session.save(entity);
+        updateValueBehindSession(entity.getId(), "Changed Elsewhere");
+
+        session.update(entity);
+        assertEquals("Changed Elsewhere", readValue(entity.getId()));
+
+        entity.setName("Renamed");
+        session.update(entity);
+        assertEquals("Changed Elsewhere", readValue(entity.getId()));
+
+        session.evict(entity);
+        assertEquals("Renamed", session.find(TestEntity.class, entity.getId()).getName());
+    }
+
+    @Test
+    public void testUpdateRetriedAfterRollbackIsWritten() throws SQLException {
+        TestEntity entity = new TestEntity();
+        entity.setName("Rollback Name");
+        entity.setValue("Committed");
+        session.save(entity);
+
+        entity.setValue("Retried");
+        session.getTransaction().begin();
+        session.update(entity);
+        session.getTransaction().rollback();
+        assertEquals("Committed", readValue(entity.getId()));
+        assertFalse(session.contains(entity));
+
+        session.update(entity);
+        assertEquals("Retried", readValue(entity.getId()));
+    }
+
+    private void updateValueBehindSession(Long id, String value) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("UPDATE TEST_ENTITY SET \"value\" = ? WHERE \"id\" = ?")) {
+            statement.setString(1, value);
+            statement.setLong(2, id);
+            statement.executeUpdate();
+        }
+    }
+
+    private String readValue(Long id) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT \"value\" FROM TEST_ENTITY WHERE \"id\" = ?")) {
+            statement.setLong(1, id);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                assertTrue(resultSet.next());
+                return resultSet.getString(1);
+            }
+        }
+    }
+
+    private List<TestEntity> createEntities(int count) {
+        List<TestEntity> entities = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            TestEntity entity = new TestEntity();
+            entity.setName("Batch Name " + i);
+            entity.setValue("Batch Value " + i);
+            entities.add(entity);
+        }
+        return entities;
+    }
 }
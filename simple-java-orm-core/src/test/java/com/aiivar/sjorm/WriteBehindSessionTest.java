@@ -0,0 +1,125 @@
+package com.aiivar.sjorm;
+
+import com.aiivar.sjorm.entity.TestEntity;
+import com.aiivar.sjorm.session.Session;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.Assert.*;
+
+public class WriteBehindSessionTest {
+
+    private Connection connection;
+    private Session session;
+
+    @Before
+    public void setupDatabase() throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:writebehinddb");
+        dataSource.setUser("sa");
+        dataSource.setPassword("sa");
+
+        connection = dataSource.getConnection();
+        session = new Session(connection);
+        session.createTable(TestEntity.class);
+        session.setWriteBehind(true);
+    }
+
+    @After
+    public void closeDatabase() throws SQLException {
+        session.close();
+    }
+
+    @Test
+    public void testSaveIsDeferredUntilFlush() throws SQLException {
+        TestEntity entity = createEntity("Deferred");
+
+        session.save(entity);
+        assertNull(entity.getId());
+        assertEquals(0, countRows());
+
+        session.flush();
+        assertNotNull(entity.getId());
+        assertEquals(1, countRows());
+    }
+
+    @Test
+    public void testCommitFlushesCollapsedUpdates() throws SQLException {
+        TestEntity first = createEntity("First");
+        TestEntity second = createEntity("Second");
+
+        session.getTransaction().begin();
+        session.save(first);
+        session.save(second);
+        first.setValue("Updated once");
+        session.update(first);
+        first.setValue("Updated twice");
+        session.update(first);
+        session.getTransaction().commit();
+
+        assertEquals(2, countRows());
+        assertEquals("Updated twice", session.find(TestEntity.class, first.getId()).getValue());
+    }
+
+    @Test
+    public void testDeleteOfPendingInsertCancelsBoth() throws SQLException {
+        TestEntity entity = createEntity("Cancelled");
+
+        session.save(entity);
+        session.delete(entity);
+        session.flush();
+
+        assertNull(entity.getId());
+        assertEquals(0, countRows());
+    }
+
+    @Test
+    public void testSaveOfPendingDeleteKeepsRow() throws SQLException {
+        TestEntity entity = createEntity("Kept");
+        session.save(entity);
+        session.flush();
+        Long id = entity.getId();
+
+        session.delete(entity);
+        entity.setValue("Saved again");
+        session.save(entity);
+        session.flush();
+
+        assertEquals(id, entity.getId());
+        assertEquals(1, countRows());
+        session.clear();
+        assertEquals("Saved again", session.find(TestEntity.class, id).getValue());
+    }
+
+    @Test
+    public void testRollbackDiscardsPendingActions() throws SQLException {
+        session.getTransaction().begin();
+        session.save(createEntity("Rolled back"));
+        session.getTransaction().rollback();
+        session.flush();
+
+        assertEquals(0, countRows());
+    }
+
+    private TestEntity createEntity(String name) {
+        TestEntity entity = new TestEntity();
+        entity.setName(name);
+        entity.setValue("Value");
+        return entity;
+    }
+
+    private int countRows() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM TEST_ENTITY")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
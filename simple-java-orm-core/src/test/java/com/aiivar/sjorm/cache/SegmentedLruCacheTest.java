@@ -0,0 +1,56 @@
+package com.aiivar.sjorm.cache;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SegmentedLruCacheTest {
+
+    @Test
+    public void testSizeIsBounded() {
+        SegmentedLruCache cache = new SegmentedLruCache(100, 0);
+
+        for (long id = 0; id < 1_000; id++) {
+            cache.put(id, new Object[]{id});
+        }
+
+        assertTrue(cache.size() <= 100);
+        assertTrue(cache.getEvictionCount() >= 900);
+    }
+
+    @Test
+    public void testFrequentlyReadEntriesSurviveScan() {
+        SegmentedLruCache cache = new SegmentedLruCache(10, 0);
+        cache.put(1L, new Object[]{"hot"});
+        assertNotNull(cache.get(1L));
+
+        for (long id = 100; id < 200; id++) {
+            cache.put(id, new Object[]{id});
+        }
+
+        assertArrayEquals(new Object[]{"hot"}, cache.get(1L));
+        assertNull(cache.get(100L));
+    }
+
+    @Test
+    public void testExpiredEntriesAreNotReturned() throws InterruptedException {
+        SegmentedLruCache cache = new SegmentedLruCache(10, 20);
+        cache.put(1L, new Object[]{"value"});
+        assertNotNull(cache.get(1L));
+
+        Thread.sleep(50);
+
+        assertNull(cache.get(1L));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testEvict() {
+        SegmentedLruCache cache = new SegmentedLruCache(10, 0);
+        cache.put(1L, new Object[]{"value"});
+        cache.evict(1L);
+
+        assertNull(cache.get(1L));
+        assertEquals(1, cache.getMissCount());
+    }
+}
@@ -0,0 +1,63 @@
+package com.aiivar.sjorm.dialect;
+
+import com.aiivar.sjorm.entity.TestEntity;
+import com.aiivar.sjorm.metadata.EntityMetadataRegistry;
+import com.aiivar.sjorm.query.builder.createtable.SimpleCreateTableQueryBuilder;
+import com.aiivar.sjorm.query.builder.insert.SimpleInsertQueryBuilder;
+import com.aiivar.sjorm.query.builder.select.SimpleSelectQueryBuilder;
+import com.aiivar.sjorm.query.criteria.Criteria;
+import com.aiivar.sjorm.query.insert.InsertQuery;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class DialectTest {
+
+    private final EntityMetadataRegistry registry = new EntityMetadataRegistry();
+
+    @Test
+    public void testDialectIsResolvedFromJdbcUrl() {
+        assertTrue(Dialects.forJdbcUrl("jdbc:h2:mem:testdb") instanceof H2Dialect);
+        assertTrue(Dialects.forJdbcUrl("jdbc:postgresql://localhost/db") instanceof PostgreSQLDialect);
+        assertTrue(Dialects.forJdbcUrl("jdbc:mariadb://localhost/db") instanceof MySQLDialect);
+        assertEquals(StandardDialect.class, Dialects.forJdbcUrl("jdbc:derby:memory:db").getClass());
+    }
+
+    @Test
+    public void testPaging() {
+        List<Object> parameters = new ArrayList<>();
+        String sql = new SimpleSelectQueryBuilder<TestEntity>(registry, new MySQLDialect())
+                .buildQuery(Criteria.forClass(TestEntity.class).offset(20), parameters).getSql();
+        assertTrue(sql.endsWith(" LIMIT 18446744073709551615 OFFSET ?"));
+        assertEquals(List.of(20), parameters);
+
+        parameters.clear();
+        sql = new SimpleSelectQueryBuilder<TestEntity>(registry, new StandardDialect())
+                .buildQuery(Criteria.forClass(TestEntity.class).limit(10).offset(20), parameters).getSql();
+        assertTrue(sql.endsWith(" OFFSET ? ROWS FETCH FIRST ? ROWS ONLY"));
+        assertEquals(List.of(20, 10), parameters);
+    }
+
+    @Test
+    public void testStreamingFetchSize() {
+        assertEquals(1000, new PostgreSQLDialect().getStreamingFetchSize(1000));
+        assertEquals(Integer.MIN_VALUE, new MySQLDialect().getStreamingFetchSize(1000));
+    }
+
+    @Test
+    public void testInsertAndUpsertSql() {
+        InsertQuery insert = new SimpleInsertQueryBuilder<TestEntity>(registry, new PostgreSQLDialect())
+                .buildQuery(TestEntity.class, 2);
+        assertTrue(insert.isReturning());
+        assertEquals("INSERT INTO TEST_ENTITY (\"name\", \"value\") VALUES (?, ?), (?, ?) RETURNING \"id\"", insert.getSql());
+
+        assertEquals("INSERT INTO TEST_ENTITY (`id`, `name`, `value`) VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE "
+                        + "`name` = VALUES(`name`), `value` = VALUES(`value`)",
+                new SimpleInsertQueryBuilder<TestEntity>(registry, new MySQLDialect()).buildUpsertQuery(TestEntity.class, 1).getSql());
+        assertEquals("CREATE TABLE TEST_ENTITY (`id` BIGINT AUTO_INCREMENT PRIMARY KEY, `name` VARCHAR(255), `value` VARCHAR(255))",
+                new SimpleCreateTableQueryBuilder<TestEntity>(registry, new MySQLDialect()).buildQuery(TestEntity.class).getSql());
+    }
+}
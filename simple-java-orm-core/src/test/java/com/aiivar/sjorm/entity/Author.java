@@ -0,0 +1,47 @@
+package com.aiivar.sjorm.entity;
+
+import com.aiivar.sjorm.annotations.Column;
+import com.aiivar.sjorm.annotations.Entity;
+import com.aiivar.sjorm.annotations.Id;
+import com.aiivar.sjorm.annotations.OneToMany;
+import com.aiivar.sjorm.annotations.Table;
+
+import java.util.List;
+
+@Entity
+@Table(name = "AUTHOR")
+public class Author {
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "name")
+    private String name;
+
+    @OneToMany(mappedBy = "author")
+    private List<Book> books;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public List<Book> getBooks() {
+        return books;
+    }
+
+    public void setBooks(List<Book> books) {
+        this.books = books;
+    }
+}
@@ -0,0 +1,47 @@
+package com.aiivar.sjorm.entity;
+
+import com.aiivar.sjorm.annotations.Cacheable;
+import com.aiivar.sjorm.annotations.Column;
+import com.aiivar.sjorm.annotations.Entity;
+import com.aiivar.sjorm.annotations.Id;
+import com.aiivar.sjorm.annotations.Table;
+
+@Entity
+@Cacheable
+@Table(name = "CACHED_ENTITY")
+public class CachedEntity {
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "code")
+    private String code;
+
+    @Column(name = "label")
+    private String label;
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+}
@@ -0,0 +1,45 @@
+package com.aiivar.sjorm.entity;
+
+import com.aiivar.sjorm.annotations.Column;
+import com.aiivar.sjorm.annotations.Entity;
+import com.aiivar.sjorm.annotations.Id;
+import com.aiivar.sjorm.annotations.ManyToOne;
+import com.aiivar.sjorm.annotations.Table;
+
+@Entity
+@Table(name = "CHAPTER")
+public class Chapter {
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "title")
+    private String title;
+
+    @ManyToOne(joinColumn = "book_id")
+    private Book book;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public Book getBook() {
+        return book;
+    }
+
+    public void setBook(Book book) {
+        this.book = book;
+    }
+}
@@ -0,0 +1,56 @@
+package com.aiivar.sjorm.entity;
+
+import com.aiivar.sjorm.annotations.Column;
+import com.aiivar.sjorm.annotations.Entity;
+import com.aiivar.sjorm.annotations.Id;
+import com.aiivar.sjorm.annotations.Table;
+
+@Entity
+@Table(name = "PRIMITIVE_ENTITY")
+public class PrimitiveEntity {
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "count")
+    private int count;
+
+    @Column(name = "total")
+    private long total;
+
+    @Column(name = "active")
+    private boolean active;
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+}
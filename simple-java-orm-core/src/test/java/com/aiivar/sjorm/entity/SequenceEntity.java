@@ -0,0 +1,37 @@
+package com.aiivar.sjorm.entity;
+
+import com.aiivar.sjorm.annotations.Column;
+import com.aiivar.sjorm.annotations.Entity;
+import com.aiivar.sjorm.annotations.GeneratedValue;
+import com.aiivar.sjorm.annotations.GenerationType;
+import com.aiivar.sjorm.annotations.Id;
+import com.aiivar.sjorm.annotations.Table;
+
+@Entity
+@Table(name = "SEQUENCE_ENTITY")
+public class SequenceEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, allocationSize = 5)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "name")
+    private String name;
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,47 @@
+package com.aiivar.sjorm.entity;
+
+import com.aiivar.sjorm.annotations.Column;
+import com.aiivar.sjorm.annotations.Entity;
+import com.aiivar.sjorm.annotations.Id;
+import com.aiivar.sjorm.annotations.Table;
+import com.aiivar.sjorm.annotations.Version;
+
+@Entity
+@Table(name = "VERSIONED_ENTITY")
+public class VersionedEntity {
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "balance")
+    private long balance;
+
+    @Version
+    @Column(name = "version")
+    private Integer version;
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public long getBalance() {
+        return balance;
+    }
+
+    public void setBalance(long balance) {
+        this.balance = balance;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,60 @@
+package com.aiivar.sjorm.id;
+
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class SequenceAllocatorTest {
+
+    @Test
+    public void testIdsAreTakenFromBlocks() throws SQLException {
+        AtomicLong sequence = new AtomicLong(1);
+        AtomicInteger calls = new AtomicInteger();
+        SequenceAllocator allocator = new SequenceAllocator(10);
+        SequenceAllocator.SequenceFetcher fetcher = () -> {
+            calls.incrementAndGet();
+            return sequence.getAndAdd(10);
+        };
+
+        for (long expected = 1; expected <= 25; expected++) {
+            assertEquals(expected, allocator.next(fetcher));
+        }
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void testConcurrentIdsAreUnique() throws Exception {
+        AtomicLong sequence = new AtomicLong(1);
+        SequenceAllocator allocator = new SequenceAllocator(7);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        ids.add(allocator.next(() -> sequence.getAndAdd(7)));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(8_000, ids.size());
+    }
+}
@@ -0,0 +1,26 @@
+package com.aiivar.sjorm.id;
+
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class UuidV7Test {
+
+    @Test
+    public void testVersionAndVariant() {
+        UUID id = UuidV7.next();
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    public void testIdsAreOrderedByTime() throws InterruptedException {
+        UUID first = UuidV7.next();
+        Thread.sleep(2);
+        UUID second = UuidV7.next();
+        assertTrue(first.toString().compareTo(second.toString()) < 0);
+        assertTrue(second.getMostSignificantBits() >>> 16 <= System.currentTimeMillis());
+    }
+}
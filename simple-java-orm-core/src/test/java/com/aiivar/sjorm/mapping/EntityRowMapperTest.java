@@ -0,0 +1,69 @@
+package com.aiivar.sjorm.mapping;
+
+import com.aiivar.sjorm.entity.PrimitiveEntity;
+import com.aiivar.sjorm.metadata.EntityMetadataRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.Assert.*;
+
+public class EntityRowMapperTest {
+
+    private Connection connection;
+    private EntityRowMapper<PrimitiveEntity> rowMapper;
+
+    @Before
+    public void setUp() throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:rowmapperdb");
+        connection = dataSource.getConnection();
+        rowMapper = new EntityRowMapper<>(new EntityMetadataRegistry().getMetadata(PrimitiveEntity.class),
+                PrimitiveEntity.class);
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    public void testMapsColumnsInMetadataOrder() throws SQLException {
+        PrimitiveEntity entity = mapSingleRow("SELECT 7 AS \"id\", 3 AS \"count\", 9000000000 AS \"total\", TRUE AS \"active\"");
+
+        assertEquals(Long.valueOf(7), entity.getId());
+        assertEquals(3, entity.getCount());
+        assertEquals(9_000_000_000L, entity.getTotal());
+        assertTrue(entity.isActive());
+    }
+
+    @Test
+    public void testResolvesReorderedColumnsOncePerResultSet() throws SQLException {
+        PrimitiveEntity entity = mapSingleRow("SELECT TRUE AS \"active\", 5 AS \"total\", 2 AS \"count\", CAST(NULL AS BIGINT) AS \"id\"");
+
+        assertNull(entity.getId());
+        assertEquals(2, entity.getCount());
+        assertEquals(5L, entity.getTotal());
+        assertTrue(entity.isActive());
+    }
+
+    @Test(expected = SQLException.class)
+    public void testMissingColumnIsReported() throws SQLException {
+        mapSingleRow("SELECT 1 AS \"id\"");
+    }
+
+    private PrimitiveEntity mapSingleRow(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            RowMapper<PrimitiveEntity> boundMapper = rowMapper.forResultSet(resultSet.getMetaData());
+            assertTrue(resultSet.next());
+            return boundMapper.mapRow(resultSet);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.aiivar.sjorm.metadata;
+
+import com.aiivar.sjorm.entity.TestEntity;
+import com.aiivar.sjorm.exceptions.OrmException;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class EntityMetadataRegistryTest {
+
+    private final EntityMetadataRegistry registry = new EntityMetadataRegistry();
+
+    @Test
+    public void testMetadataIsCachedPerClass() {
+        EntityMetadata metadata = registry.getMetadata(TestEntity.class);
+        assertSame(metadata, registry.getMetadata(TestEntity.class));
+    }
+
+    @Test
+    public void testMetadataDescribesEntity() {
+        EntityMetadata metadata = registry.getMetadata(TestEntity.class);
+
+        assertEquals("TEST_ENTITY", metadata.getTableName());
+        assertEquals("id", metadata.getIdColumn().getName());
+        assertEquals(Long.class, metadata.getIdColumn().getJavaType());
+        assertEquals(List.of("id", "name", "value"),
+                metadata.getColumns().stream().map(ColumnMetadata::getName).toList());
+        assertEquals(List.of("name", "value"),
+                metadata.getNonIdColumns().stream().map(ColumnMetadata::getName).toList());
+    }
+
+    @Test(expected = OrmException.class)
+    public void testNonEntityClassIsRejected() {
+        registry.getMetadata(String.class);
+    }
+}
@@ -0,0 +1,57 @@
+package com.aiivar.sjorm.metadata.accessor;
+
+import com.aiivar.sjorm.entity.PrimitiveEntity;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+
+import static org.junit.Assert.*;
+
+public class PropertyAccessorTest {
+
+    private final PropertyAccessorFactory factory = new MethodHandlePropertyAccessorFactory();
+
+    @Test
+    public void testPrimitiveAccessors() throws NoSuchFieldException {
+        PrimitiveEntity entity = new PrimitiveEntity();
+
+        factory.createAccessor(field("count")).setInt(entity, 7);
+        factory.createAccessor(field("total")).setLong(entity, 42L);
+        factory.createAccessor(field("active")).setBoolean(entity, true);
+
+        assertEquals(7, entity.getCount());
+        assertEquals(42L, entity.getTotal());
+        assertTrue(entity.isActive());
+        assertEquals(7, factory.createAccessor(field("count")).getInt(entity));
+        assertEquals(42L, factory.createAccessor(field("total")).getLong(entity));
+        assertTrue(factory.createAccessor(field("active")).getBoolean(entity));
+    }
+
+    @Test
+    public void testObjectAccessors() throws NoSuchFieldException {
+        PrimitiveEntity entity = new PrimitiveEntity();
+        PropertyAccessor idAccessor = factory.createAccessor(field("id"));
+        PropertyAccessor countAccessor = factory.createAccessor(field("count"));
+
+        idAccessor.set(entity, 5L);
+        countAccessor.set(entity, 3);
+
+        assertEquals(5L, idAccessor.get(entity));
+        assertEquals(3, countAccessor.get(entity));
+    }
+
+    @Test
+    public void testReflectionAccessorsAreInterchangeable() throws NoSuchFieldException {
+        PrimitiveEntity entity = new PrimitiveEntity();
+        PropertyAccessor accessor = new ReflectionPropertyAccessorFactory().createAccessor(field("total"));
+
+        accessor.setLong(entity, 11L);
+
+        assertEquals(11L, accessor.getLong(entity));
+        assertEquals(11L, entity.getTotal());
+    }
+
+    private Field field(String name) throws NoSuchFieldException {
+        return PrimitiveEntity.class.getDeclaredField(name);
+    }
+}
@@ -0,0 +1,149 @@
+package com.aiivar.sjorm.pool;
+
+import com.aiivar.sjorm.config.Configuration;
+import com.aiivar.sjorm.session.Session;
+import com.aiivar.sjorm.session.SessionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ConnectionPoolTest {
+
+    private JdbcDataSource dataSource;
+    private AtomicInteger createdConnections;
+    private ConnectionFactory connectionFactory;
+
+    @Before
+    public void setupDataSource() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:pooldb;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        dataSource.setPassword("sa");
+        createdConnections = new AtomicInteger();
+        connectionFactory = () -> {
+            createdConnections.incrementAndGet();
+            return dataSource.getConnection();
+        };
+    }
+
+    @Test
+    public void testSessionCloseReturnsConnectionToPool() throws SQLException {
+        Configuration configuration = new Configuration();
+        configuration.setPoolMaxSize(2);
+
+        try (SessionFactory sessionFactory = new SessionFactory(dataSource, configuration)) {
+            Session session = sessionFactory.openSession();
+            session.close();
+            sessionFactory.openSession().close();
+
+            ConnectionPool pool = sessionFactory.getConnectionPool();
+            assertEquals(1, pool.getTotalCount());
+            assertEquals(1, pool.getIdleCount());
+            assertEquals(0, pool.getActiveCount());
+        }
+    }
+
+    @Test
+    public void testAcquireTimesOutWhenPoolIsExhausted() throws SQLException {
+        Configuration configuration = new Configuration();
+        configuration.setPoolMaxSize(1);
+        configuration.setPoolAcquireTimeoutMillis(50);
+
+        try (ConnectionPool pool = new ConnectionPool(connectionFactory, configuration);
+             Connection ignored = pool.acquire()) {
+            try {
+                pool.acquire();
+                fail("Expected a SQLException to be thrown");
+            } catch (SQLException e) {
+                assertTrue(e.getMessage().startsWith("Timed out"));
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidConnectionIsReplacedOnBorrow() throws SQLException {
+        Configuration configuration = new Configuration();
+        configuration.setPoolMaxSize(1);
+
+        try (ConnectionPool pool = new ConnectionPool(connectionFactory, configuration)) {
+            Connection connection = pool.acquire();
+            Connection physicalConnection = connection.unwrap(Connection.class);
+            connection.close();
+            physicalConnection.close();
+
+            try (Connection replacement = pool.acquire()) {
+                assertTrue(replacement.isValid(1));
+            }
+            assertEquals(2, createdConnections.get());
+            assertEquals(1, pool.getTotalCount());
+        }
+    }
+
+    @Test
+    public void testClosedHandleCannotBeUsed() throws SQLException {
+        Configuration configuration = new Configuration();
+
+        try (ConnectionPool pool = new ConnectionPool(connectionFactory, configuration)) {
+            Connection connection = pool.acquire();
+            connection.close();
+
+            assertTrue(connection.isClosed());
+            try {
+                connection.createStatement();
+                fail("Expected a SQLException to be thrown");
+            } catch (SQLException e) {
+                assertEquals("Connection is closed", e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void testReleaseRestoresConnectionDefaults() throws SQLException {
+        Configuration configuration = new Configuration();
+        configuration.setPoolMaxSize(1);
+
+        try (ConnectionPool pool = new ConnectionPool(connectionFactory, configuration)) {
+            int defaultIsolation;
+            try (Connection connection = pool.acquire()) {
+                defaultIsolation = connection.getTransactionIsolation();
+                connection.setAutoCommit(false);
+                connection.setReadOnly(true);
+                connection.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+            }
+
+            try (Connection connection = pool.acquire()) {
+                assertEquals(1, createdConnections.get());
+                assertTrue(connection.getAutoCommit());
+                assertFalse(connection.isReadOnly());
+                assertEquals(defaultIsolation, connection.getTransactionIsolation());
+            }
+        }
+    }
+
+    @Test
+    public void testIdleConnectionsAreEvictedDownToMinimum() throws SQLException, InterruptedException {
+        Configuration configuration = new Configuration();
+        configuration.setPoolMinSize(1);
+        configuration.setPoolIdleTimeoutMillis(1);
+
+        try (ConnectionPool pool = new ConnectionPool(connectionFactory, configuration)) {
+            Connection first = pool.acquire();
+            Connection second = pool.acquire();
+            first.close();
+            second.close();
+            assertEquals(2, pool.getIdleCount());
+
+            Thread.sleep(10);
+            pool.housekeep();
+
+            assertEquals(1, pool.getTotalCount());
+            assertEquals(1, pool.getIdleCount());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.aiivar.sjorm.query.executor;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.Assert.*;
+
+public class StatementCacheTest {
+
+    private Connection connection;
+
+    @Before
+    public void openConnection() throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:statementcachedb");
+        dataSource.setUser("sa");
+        dataSource.setPassword("sa");
+        connection = dataSource.getConnection();
+    }
+
+    @After
+    public void closeConnection() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    public void testStatementsAreReusedBySqlAndKeysMode() throws SQLException {
+        StatementCache cache = new StatementCache(connection, 4);
+
+        PreparedStatement first = cache.prepare("SELECT 1");
+        cache.release(first);
+        PreparedStatement second = cache.prepare("SELECT 1");
+        cache.release(second);
+        PreparedStatement withKeys = cache.prepare("SELECT 1", Statement.RETURN_GENERATED_KEYS);
+        cache.release(withKeys);
+
+        assertSame(first, second);
+        assertNotSame(first, withKeys);
+        assertFalse(first.isClosed());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void testEvictionClosesLeastRecentlyUsedStatement() throws SQLException {
+        StatementCache cache = new StatementCache(connection, 2);
+
+        PreparedStatement first = cache.prepare("SELECT 1");
+        PreparedStatement second = cache.prepare("SELECT 2");
+        cache.prepare("SELECT 1");
+        cache.prepare("SELECT 3");
+
+        assertTrue(second.isClosed());
+        assertFalse(first.isClosed());
+        assertEquals(2, cache.size());
+
+        cache.close();
+        assertTrue(first.isClosed());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testDisabledCacheClosesStatementsOnRelease() throws SQLException {
+        StatementCache cache = new StatementCache(connection, 0);
+
+        PreparedStatement statement = cache.prepare("SELECT 1");
+        cache.release(statement);
+
+        assertTrue(statement.isClosed());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testReleaseDiscardsRowsOfFailedBatch() throws SQLException {
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE BATCH_ROW (id INT)");
+        }
+        StatementCache cache = new StatementCache(connection, 4);
+
+        PreparedStatement failed = cache.prepare("INSERT INTO BATCH_ROW (id) VALUES (?)");
+        try {
+            failed.setInt(1, 1);
+            failed.addBatch();
+            // Сеттер второй строки падает, и батч так и не выполняется
+            failed.setInt(2, 2);
+            fail("Setting a missing parameter must fail");
+        } catch (SQLException expected) {
+            // ожидаемо
+        } finally {
+            cache.release(failed);
+        }
+
+        PreparedStatement statement = cache.prepare("INSERT INTO BATCH_ROW (id) VALUES (?)");
+        assertSame(failed, statement);
+        statement.setInt(1, 2);
+        statement.addBatch();
+        assertEquals(1, statement.executeBatch().length);
+        cache.release(statement);
+
+        try (Statement query = connection.createStatement();
+             ResultSet resultSet = query.executeQuery("SELECT COUNT(*) FROM BATCH_ROW")) {
+            resultSet.next();
+            assertEquals(1, resultSet.getInt(1));
+        }
+    }
+}
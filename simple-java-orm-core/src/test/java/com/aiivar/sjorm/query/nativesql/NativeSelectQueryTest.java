@@ -0,0 +1,32 @@
+package com.aiivar.sjorm.query.nativesql;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class NativeSelectQueryTest {
+
+    @Test
+    public void testNamedParametersAreRewritten() {
+        NativeSelectQuery query = NativeSelectQuery.parse(
+                "SELECT * FROM t WHERE a = :first AND b BETWEEN :second AND :first");
+
+        assertEquals("SELECT * FROM t WHERE a = ? AND b BETWEEN ? AND ?", query.getSql());
+        assertEquals(List.of("first", "second"), query.getParameterNames());
+        assertEquals(3, query.getPlaceholderCount());
+        assertEquals(0, query.getParameterIndex(0));
+        assertEquals(1, query.getParameterIndex(1));
+        assertEquals(0, query.getParameterIndex(2));
+    }
+
+    @Test
+    public void testQuotesCommentsAndCastsAreSkipped() {
+        String sql = "SELECT ':a', \"b:c\", d::text /* :e */ FROM t -- :f\nWHERE g = 'it''s :h' AND i = :i";
+        NativeSelectQuery query = NativeSelectQuery.parse(sql);
+
+        assertEquals(sql.replace(":i", "?"), query.getSql());
+        assertEquals(List.of("i"), query.getParameterNames());
+    }
+}
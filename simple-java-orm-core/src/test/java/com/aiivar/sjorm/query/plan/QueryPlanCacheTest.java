@@ -0,0 +1,83 @@
+package com.aiivar.sjorm.query.plan;
+
+import com.aiivar.sjorm.entity.TestEntity;
+import com.aiivar.sjorm.query.delete.DeleteQueryImpl;
+import com.aiivar.sjorm.query.select.SelectQuery;
+import com.aiivar.sjorm.query.select.SelectQueryImpl;
+import com.aiivar.sjorm.query.update.UpdateQuery;
+import com.aiivar.sjorm.query.update.UpdateQueryImpl;
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class QueryPlanCacheTest {
+
+    @Test
+    public void testQueryIsBuiltOncePerEntityAndOperation() {
+        QueryPlanCache cache = new QueryPlanCache();
+        AtomicInteger builds = new AtomicInteger();
+
+        SelectQuery first = cache.get(TestEntity.class, QueryOperation.SELECT, () -> {
+            builds.incrementAndGet();
+            return new SelectQueryImpl("SELECT 1");
+        });
+        SelectQuery second = cache.get(TestEntity.class, QueryOperation.SELECT, () -> {
+            builds.incrementAndGet();
+            return new SelectQueryImpl("SELECT 2");
+        });
+
+        assertSame(first, second);
+        assertEquals(1, builds.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testOperationsAreCachedSeparately() {
+        QueryPlanCache cache = new QueryPlanCache();
+
+        cache.get(TestEntity.class, QueryOperation.SELECT, () -> new SelectQueryImpl("SELECT 1"));
+        cache.get(TestEntity.class, QueryOperation.DELETE, () -> new DeleteQueryImpl("DELETE 1"));
+
+        assertEquals(2, cache.getMissCount());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testColumnSetVariantsAreCachedSeparately() {
+        QueryPlanCache cache = new QueryPlanCache();
+        BitSet columns = new BitSet();
+        columns.set(1);
+
+        UpdateQuery first = cache.get(TestEntity.class, QueryOperation.UPDATE, columns, () -> new UpdateQueryImpl("UPDATE 1"));
+        columns.set(2);
+        UpdateQuery second = cache.get(TestEntity.class, QueryOperation.UPDATE, columns, () -> new UpdateQueryImpl("UPDATE 1, 2"));
+        columns.clear(2);
+        UpdateQuery third = cache.get(TestEntity.class, QueryOperation.UPDATE, columns, () -> new UpdateQueryImpl("UPDATE 1 again"));
+
+        assertNotSame(first, second);
+        assertSame(first, third);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testNativePlansAreBoundedByRecentUse() {
+        QueryPlanCache cache = new QueryPlanCache(2);
+
+        SelectQuery first = cache.get("SELECT 1", SelectQueryImpl::new);
+        cache.get("SELECT 2", SelectQueryImpl::new);
+        assertSame(first, cache.get("SELECT 1", SelectQueryImpl::new));
+        cache.get("SELECT 3", SelectQueryImpl::new);
+
+        assertEquals(2, cache.size());
+        assertSame(first, cache.get("SELECT 1", SelectQueryImpl::new));
+        assertEquals(2, cache.getHitCount());
+        cache.get("SELECT 2", SelectQueryImpl::new);
+        assertEquals(4, cache.getMissCount());
+    }
+}
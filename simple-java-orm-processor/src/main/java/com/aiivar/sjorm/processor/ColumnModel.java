@@ -0,0 +1,41 @@
+package com.aiivar.sjorm.processor;
+
+record ColumnModel(String fieldName,
+                   String columnName,
+                   String javaType,
+                   boolean primitive,
+                   boolean id,
+                   boolean version,
+                   String readExpression,
+                   String writeStatement) {
+
+    String sqlType() {
+        return switch (javaType) {
+            case "java.lang.String" -> "VARCHAR(255)";
+            case "int", "java.lang.Integer" -> "INT";
+            case "long", "java.lang.Long" -> "BIGINT";
+            case "boolean", "java.lang.Boolean" -> "BOOLEAN";
+            case "java.util.UUID" -> "UUID";
+            default -> null;
+        };
+    }
+
+    String boxedType() {
+        return switch (javaType) {
+            case "int" -> "java.lang.Integer";
+            case "long" -> "java.lang.Long";
+            case "boolean" -> "java.lang.Boolean";
+            default -> javaType;
+        };
+    }
+
+    String resultSetReader(String resultSet, int columnIndex) {
+        return switch (javaType) {
+            case "int" -> resultSet + ".getInt(" + columnIndex + ")";
+            case "long" -> resultSet + ".getLong(" + columnIndex + ")";
+            case "boolean" -> resultSet + ".getBoolean(" + columnIndex + ")";
+            case "java.lang.String" -> resultSet + ".getString(" + columnIndex + ")";
+            default -> resultSet + ".getObject(" + columnIndex + ", " + javaType + ".class)";
+        };
+    }
+}
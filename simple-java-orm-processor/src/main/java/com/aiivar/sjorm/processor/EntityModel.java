@@ -0,0 +1,27 @@
+package com.aiivar.sjorm.processor;
+
+import java.util.List;
+
+record EntityModel(String packageName,
+                   String entityType,
+                   String mappingClassName,
+                   String tableName,
+                   List<ColumnModel> columns,
+                   boolean assignedId) {
+
+    ColumnModel idColumn() {
+        return columns.stream().filter(ColumnModel::id).findFirst().orElseThrow();
+    }
+
+    ColumnModel versionColumn() {
+        return columns.stream().filter(ColumnModel::version).findFirst().orElse(null);
+    }
+
+    List<ColumnModel> nonIdColumns() {
+        return columns.stream().filter(column -> !column.id()).toList();
+    }
+
+    List<ColumnModel> insertColumns() {
+        return assignedId ? columns : nonIdColumns();
+    }
+}
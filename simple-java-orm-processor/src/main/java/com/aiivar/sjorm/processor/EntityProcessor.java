@@ -0,0 +1,265 @@
+package com.aiivar.sjorm.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@SupportedAnnotationTypes(EntityProcessor.ENTITY_ANNOTATION)
+public class EntityProcessor extends AbstractProcessor {
+
+    static final String ENTITY_ANNOTATION = "com.aiivar.sjorm.annotations.Entity";
+    private static final String TABLE_ANNOTATION = "com.aiivar.sjorm.annotations.Table";
+    private static final String COLUMN_ANNOTATION = "com.aiivar.sjorm.annotations.Column";
+    private static final String ID_ANNOTATION = "com.aiivar.sjorm.annotations.Id";
+    private static final String GENERATED_VALUE_ANNOTATION = "com.aiivar.sjorm.annotations.GeneratedValue";
+    private static final String VERSION_ANNOTATION = "com.aiivar.sjorm.annotations.Version";
+    private static final String MANY_TO_ONE_ANNOTATION = "com.aiivar.sjorm.annotations.ManyToOne";
+    private static final String ONE_TO_MANY_ANNOTATION = "com.aiivar.sjorm.annotations.OneToMany";
+    private static final String MAPPING_SUFFIX = "_Mapping";
+
+    private static final Set<String> PRIMITIVES = Set.of("int", "long", "boolean");
+    private static final Set<String> VERSION_TYPES = Set.of("int", "long", "java.lang.Integer", "java.lang.Long");
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.CLASS) {
+                    processEntity((TypeElement) element);
+                }
+            }
+        }
+        return false;
+    }
+
+    private void processEntity(TypeElement type) {
+        EntityModel entity = createModel(type);
+        if (entity == null) {
+            return;
+        }
+
+        String mappingClass = entity.packageName().isEmpty()
+                ? entity.mappingClassName()
+                : entity.packageName() + "." + entity.mappingClassName();
+        try {
+            JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(mappingClass, type);
+            try (PrintWriter out = new PrintWriter(sourceFile.openWriter())) {
+                new MappingWriter(entity, out).write();
+            }
+        } catch (IOException e) {
+            error(type, "Failed to generate mapping " + mappingClass + ": " + e.getMessage());
+        }
+    }
+
+    private EntityModel createModel(TypeElement type) {
+        if (type.getNestingKind() != NestingKind.TOP_LEVEL && !type.getModifiers().contains(Modifier.STATIC)) {
+            warning(type, "Inner entity classes are not supported, generated mapping skipped");
+            return null;
+        }
+        if (!hasAccessibleConstructor(type)) {
+            warning(type, "Entity has no accessible no-arg constructor, generated mapping skipped");
+            return null;
+        }
+
+        List<ColumnModel> columns = new ArrayList<>();
+        boolean hasId = false;
+        boolean assignedId = false;
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (findAnnotation(field, MANY_TO_ONE_ANNOTATION) != null || findAnnotation(field, ONE_TO_MANY_ANNOTATION) != null) {
+                // Связи разрешаются сессией во время выполнения, сгенерированный маппинг их не поддерживает
+                note(type, "Entity has associations, generated mapping skipped");
+                return null;
+            }
+            boolean id = findAnnotation(field, ID_ANNOTATION) != null;
+            boolean version = findAnnotation(field, VERSION_ANNOTATION) != null;
+            AnnotationMirror column = findAnnotation(field, COLUMN_ANNOTATION);
+            if (!id && !version && column == null) {
+                continue;
+            }
+
+            ColumnModel columnModel = createColumn(type, field, column, id, version);
+            if (columnModel == null) {
+                return null;
+            }
+            if (id) {
+                hasId = true;
+                assignedId = isAssignedBeforeInsert(findAnnotation(field, GENERATED_VALUE_ANNOTATION));
+            }
+            columns.add(columnModel);
+        }
+
+        if (!hasId) {
+            warning(type, "No field annotated with @Id, generated mapping skipped");
+            return null;
+        }
+
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String mappingClassName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                + MAPPING_SUFFIX;
+
+        String tableName = getStringValue(findAnnotation(type, TABLE_ANNOTATION), "name");
+        if (tableName.isEmpty()) {
+            tableName = type.getSimpleName().toString().toLowerCase();
+        }
+
+        return new EntityModel(packageName, type.getQualifiedName().toString(), mappingClassName, tableName, columns,
+                assignedId);
+    }
+
+    // Стратегия IDENTITY по умолчанию: значение перечисления приходит как VariableElement константы
+    private boolean isAssignedBeforeInsert(AnnotationMirror generatedValue) {
+        if (generatedValue == null) {
+            return false;
+        }
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : generatedValue.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals("strategy")) {
+                return !((VariableElement) entry.getValue().getValue()).getSimpleName().contentEquals("IDENTITY");
+            }
+        }
+        return false;
+    }
+
+    private ColumnModel createColumn(TypeElement type, VariableElement field, AnnotationMirror column, boolean id,
+                                     boolean version) {
+        String fieldName = field.getSimpleName().toString();
+        String columnName = getStringValue(column, "name");
+        if (columnName.isEmpty()) {
+            columnName = fieldName;
+        }
+
+        String javaType = field.asType().toString();
+        boolean primitive = field.asType().getKind().isPrimitive();
+        if (primitive && !PRIMITIVES.contains(javaType)) {
+            warning(field, "Unsupported field type " + javaType + ", generated mapping skipped");
+            return null;
+        }
+
+        if (version && !VERSION_TYPES.contains(javaType)) {
+            warning(field, "@Version field must be int, long, Integer or Long, generated mapping skipped");
+            return null;
+        }
+
+        String readExpression;
+        String writeStatement;
+        if (!field.getModifiers().contains(Modifier.PRIVATE)) {
+            readExpression = "%s." + fieldName;
+            writeStatement = "%s." + fieldName + " = %s";
+        } else {
+            String suffix = Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+            String getter = findGetter(type, field, suffix);
+            String setter = findSetter(type, field, "set" + suffix);
+            if (getter == null || setter == null) {
+                warning(field, "Private field without accessible getter and setter, generated mapping skipped");
+                return null;
+            }
+            readExpression = "%s." + getter + "()";
+            writeStatement = "%s." + setter + "(%s)";
+        }
+
+        ColumnModel columnModel = new ColumnModel(fieldName, columnName, javaType, primitive, id, version, readExpression,
+                writeStatement);
+        if (columnModel.sqlType() == null) {
+            warning(field, "Unsupported field type " + javaType + ", generated mapping skipped");
+            return null;
+        }
+        return columnModel;
+    }
+
+    private String findGetter(TypeElement type, VariableElement field, String suffix) {
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            String name = method.getSimpleName().toString();
+            boolean getterName = name.equals("get" + suffix)
+                    || (name.equals("is" + suffix) && field.asType().getKind() == TypeKind.BOOLEAN);
+            if (getterName && method.getParameters().isEmpty() && isAccessible(method)
+                    && processingEnv.getTypeUtils().isSameType(method.getReturnType(), field.asType())) {
+                return name;
+            }
+        }
+        return null;
+    }
+
+    private String findSetter(TypeElement type, VariableElement field, String name) {
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (method.getSimpleName().contentEquals(name) && method.getParameters().size() == 1 && isAccessible(method)
+                    && processingEnv.getTypeUtils().isSameType(method.getParameters().getFirst().asType(), field.asType())) {
+                return name;
+            }
+        }
+        return null;
+    }
+
+    private boolean hasAccessibleConstructor(TypeElement type) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && isAccessible(constructor)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isAccessible(Element element) {
+        return !element.getModifiers().contains(Modifier.PRIVATE) && !element.getModifiers().contains(Modifier.STATIC);
+    }
+
+    private AnnotationMirror findAnnotation(Element element, String annotationType) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotation = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotation.getQualifiedName().contentEquals(annotationType)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private String getStringValue(AnnotationMirror mirror, String name) {
+        if (mirror == null) {
+            return "";
+        }
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return (String) entry.getValue().getValue();
+            }
+        }
+        return "";
+    }
+
+    private void note(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, message, element);
+    }
+
+    private void warning(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, message, element);
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,128 @@
+package com.aiivar.sjorm.processor;
+
+import java.io.PrintWriter;
+import java.util.List;
+
+final class MappingWriter {
+
+    private final EntityModel entity;
+    private final PrintWriter out;
+
+    MappingWriter(EntityModel entity, PrintWriter out) {
+        this.entity = entity;
+        this.out = out;
+    }
+
+    void write() {
+        String type = entity.entityType();
+        List<ColumnModel> columns = entity.columns();
+
+        if (!entity.packageName().isEmpty()) {
+            out.println("package " + entity.packageName() + ";");
+            out.println();
+        }
+        out.println("import com.aiivar.sjorm.mapping.EntityMapping;");
+        out.println("import com.aiivar.sjorm.mapping.RowMapper;");
+        out.println("import com.aiivar.sjorm.metadata.accessor.PropertyAccessor;");
+        out.println();
+        out.println("import java.sql.ResultSet;");
+        out.println("import java.sql.SQLException;");
+        out.println("import java.util.Map;");
+        out.println();
+        out.println("@javax.annotation.processing.Generated(\"" + EntityProcessor.class.getName() + "\")");
+        out.println("public final class " + entity.mappingClassName() + " implements EntityMapping<" + type + "> {");
+        out.println();
+        writeConstant("INSERT_SQL", SqlGenerator.insert(entity));
+        writeConstant("SELECT_SQL", SqlGenerator.select(entity));
+        writeConstant("UPDATE_SQL", SqlGenerator.update(entity));
+        writeConstant("DELETE_SQL", SqlGenerator.delete(entity));
+        writeConstant("CREATE_TABLE_SQL", SqlGenerator.createTable(entity));
+        out.println();
+        out.println("    private static final Map<String, PropertyAccessor> ACCESSORS = Map.ofEntries(");
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnModel column = columns.get(i);
+            out.println("            Map.entry(\"" + column.fieldName() + "\", new " + accessorClassName(column) + "())"
+                    + (i < columns.size() - 1 ? "," : ""));
+        }
+        out.println("    );");
+        out.println();
+        writeGetter("Class<" + type + ">", "getEntityClass", type + ".class");
+        writeGetter("String", "getInsertSql", "INSERT_SQL");
+        writeGetter("String", "getSelectSql", "SELECT_SQL");
+        writeGetter("String", "getUpdateSql", "UPDATE_SQL");
+        writeGetter("String", "getDeleteSql", "DELETE_SQL");
+        writeGetter("String", "getCreateTableSql", "CREATE_TABLE_SQL");
+        writeGetter("RowMapper<" + type + ">", "getRowMapper", entity.mappingClassName() + "::mapRow");
+        writeGetter("Map<String, PropertyAccessor>", "getAccessors", "ACCESSORS");
+        writeGetter(type, "newInstance", "new " + type + "()");
+
+        out.println("    private static " + type + " mapRow(ResultSet resultSet) throws SQLException {");
+        out.println("        " + type + " entity = new " + type + "();");
+        // Колонки читаются по позиции: SELECT_SQL перечисляет их в том же порядке
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnModel column = columns.get(i);
+            out.println("        " + column.writeStatement().formatted("entity", column.resultSetReader("resultSet", i + 1)) + ";");
+        }
+        out.println("        return entity;");
+        out.println("    }");
+
+        for (ColumnModel column : columns) {
+            writeAccessor(column);
+        }
+        out.println("}");
+    }
+
+    private void writeConstant(String name, String sql) {
+        out.println("    private static final String " + name + " = \"" + escape(sql) + "\";");
+    }
+
+    private void writeGetter(String returnType, String name, String expression) {
+        out.println("    @Override");
+        out.println("    public " + returnType + " " + name + "() {");
+        out.println("        return " + expression + ";");
+        out.println("    }");
+        out.println();
+    }
+
+    private void writeAccessor(ColumnModel column) {
+        String type = entity.entityType();
+        String target = "((" + type + ") entity)";
+
+        out.println();
+        out.println("    private static final class " + accessorClassName(column) + " implements PropertyAccessor {");
+        out.println();
+        out.println("        @Override");
+        out.println("        public Object get(Object entity) {");
+        out.println("            return " + column.readExpression().formatted(target) + ";");
+        out.println("        }");
+        out.println();
+        out.println("        @Override");
+        out.println("        public void set(Object entity, Object value) {");
+        out.println("            " + column.writeStatement().formatted(target, "(" + column.boxedType() + ") value") + ";");
+        out.println("        }");
+
+        if (column.primitive()) {
+            String primitive = column.javaType();
+            String suffix = Character.toUpperCase(primitive.charAt(0)) + primitive.substring(1);
+            out.println();
+            out.println("        @Override");
+            out.println("        public " + primitive + " get" + suffix + "(Object entity) {");
+            out.println("            return " + column.readExpression().formatted(target) + ";");
+            out.println("        }");
+            out.println();
+            out.println("        @Override");
+            out.println("        public void set" + suffix + "(Object entity, " + primitive + " value) {");
+            out.println("            " + column.writeStatement().formatted(target, "value") + ";");
+            out.println("        }");
+        }
+        out.println("    }");
+    }
+
+    private static String accessorClassName(ColumnModel column) {
+        return Character.toUpperCase(column.fieldName().charAt(0)) + column.fieldName().substring(1) + "Accessor";
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,70 @@
+package com.aiivar.sjorm.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates the statements of {@code StandardDialect}. Sessions ignore them for dialects that do not accept standard
+ * SQL.
+ */
+final class SqlGenerator {
+
+    private SqlGenerator() {
+    }
+
+    static String insert(EntityModel entity) {
+        List<String> columns = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        for (ColumnModel column : entity.insertColumns()) {
+            columns.add(quote(column));
+            placeholders.add("?");
+        }
+        return "INSERT INTO " + entity.tableName() + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", placeholders) + ")";
+    }
+
+    static String select(EntityModel entity) {
+        List<String> columns = new ArrayList<>();
+        for (ColumnModel column : entity.columns()) {
+            columns.add(quote(column));
+        }
+        return "SELECT " + String.join(", ", columns) + " FROM " + entity.tableName() + " WHERE "
+                + quote(entity.idColumn()) + " = ?";
+    }
+
+    static String update(EntityModel entity) {
+        List<String> setClauses = new ArrayList<>();
+        for (ColumnModel column : entity.nonIdColumns()) {
+            setClauses.add(quote(column) + " = ?");
+        }
+        return "UPDATE " + entity.tableName() + " SET " + String.join(", ", setClauses) + " WHERE "
+                + quote(entity.idColumn()) + " = ?" + versionCondition(entity);
+    }
+
+    static String delete(EntityModel entity) {
+        return "DELETE FROM " + entity.tableName() + " WHERE " + quote(entity.idColumn()) + " = ?" + versionCondition(entity);
+    }
+
+    private static String versionCondition(EntityModel entity) {
+        ColumnModel versionColumn = entity.versionColumn();
+        return versionColumn != null ? " AND " + quote(versionColumn) + " = ?" : "";
+    }
+
+    static String createTable(EntityModel entity) {
+        List<String> columnDefinitions = new ArrayList<>();
+        for (ColumnModel column : entity.columns()) {
+            if (column.id() && entity.assignedId()) {
+                columnDefinitions.add(quote(column) + " " + column.sqlType() + " PRIMARY KEY");
+            } else if (column.id()) {
+                columnDefinitions.add(quote(column) + " " + column.sqlType() + " GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY");
+            } else {
+                columnDefinitions.add(quote(column) + " " + column.sqlType());
+            }
+        }
+        return "CREATE TABLE " + entity.tableName() + " (" + String.join(", ", columnDefinitions) + ")";
+    }
+
+    private static String quote(ColumnModel column) {
+        return "\"" + column.columnName() + "\"";
+    }
+}
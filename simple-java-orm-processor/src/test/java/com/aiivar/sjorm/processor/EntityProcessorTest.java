@@ -0,0 +1,118 @@
+package com.aiivar.sjorm.processor;
+
+import com.aiivar.sjorm.dialect.StandardDialect;
+import com.aiivar.sjorm.mapping.EntityMapping;
+import com.aiivar.sjorm.mapping.EntityMappings;
+import com.aiivar.sjorm.metadata.EntityMetadataRegistry;
+import com.aiivar.sjorm.processor.entity.ProcessedChild;
+import com.aiivar.sjorm.processor.entity.ProcessedEntity;
+import com.aiivar.sjorm.processor.entity.ProcessedUuidEntity;
+import com.aiivar.sjorm.query.builder.createtable.SimpleCreateTableQueryBuilder;
+import com.aiivar.sjorm.query.builder.delete.SimpleDeleteQueryBuilder;
+import com.aiivar.sjorm.query.builder.insert.SimpleInsertQueryBuilder;
+import com.aiivar.sjorm.query.builder.select.SimpleSelectQueryBuilder;
+import com.aiivar.sjorm.query.builder.update.SimpleUpdateQueryBuilder;
+import com.aiivar.sjorm.session.Session;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.Test;
+
+import java.sql.SQLException;
+
+import static org.junit.Assert.*;
+
+public class EntityProcessorTest {
+
+    @Test
+    public void testMappingIsGenerated() {
+        EntityMapping<ProcessedEntity> mapping = EntityMappings.find(ProcessedEntity.class);
+        assertNotNull(mapping);
+        assertEquals(ProcessedEntity.class, mapping.getEntityClass());
+        assertSame(mapping.getClass(), new EntityMetadataRegistry().getMetadata(ProcessedEntity.class).getGeneratedMapping().getClass());
+    }
+
+    @Test
+    public void testMappingIsNotGeneratedForAssociations() {
+        assertNull(EntityMappings.find(ProcessedChild.class));
+    }
+
+    @Test
+    public void testGeneratedSqlMatchesRuntimeBuilders() {
+        EntityMapping<ProcessedEntity> mapping = EntityMappings.find(ProcessedEntity.class);
+        EntityMetadataRegistry registry = new EntityMetadataRegistry();
+        StandardDialect dialect = new StandardDialect();
+        ProcessedEntity entity = new ProcessedEntity();
+
+        assertEquals(new SimpleInsertQueryBuilder<ProcessedEntity>(registry, dialect).buildQuery(entity).getSql(), mapping.getInsertSql());
+        assertEquals(new SimpleSelectQueryBuilder<ProcessedEntity>(registry, dialect).buildQuery(ProcessedEntity.class, 1L).getSql(), mapping.getSelectSql());
+        assertEquals(new SimpleUpdateQueryBuilder<ProcessedEntity>(registry, dialect).buildQuery(entity).getSql(), mapping.getUpdateSql());
+        assertEquals(new SimpleDeleteQueryBuilder<ProcessedEntity>(registry, dialect).buildQuery(ProcessedEntity.class, 1L).getSql(), mapping.getDeleteSql());
+        assertEquals(new SimpleCreateTableQueryBuilder<ProcessedEntity>(registry, dialect).buildQuery(ProcessedEntity.class).getSql(), mapping.getCreateTableSql());
+    }
+
+    @Test
+    public void testGeneratedSqlIncludesAssignedId() throws SQLException {
+        EntityMapping<ProcessedUuidEntity> mapping = EntityMappings.find(ProcessedUuidEntity.class);
+        EntityMetadataRegistry registry = new EntityMetadataRegistry();
+        StandardDialect dialect = new StandardDialect();
+
+        assertEquals(new SimpleInsertQueryBuilder<ProcessedUuidEntity>(registry, dialect).buildQuery(new ProcessedUuidEntity()).getSql(),
+                mapping.getInsertSql());
+        assertEquals(new SimpleCreateTableQueryBuilder<ProcessedUuidEntity>(registry, dialect).buildQuery(ProcessedUuidEntity.class).getSql(),
+                mapping.getCreateTableSql());
+
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:processoruuiddb;DB_CLOSE_DELAY=-1");
+        try (Session session = new Session(dataSource.getConnection())) {
+            session.createTable(ProcessedUuidEntity.class);
+            ProcessedUuidEntity entity = new ProcessedUuidEntity();
+            entity.setName("Generated");
+            session.save(entity);
+            assertEquals(7, entity.getId().version());
+
+            session.clear();
+            assertEquals("Generated", session.find(ProcessedUuidEntity.class, entity.getId()).getName());
+        }
+    }
+
+    @Test
+    public void testGeneratedAccessors() {
+        EntityMapping<ProcessedEntity> mapping = EntityMappings.find(ProcessedEntity.class);
+        ProcessedEntity entity = mapping.newInstance();
+
+        mapping.getAccessors().get("quantity").setInt(entity, 3);
+        mapping.getAccessors().get("enabled").set(entity, true);
+        mapping.getAccessors().get("name").set(entity, "name");
+
+        assertEquals(3, entity.getQuantity());
+        assertTrue(entity.isEnabled());
+        assertEquals("name", mapping.getAccessors().get("name").get(entity));
+    }
+
+    @Test
+    public void testSessionUsesGeneratedMapping() throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:processordb;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        dataSource.setPassword("sa");
+
+        try (Session session = new Session(dataSource.getConnection())) {
+            session.createTable(ProcessedEntity.class);
+
+            ProcessedEntity entity = new ProcessedEntity();
+            entity.setName("Generated");
+            entity.setQuantity(5);
+            entity.setEnabled(true);
+            session.save(entity);
+            assertNotNull(entity.getId());
+
+            entity.setQuantity(6);
+            session.update(entity);
+            assertEquals(1, entity.getRevision());
+
+            ProcessedEntity foundEntity = session.find(ProcessedEntity.class, entity.getId());
+            assertEquals("Generated", foundEntity.getName());
+            assertEquals(6, foundEntity.getQuantity());
+            assertTrue(foundEntity.isEnabled());
+        }
+    }
+}
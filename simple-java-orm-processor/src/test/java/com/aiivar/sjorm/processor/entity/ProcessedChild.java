@@ -0,0 +1,32 @@
+package com.aiivar.sjorm.processor.entity;
+
+import com.aiivar.sjorm.annotations.Column;
+import com.aiivar.sjorm.annotations.Entity;
+import com.aiivar.sjorm.annotations.Id;
+import com.aiivar.sjorm.annotations.ManyToOne;
+
+@Entity
+public class ProcessedChild {
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @ManyToOne
+    private ProcessedEntity parent;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public ProcessedEntity getParent() {
+        return parent;
+    }
+
+    public void setParent(ProcessedEntity parent) {
+        this.parent = parent;
+    }
+}
@@ -0,0 +1,36 @@
+package com.aiivar.sjorm.processor.entity;
+
+import com.aiivar.sjorm.annotations.Column;
+import com.aiivar.sjorm.annotations.Entity;
+import com.aiivar.sjorm.annotations.GeneratedValue;
+import com.aiivar.sjorm.annotations.GenerationType;
+import com.aiivar.sjorm.annotations.Id;
+
+import java.util.UUID;
+
+@Entity
+public class ProcessedUuidEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id")
+    private UUID id;
+
+    @Column(name = "name")
+    private String name;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}